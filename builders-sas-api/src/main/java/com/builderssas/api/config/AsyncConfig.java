@@ -1,15 +1,29 @@
 package com.builderssas.api.config;
 
+import com.builderssas.api.core.async.BoundedExecutor;
+import com.builderssas.api.core.async.DbConnectionBudget;
+import com.builderssas.api.core.async.ExecutorRegistry;
+import com.builderssas.api.core.async.ExecutorWorkload;
+import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.Executor;
 @EnableAsync
 @Configuration
 public class AsyncConfig {
 
+    /** Nombres en el presupuesto de conexiones. */
+    public static final String ORDERS = "orders";
+    public static final String ORDER_JOBS = "order-jobs";
+
     @Bean(name = "asyncExecutor")
     public Executor asyncExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -20,4 +34,66 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Executor acotado para la creación de órdenes (JDBC bloqueante).
+     * Saca ese trabajo del ForkJoinPool.commonPool() y rechaza con
+     * RejectedExecutionException (HTTP 503) cuando se satura.
+     */
+    @Bean(name = "orderExecutor")
+    public BoundedExecutor orderExecutor(OrderExecutorConfig config, DbConnectionBudget budget) {
+        final int size = budget.threads(ORDERS);
+        return new BoundedExecutor(
+                "orders",
+                size,
+                size,
+                config.getQueueCapacity(),
+                config.isVirtualThreads()
+        );
+    }
+
+    /**
+     * Pools con nombre por carga de trabajo (crud-read, crud-write, notification, cron),
+     * dimensionados contra el pool de conexiones de Hikari.
+     */
+    @Bean
+    public ExecutorRegistry executorRegistry(ExecutorRegistryConfig config, DbConnectionBudget budget) {
+        return new ExecutorRegistry(config, budget);
+    }
+
+    /**
+     * Presupuesto único de conexiones para todo lo que hace JDBC fuera de Tomcat:
+     * pools del registro, orders.executor y los workers de orders.jobs.
+     * Un max-size explícito cuenta como max-size / Hikari.
+     */
+    @Bean
+    public DbConnectionBudget dbConnectionBudget(
+            ExecutorRegistryConfig registryConfig,
+            OrderExecutorConfig orderConfig,
+            OrderJobQueueConfig jobsConfig,
+            DataSource dataSource
+    ) {
+        final int dbPoolSize = Optional.of(dataSource)
+                .filter(HikariDataSource.class::isInstance)
+                .map(ds -> ((HikariDataSource) ds).getMaximumPoolSize())
+                .orElse(10);
+
+        final Map<String, Double> shares = new LinkedHashMap<>();
+        Arrays.stream(ExecutorWorkload.values())
+                .filter(ExecutorWorkload::usesDatabase)
+                .forEach(w -> {
+                    final var pool = ExecutorRegistry.pool(registryConfig, w);
+                    shares.put(w.poolName(), share(pool.getMaxSize(), pool.getDbShare(), dbPoolSize));
+                });
+        shares.put(ORDERS, share(orderConfig.getMaxSize(), orderConfig.getDbShare(), dbPoolSize));
+        shares.put(ORDER_JOBS, share(jobsConfig.getConcurrency(), jobsConfig.getDbShare(), dbPoolSize));
+
+        return new DbConnectionBudget(dbPoolSize, shares, registryConfig.getRequestDbShare());
+    }
+
+    private static double share(final Integer explicitSize, final double dbShare, final int dbPoolSize) {
+        return Optional.ofNullable(explicitSize)
+                .map(size -> (double) size / dbPoolSize)
+                .orElse(dbShare);
+    }
 }
@@ -0,0 +1,19 @@
+package com.builderssas.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Motor de capacidad ("¿cuántas órdenes más alcanzan con el stock actual?").
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "capacity")
+public class CapacityConfig {
+
+    /** Intervalo entre reconstrucciones completas contra la BD (corrige cualquier deriva). */
+    private long reconcileIntervalMs = 300_000;
+}
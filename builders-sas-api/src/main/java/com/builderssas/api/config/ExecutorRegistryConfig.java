@@ -0,0 +1,84 @@
+package com.builderssas.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dimensionamiento de los pools del {@link com.builderssas.api.core.async.ExecutorRegistry}.
+ *
+ * Cada pool se dimensiona contra el pool de conexiones de Hikari: si no se fija
+ * max-size, el máximo de hilos es db-share × spring.datasource.hikari.maximum-pool-size
+ * (mínimo 1). Los pools que hacen JDBC comparten un único presupuesto
+ * ({@link com.builderssas.api.core.async.DbConnectionBudget}) con orders.executor,
+ * orders.jobs y la reserva de Tomcat (request-db-share); al arrancar se valida
+ * que las fracciones sumen como máximo 1.
+ *
+ * Ejemplo:
+ *      executors.pools.crud-read.db-share=0.4
+ *      executors.pools.notification.max-size=4
+ *
+ * Con executors.mode=DIRECT el AsyncService deja de saltar a los pools: el
+ * trabajo corre en el hilo de la petición (virtual si spring.threads.virtual.enabled=true,
+ * JDK 21+) y la concurrencia la limita un semáforo de executors.direct.max-concurrent
+ * permisos (por defecto, el tamaño del pool de Hikari).
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "executors")
+public class ExecutorRegistryConfig {
+
+    /** Hilos virtuales para todos los pools (JDK 21+); cada pool puede sobreescribirlo. */
+    private boolean virtualThreads = false;
+
+    /** Espera máxima al apagar para que terminen las tareas en curso. */
+    private int shutdownTimeoutSeconds = 30;
+
+    /** Fracción de Hikari reservada a los hilos de Tomcat (peticiones síncronas y exportaciones). */
+    private double requestDbShare = 0.15;
+
+    /** ASYNC (pools, valor por defecto) o DIRECT (hilo llamador + semáforo). */
+    private Mode mode = Mode.ASYNC;
+
+    private Direct direct = new Direct();
+
+    /** Configuración por nombre de pool (crud-read, crud-write, notification, cron). */
+    private Map<String, Pool> pools = new HashMap<>();
+
+    public enum Mode {
+        ASYNC,
+        DIRECT
+    }
+
+    @Getter
+    @Setter
+    public static class Direct {
+
+        /** Permisos del semáforo; si no se indica, el tamaño del pool de Hikari. */
+        private Integer maxConcurrent;
+
+        /** Espera máxima por un permiso antes de responder 503. */
+        private long acquireTimeoutMs = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        /** Fracción del pool de Hikari asignada a este pool (0..1). */
+        private double dbShare = 0.25;
+
+        /** Máximo explícito de hilos; si se indica, ignora dbShare. */
+        private Integer maxSize;
+
+        private int queueCapacity = 200;
+
+        /** Sobrescribe executors.virtual-threads para este pool. */
+        private Boolean virtualThreads;
+    }
+}
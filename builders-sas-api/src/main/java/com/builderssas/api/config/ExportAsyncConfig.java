@@ -0,0 +1,43 @@
+package com.builderssas.api.config;
+
+import com.builderssas.api.core.export.ExportResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * Timeout propio para las descargas en streaming.
+ *
+ * Las respuestas de ExportResponses marcan la petición; justo antes de iniciar
+ * el procesamiento asíncrono se sustituye el timeout global por
+ * export.stream-timeout-ms. Los DeferredResult de los controladores CRUD no
+ * pasan por aquí y conservan el timeout por defecto.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ExportAsyncConfig implements WebMvcConfigurer {
+
+    private final ExportConfig config;
+
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(final NativeWebRequest request, final Callable<T> task) {
+                Optional.of(request)
+                        .filter(r -> r.getAttribute(ExportResponses.STREAMING_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null)
+                        .filter(AsyncWebRequest.class::isInstance)
+                        .map(AsyncWebRequest.class::cast)
+                        .ifPresent(r -> r.setTimeout(config.getStreamTimeoutMs()));
+            }
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.builderssas.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Parámetros de las exportaciones en streaming.
+ *
+ * fetchSize: filas que el driver trae por viaje al servidor. En PostgreSQL solo
+ * tiene efecto dentro de una transacción (autocommit desactivado); fuera de ella
+ * el driver carga el resultado completo en memoria.
+ *
+ * streamTimeoutMs: tiempo máximo de una descarga en streaming. Solo se aplica a
+ * las respuestas de ExportResponses; el resto de peticiones asíncronas conserva
+ * el timeout global de Spring MVC.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "export")
+public class ExportConfig {
+
+    private int fetchSize = 1000;
+    private int queryTimeoutSeconds = 0;
+    private long streamTimeoutMs = 1_800_000;
+}
@@ -13,4 +13,21 @@ public class NotificationConfig {
 
     private String webhookUrl;
     private boolean externalEnabled = true;
+
+    // Despacho agrupado al webhook (WebhookDispatcher)
+    private int batchSize = 100;
+    private long flushIntervalMs = 200;
+    private int maxInFlight = 4;
+    private int maxQueueSize = 10_000;
+
+    // Reintentos: backoff exponencial con jitter, sin hilos dormidos
+    private int maxAttempts = 5;
+    private long initialBackoffMs = 500;
+    private long maxBackoffMs = 30_000;
+
+    // Ventana para descartar la copia global/por usuario de un mismo evento
+    private long dedupWindowMs = 5_000;
+
+    private long connectTimeoutMs = 2_000;
+    private long requestTimeoutMs = 5_000;
 }
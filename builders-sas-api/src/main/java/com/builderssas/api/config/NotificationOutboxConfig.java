@@ -0,0 +1,37 @@
+package com.builderssas.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Límites y retención del outbox de notificaciones.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "notification.outbox")
+public class NotificationOutboxConfig {
+
+    /** Notificaciones globales retenidas en memoria. */
+    private int globalCapacity = 1000;
+
+    /** Notificaciones retenidas en memoria por usuario. */
+    private int perUserCapacity = 200;
+
+    /** Antigüedad máxima (memoria y tabla). */
+    private int retentionDays = 30;
+
+    /** Máximo de filas conservadas en la tabla notification_outbox. */
+    private long maxRows = 100_000;
+
+    /** Intervalo del volcado agrupado de notificaciones a la tabla. */
+    private long flushIntervalMs = 1000;
+
+    /** Filas retenidas para reintento mientras la tabla no acepta escrituras. */
+    private int maxUnwrittenRows = 50_000;
+
+    /** Tamaño máximo de página en las lecturas. */
+    private int maxPageSize = 200;
+}
@@ -0,0 +1,21 @@
+package com.builderssas.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Parámetros del índice espacial de coordenadas ocupadas por órdenes.
+ *
+ * toleranceMeters = 0 conserva la regla original (igualdad exacta de lat/lng);
+ * un valor mayor considera ocupado cualquier punto dentro de ese radio.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "orders.coordinates")
+public class OrderCoordinateConfig {
+
+    private double toleranceMeters = 0;
+}
@@ -0,0 +1,29 @@
+package com.builderssas.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Dimensionamiento del executor dedicado a la creación de órdenes
+ * (cálculo de fechas, reserva de stock y guardado de la orden).
+ *
+ * Sus hilos hacen JDBC: el tamaño es db-share × pool de Hikari (o max-size)
+ * dentro del presupuesto común de conexiones (DbConnectionBudget).
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "orders.executor")
+public class OrderExecutorConfig {
+
+    /** Fracción del pool de Hikari asignada a este executor (0..1). */
+    private double dbShare = 0.2;
+
+    /** Máximo explícito de hilos; si se indica, ignora dbShare (y cuenta igual en el presupuesto). */
+    private Integer maxSize;
+
+    private int queueCapacity = 100;
+    private boolean virtualThreads = false;
+}
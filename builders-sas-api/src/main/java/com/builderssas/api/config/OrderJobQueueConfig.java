@@ -0,0 +1,41 @@
+package com.builderssas.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cola durable de creación de órdenes (tabla order_creation_jobs).
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "orders.jobs")
+public class OrderJobQueueConfig {
+
+    /**
+     * Fracción del pool de Hikari para los trabajos en proceso a la vez en este
+     * nodo (carga de la solicitud, cierre y borrado del trabajo), dentro del
+     * presupuesto común de conexiones.
+     */
+    private double dbShare = 0.1;
+
+    /** Trabajos en proceso a la vez; si se indica, ignora dbShare (y cuenta igual en el presupuesto). */
+    private Integer concurrency;
+
+    /** Máximo de trabajos reclamados por consulta. */
+    private int claimBatchSize = 16;
+
+    /** Sondeo de la tabla (reintentos vencidos y arrendamientos expirados). */
+    private long pollIntervalMs = 1000;
+
+    /** Tiempo que un worker retiene un trabajo antes de que otro pueda reclamarlo. */
+    private long leaseMs = 120_000;
+
+    /** Intentos ante fallos transitorios antes de dejar la solicitud en FAILED. */
+    private int maxAttempts = 5;
+
+    private long initialBackoffMs = 1000;
+    private long maxBackoffMs = 60_000;
+}
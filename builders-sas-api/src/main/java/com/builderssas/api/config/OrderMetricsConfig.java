@@ -0,0 +1,25 @@
+package com.builderssas.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Almacén de métricas de órdenes mantenido en memoria.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "orders.metrics")
+public class OrderMetricsConfig {
+
+    /** Intervalo entre reconciliaciones completas contra la BD. */
+    private long reconcileIntervalMs = 300_000;
+
+    /** Vida máxima de una respuesta cacheada aunque no haya habido escrituras. */
+    private long cacheTtlMs = 5_000;
+
+    /** Máximo de respuestas cacheadas (las claves incluyen ids de proyecto de la URL). */
+    private int cacheMaxEntries = 512;
+}
@@ -0,0 +1,22 @@
+package com.builderssas.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Series temporales de órdenes: retención de las cubetas por minuto.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "orders.metrics.timeseries")
+public class OrderTimeSeriesConfig {
+
+    /** Minutos retenidos para contadores (1440 = 24 h). */
+    private int retentionMinutes = 1440;
+
+    /** Minutos retenidos para histogramas de latencia (más pesados que un contador). */
+    private int histogramRetentionMinutes = 180;
+}
@@ -0,0 +1,24 @@
+package com.builderssas.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tamaños de página de los listados paginados (keyset).
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "paging")
+public class PagingConfig {
+
+    private int defaultPageSize = 50;
+    private int maxPageSize = 500;
+
+    /** Tamaño efectivo: default si no se pide, acotado a [1, maxPageSize]. */
+    public int resolve(final Integer requested) {
+        return Math.max(1, Math.min(maxPageSize, requested == null ? defaultPageSize : requested));
+    }
+}
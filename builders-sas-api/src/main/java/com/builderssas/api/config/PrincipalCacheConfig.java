@@ -0,0 +1,23 @@
+package com.builderssas.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caché de principales (usuario + máscara de roles) para las validaciones
+ * de autorización.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "auth.principal-cache")
+public class PrincipalCacheConfig {
+
+    /** Vida máxima de una entrada; las escrituras de roles la invalidan antes. */
+    private long ttlMs = 60_000;
+
+    /** Máximo de usuarios cacheados. */
+    private int maxEntries = 10_000;
+}
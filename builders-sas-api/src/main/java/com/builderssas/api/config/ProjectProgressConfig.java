@@ -0,0 +1,19 @@
+package com.builderssas.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Mantenimiento incremental de progreso y fecha de entrega de proyectos.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "projects.progress")
+public class ProjectProgressConfig {
+
+    /** Intervalo entre volcados agrupados de contadores a la tabla projects. */
+    private long flushIntervalMs = 2000;
+}
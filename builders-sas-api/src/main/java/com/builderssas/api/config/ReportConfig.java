@@ -0,0 +1,19 @@
+package com.builderssas.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Motor de reportes: tamaño de la caché de resúmenes.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "reports")
+public class ReportConfig {
+
+    /** Máximo de combinaciones (proyecto, rango de fechas) cacheadas. */
+    private int cacheMaxEntries = 256;
+}
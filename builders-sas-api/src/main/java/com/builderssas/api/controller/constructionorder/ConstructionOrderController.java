@@ -1,12 +1,22 @@
 package com.builderssas.api.controller.constructionorder;
 
+import com.builderssas.api.core.export.ExportFormat;
+import com.builderssas.api.core.export.ExportResponses;
+import com.builderssas.api.core.paging.KeysetPage;
 import com.builderssas.api.domain.model.constructionorder.dto.ConstructionOrderDto;
+import com.builderssas.api.domain.model.constructionorder.dto.ConstructionOrderFilter;
+import com.builderssas.api.domain.model.enums.OrderStatus;
 import com.builderssas.api.mapper.construction.ConstructionOrderMapper;
 import com.builderssas.api.repository.ConstructionOrderRepository;
+import com.builderssas.api.services.constructionorder.ConstructionOrderQueryService;
+import com.builderssas.api.services.export.ExportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @CrossOrigin(origins = "http://localhost:4200")
@@ -17,35 +27,73 @@ public class ConstructionOrderController {
 
     private final ConstructionOrderRepository orderRepo;
     private final ConstructionOrderMapper mapper;
+    private final ConstructionOrderQueryService queryService;
+    private final ExportService exportService;
 
     // ============================================================
-    // GET ALL (CON RELACIONES)
+    // GET ALL (PROYECCIÓN ESCALAR, SIN ENTIDADES)
     // ============================================================
     @GetMapping
     public List<ConstructionOrderDto> getAll() {
-        return orderRepo.findAllWithRelations()
+        return orderRepo.findAllRows()
                 .stream()
                 .map(mapper::toDto)
                 .toList();
     }
 
     // ============================================================
-    // GET BY ID (CON RELACIONES)
+    // GET PAGE (KEYSET + FILTROS) — memoria acotada por petición
+    // ============================================================
+    @GetMapping("/page")
+    public KeysetPage<ConstructionOrderDto> getPage(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long constructionTypeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ID") ConstructionOrderQueryService.SortKey sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        final var filter = ConstructionOrderFilter.builder()
+                .status(status)
+                .projectId(projectId)
+                .constructionTypeId(constructionTypeId)
+                .from(from)
+                .to(to)
+                .build();
+
+        return queryService.page(filter, sort, cursor, size);
+    }
+
+    // ============================================================
+    // EXPORT (NDJSON / CSV en streaming, gzip opcional)
+    // ============================================================
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        return ExportResponses.stream("construction-orders", ExportFormat.of(format), gzip, exportService::exportOrders);
+    }
+
+    // ============================================================
+    // GET BY ID (PROYECCIÓN ESCALAR, SIN ENTIDADES)
     // ============================================================
     @GetMapping("/{id}")
     public ResponseEntity<ConstructionOrderDto> getById(@PathVariable Long id) {
-        return orderRepo.findByIdWithRelations(id)
+        return orderRepo.findRowById(id)
                 .map(mapper::toDto)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     // ============================================================
-    // GET BY PROJECT (CON RELACIONES)
+    // GET BY PROJECT (PROYECCIÓN ESCALAR, SIN ENTIDADES)
     // ============================================================
     @GetMapping("/project/{projectId}")
     public List<ConstructionOrderDto> getByProject(@PathVariable Long projectId) {
-        return orderRepo.findByProjectIdWithRelations(projectId)
+        return orderRepo.findRowsByProjectId(projectId)
                 .stream()
                 .map(mapper::toDto)
                 .toList();
@@ -1,19 +1,42 @@
 package com.builderssas.api.controller.constructionordermetric;
 
-import com.builderssas.api.repository.ConstructionOrderRepository;
-import com.builderssas.api.repository.views.*;
+import com.builderssas.api.domain.model.construction.dto.stats.OrderTimeSeriesDto;
+import com.builderssas.api.services.metrics.CachedMetricsFacade;
+import com.builderssas.api.services.metrics.ConstructionOrderMetricsService;
+import com.builderssas.api.services.metrics.OrderMetricsStore;
+import com.builderssas.api.services.metrics.OrderTimeSeries;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
+/**
+ * Métricas de órdenes.
+ *
+ * Todas las respuestas pasan por {@link CachedMetricsFacade}: JSON ya serializado,
+ * TTL + invalidación por escritura, single-flight y ETag (If-None-Match → 304).
+ */
 @RestController
 @RequestMapping("/api/v1/construction-orders/metrics")
 @RequiredArgsConstructor
 @CrossOrigin(origins = "http://localhost:4200")
 public class ConstructionOrderMetricsController {
 
-    private final ConstructionOrderRepository orderRepo;
+    /** Contadores en memoria (delta + reconciliación); las lecturas no tocan la BD. */
+    private final OrderMetricsStore metrics;
+
+    /** DTOs combinados (totales + desglose por estado). */
+    private final ConstructionOrderMetricsService metricsService;
+
+    private final CachedMetricsFacade cache;
+
+    /** Series temporales por minuto (anillos de tamaño fijo). */
+    private final OrderTimeSeries timeSeries;
 
     // ============================================================
     //  MÉTRICAS GLOBALES
@@ -21,20 +44,47 @@ public class ConstructionOrderMetricsController {
 
     /** Total por estado global */
     @GetMapping("/status")
-    public List<StatusCountView> getAllByStatus() {
-        return orderRepo.countAllGroupedByStatus();
+    public ResponseEntity<byte[]> getAllByStatus(WebRequest request) {
+        return respond(request, "status", metrics::countByStatus);
     }
 
     /** Total por tipo global */
     @GetMapping("/by-type")
-    public List<TypeCountView> getAllByType() {
-        return orderRepo.countAllGroupedByConstructionType();
+    public ResponseEntity<byte[]> getAllByType(WebRequest request) {
+        return respond(request, "by-type", metrics::countByType);
     }
 
     /** Total por tipo + estado global */
     @GetMapping("/by-type-status")
-    public List<TypeStatusCountView> getAllByTypeAndStatus() {
-        return orderRepo.countAllGroupedByConstructionTypeAndStatus();
+    public ResponseEntity<byte[]> getAllByTypeAndStatus(WebRequest request) {
+        return respond(request, "by-type-status", metrics::countByTypeAndStatus);
+    }
+
+    /** Totales globales por estado (ConstructionOrderStatsDto) */
+    @GetMapping("/summary")
+    public ResponseEntity<byte[]> getGlobalSummary(WebRequest request) {
+        return respond(request, "summary", metricsService::getGlobalStats);
+    }
+
+    /** Por tipo con desglose por estado (ConstructionOrderTypeStatsDto) */
+    @GetMapping("/type-stats")
+    public ResponseEntity<byte[]> getGlobalTypeStats(WebRequest request) {
+        return respond(request, "type-stats", metricsService::getGlobalTypeStats);
+    }
+
+
+    /**
+     * Series temporales: creación, aprobaciones/rechazos/fallos, transiciones del cron
+     * y latencias (reserva de stock, solicitud → orden).
+     *
+     * minutes = ventana hacia atrás desde ahora; bucketMinutes = agregación (60 = por hora).
+     */
+    @GetMapping("/timeseries")
+    public OrderTimeSeriesDto getTimeSeries(
+            @RequestParam(defaultValue = "60") int minutes,
+            @RequestParam(defaultValue = "1") int bucketMinutes
+    ) {
+        return timeSeries.snapshot(minutes, bucketMinutes);
     }
 
 
@@ -44,19 +94,41 @@ public class ConstructionOrderMetricsController {
 
     /** Por proyecto → por estado */
     @GetMapping("/by-project/{projectId}/status")
-    public List<ProjectStatusCountView> getProjectByStatus(@PathVariable Long projectId) {
-        return orderRepo.countByProjectGroupedByStatus(projectId);
+    public ResponseEntity<byte[]> getProjectByStatus(@PathVariable Long projectId, WebRequest request) {
+        return respond(request, "project:" + projectId + ":status", () -> metrics.countByStatus(projectId));
     }
 
     /** Por proyecto → por tipo */
     @GetMapping("/by-project/{projectId}/by-type")
-    public List<TypeCountView> getProjectByType(@PathVariable Long projectId) {
-        return orderRepo.countByProjectGroupedByConstructionType(projectId);
+    public ResponseEntity<byte[]> getProjectByType(@PathVariable Long projectId, WebRequest request) {
+        return respond(request, "project:" + projectId + ":by-type", () -> metrics.countByType(projectId));
     }
 
     /** Por proyecto → por tipo + estado */
     @GetMapping("/by-project/{projectId}/by-type-status")
-    public List<TypeStatusCountView> getProjectByTypeAndStatus(@PathVariable Long projectId) {
-        return orderRepo.countByProjectGroupedByConstructionTypeAndStatus(projectId);
+    public ResponseEntity<byte[]> getProjectByTypeAndStatus(@PathVariable Long projectId, WebRequest request) {
+        return respond(request, "project:" + projectId + ":by-type-status", () -> metrics.countByTypeAndStatus(projectId));
+    }
+
+    /** Por proyecto → por tipo con desglose por estado (ConstructionOrderTypeStatsDto) */
+    @GetMapping("/by-project/{projectId}/type-stats")
+    public ResponseEntity<byte[]> getProjectTypeStats(@PathVariable Long projectId, WebRequest request) {
+        return respond(request, "project:" + projectId + ":type-stats", () -> metricsService.getProjectTypeStats(projectId));
+    }
+
+
+    // ============================================================
+    // RESPUESTA CACHEADA + ETAG
+    // ============================================================
+    private ResponseEntity<byte[]> respond(WebRequest request, String key, Supplier<?> loader) {
+        final var cached = cache.get(key, loader);
+
+        return Optional.of(cached)
+                .filter(c -> !request.checkNotModified(c.etag()))
+                .map(c -> ResponseEntity.ok()
+                        .eTag(c.etag())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(c.body()))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(cached.etag()).build());
     }
 }
@@ -1,15 +1,21 @@
 package com.builderssas.api.controller.constructionrequest;
 
 import com.builderssas.api.core.exception.GlobalExceptionHandler;
+import com.builderssas.api.core.export.ExportFormat;
+import com.builderssas.api.core.export.ExportResponses;
+import com.builderssas.api.domain.model.constructionrequest.dto.ConstructionRequestBatchResultDto;
 import com.builderssas.api.domain.model.constructionrequest.dto.ConstructionRequestDto;
 import com.builderssas.api.domain.model.constructionrequest.dto.CreateConstructionRequestDto;
 import com.builderssas.api.repository.ConstructionTypeRepository;
 import com.builderssas.api.repository.ProjectRepository;
 import com.builderssas.api.repository.UserRepository;
 import com.builderssas.api.services.constructionrequest.ConstructionRequestService;
+import com.builderssas.api.services.constructionrequest.OrderCreationJobQueue;
+import com.builderssas.api.services.export.ExportService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -36,6 +42,8 @@ import java.util.stream.Stream;
 public class ConstructionRequestController {
 
     private final ConstructionRequestService service;
+    private final ExportService exportService;
+    private final OrderCreationJobQueue orderJobs;
 
     /* REQUERIDOS PARA VALIDACIÓN PREVIA */
     private final ProjectRepository projectRepository;
@@ -139,6 +147,46 @@ public class ConstructionRequestController {
         return ResponseEntity.ok(service.create(dto, userId));
     }
 
+    /**
+     * Crear solicitudes en lote.
+     *
+     * Proyectos, tipos y coordenadas se validan por ítem dentro del servicio
+     * (un ítem inválido no aborta el lote); aquí solo se exige el usuario.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ConstructionRequestBatchResultDto> createBatch(
+            @RequestBody List<CreateConstructionRequestDto> dtos,
+            @RequestParam Long userId
+    ) {
+
+        Optional.ofNullable(userId)
+                .map(this::ensureUserExists)
+                .orElseThrow(() ->
+                        new GlobalExceptionHandler.UnauthorizedException("userId es obligatorio"));
+
+        return ResponseEntity.ok(service.createBatch(dtos, userId));
+    }
+
+    /**
+     * Exportar todas las solicitudes en streaming (NDJSON o CSV, gzip opcional).
+     * La memoria usada no depende del número de filas.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        return ExportResponses.stream("construction-requests", ExportFormat.of(format), gzip, exportService::exportRequests);
+    }
+
+    /**
+     * Estado de la cola durable de creación de órdenes en este nodo.
+     */
+    @GetMapping("/order-jobs")
+    public OrderCreationJobQueue.Stats getOrderJobStats() {
+        return orderJobs.stats();
+    }
+
     /**
      * Obtener solicitud por ID.
      */
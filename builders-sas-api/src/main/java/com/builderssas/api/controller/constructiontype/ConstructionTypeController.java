@@ -1,7 +1,10 @@
 package com.builderssas.api.controller.constructiontype;
 
 import com.builderssas.api.domain.model.construction.dto.*;
+import com.builderssas.api.domain.model.construction.dto.stats.ConstructionCapacityDto;
 import com.builderssas.api.services.ConstructionTypeService;
+import com.builderssas.api.services.constructiontype.ConstructionTypeBomCache;
+import com.builderssas.api.services.stock.CapacityEngine;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -29,6 +32,24 @@ import java.util.List;
 public class ConstructionTypeController {
 
     private final ConstructionTypeService service;
+    private final ConstructionTypeBomCache bomCache;
+    private final CapacityEngine capacity;
+
+    // ───────────────────────────────────────────────
+    // BOM CACHE — versión, tipos cacheados, aciertos y fallos
+    // ───────────────────────────────────────────────
+    @GetMapping("/bom-cache")
+    public ConstructionTypeBomCache.Stats getBomCacheStats() {
+        return bomCache.stats();
+    }
+
+    // ───────────────────────────────────────────────
+    // CAPACITY — órdenes adicionales que cubre el stock actual, por tipo
+    // ───────────────────────────────────────────────
+    @GetMapping("/capacity")
+    public List<ConstructionCapacityDto> getCapacity() {
+        return capacity.capacities();
+    }
 
     // ───────────────────────────────────────────────
     // GET ALL
@@ -0,0 +1,37 @@
+package com.builderssas.api.controller.executor;
+
+import com.builderssas.api.core.async.BoundedExecutor;
+import com.builderssas.api.core.async.DirectExecutionGate;
+import com.builderssas.api.core.async.ExecutorRegistry;
+import com.builderssas.api.core.async.ExecutorStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Métricas de los executors acotados (hilos activos, profundidad de cola, rechazos,
+ * espera en cola y tiempo de ejecución): beans sueltos + pools del registro
+ * + compuerta del modo DIRECT si está activa. Comparar /api/v1/executors bajo
+ * la misma carga con executors.mode=ASYNC y DIRECT da el contraste entre modos.
+ */
+@RestController
+@RequestMapping("/api/v1/executors")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:4200")
+public class ExecutorMetricsController {
+
+    private final List<BoundedExecutor> executors;
+    private final ExecutorRegistry registry;
+
+    @GetMapping
+    public List<ExecutorStats> getAll() {
+        return Stream.concat(
+                        Stream.concat(executors.stream(), registry.all().stream()).map(BoundedExecutor::stats),
+                        registry.direct().map(DirectExecutionGate::stats).stream())
+                .sorted(Comparator.comparing(ExecutorStats::name))
+                .toList();
+    }
+}
@@ -0,0 +1,59 @@
+package com.builderssas.api.controller.report;
+
+import com.builderssas.api.core.export.ExportFormat;
+import com.builderssas.api.core.export.ExportResponses;
+import com.builderssas.api.domain.model.construction.dto.report.ConstructionSummaryReportDto;
+import com.builderssas.api.domain.model.enums.OrderStatus;
+import com.builderssas.api.services.report.ReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Reportes de órdenes de construcción.
+ *
+ * Filtros opcionales en ambos endpoints:
+ *  - projectId → un proyecto (sin él: todos)
+ *  - from / to → rango de scheduledStartDate (ISO yyyy-MM-dd, inclusive)
+ */
+@CrossOrigin(origins = "http://localhost:4200")
+@RestController
+@RequestMapping("/api/v1/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final ReportService reportService;
+
+    // ============================================================
+    // RESUMEN POR TIPO (FINISHED / IN_PROGRESS / PENDING)
+    // ============================================================
+    @GetMapping("/construction-summary")
+    public List<ConstructionSummaryReportDto> constructionSummary(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return reportService.summary(projectId, from, to);
+    }
+
+    // ============================================================
+    // ÓRDENES POR ESTADO (streaming NDJSON / CSV)
+    // ============================================================
+    @GetMapping("/orders-by-status")
+    public ResponseEntity<StreamingResponseBody> ordersByStatus(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        return ExportResponses.stream("orders-by-status", ExportFormat.of(format), gzip,
+                (fmt, out) -> reportService.streamOrdersByStatus(status, projectId, from, to, fmt, out));
+    }
+}
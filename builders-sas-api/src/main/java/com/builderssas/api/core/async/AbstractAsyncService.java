@@ -11,6 +11,10 @@ import java.util.concurrent.CompletableFuture;
  * 🧩 Base asynchronous CRUD service.
  * Provides reusable, thread-safe async operations for all entities.
  *
+ * Every operation is a fused pipeline: one pool task, one transaction
+ * (read-write or read-only) and one persistence context, including the
+ * final DTO mapping.
+ *
  * @param <E> Entity type
  * @param <DTO> DTO type
  * @param <CreateDTO> DTO used for creation
@@ -27,54 +31,58 @@ public abstract class AbstractAsyncService<
     protected final BaseMapper<E, DTO, CreateDTO, UpdateDTO> mapper;
     protected final AsyncService asyncService;
 
+    /**
+     * Maps, saves and returns the DTO of a new entity in a single task.
+     */
+    public CompletableFuture<DTO> createAsync(CreateDTO dto) {
+        return asyncService.inTransaction(() -> mapper.toDto(repository.save(mapper.toEntity(dto))));
+    }
+
     /**
      * Saves an entity asynchronously and returns its DTO.
      */
     public CompletableFuture<DTO> saveAsync(E entity) {
-        return asyncService.supplyAsync(() -> repository.save(entity))
-                .thenApply(mapper::toDto);
+        return asyncService.inTransaction(() -> mapper.toDto(repository.save(entity)));
     }
 
     /**
      * Retrieves all entities asynchronously.
      */
     public CompletableFuture<List<DTO>> findAllAsync() {
-        return asyncService.supplyAsync(repository::findAll)
-                .thenApply(mapper::toDtoList);
+        return asyncService.readOnly(() -> mapper.toDtoList(repository.findAll()));
     }
 
     /**
      * Retrieves one entity asynchronously by ID.
      */
     public CompletableFuture<DTO> findByIdAsync(Long id) {
-        return asyncService.supplyAsync(() ->
-                        repository.findById(id)
-                                .orElseThrow(() -> new RuntimeException("Entity not found")))
-                .thenApply(mapper::toDto);
+        return asyncService.readOnly(() -> repository.findById(id)
+                .map(mapper::toDto)
+                .orElseThrow(() -> new RuntimeException("Entity not found")));
     }
 
     /**
      * Deletes an entity asynchronously by ID.
      */
     public CompletableFuture<Void> deleteAsync(Long id) {
-        return asyncService.runAsync(() -> {
+        return asyncService.inTransaction(() -> {
             if (!repository.existsById(id)) {
                 throw new RuntimeException("Entity not found");
             }
             repository.deleteById(id);
+            return null;
         });
     }
 
     /**
-     * Updates an entity asynchronously.
+     * Updates an entity asynchronously (load, merge and save in one transaction).
      */
     public CompletableFuture<DTO> updateAsync(Long id, UpdateDTO dto) {
-        return asyncService.supplyAsync(() -> {
-                    E entity = repository.findById(id)
-                            .orElseThrow(() -> new RuntimeException("Entity not found"));
-                    mapper.updateEntityFromDto(dto, entity);
-                    return repository.save(entity);
-                })
-                .thenApply(mapper::toDto);
+        return asyncService.inTransaction(() -> {
+            E entity = repository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Entity not found"));
+            mapper.updateEntityFromDto(dto, entity);
+            return mapper.toDto(repository.save(entity));
+        });
     }
 }
@@ -0,0 +1,196 @@
+package com.builderssas.api.core.async;
+
+import com.builderssas.api.core.metrics.LogLinearHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executor acotado y observable para trabajo bloqueante (JDBC).
+ *
+ * - Modo PLATFORM: ThreadPoolExecutor con cola de tamaño fijo.
+ * - Modo VIRTUAL: un hilo virtual por tarea, limitado por un semáforo
+ *   de (maxSize + queueCapacity) permisos. Requiere JDK 21+; en JDKs
+ *   anteriores se registra una advertencia y se usa el modo PLATFORM.
+ *
+ * En ambos modos, cuando no hay capacidad se lanza RejectedExecutionException
+ * de inmediato (sin cola ilimitada) para que el llamador pueda responder 503.
+ *
+ * Cada tarea registra su espera en cola y su tiempo de ejecución en histogramas
+ * de tamaño fijo. Al apagar se espera a las tareas en curso hasta el timeout.
+ */
+@Slf4j
+public class BoundedExecutor implements Executor, DisposableBean {
+
+    private final String name;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor pool;
+    private final VirtualThreadTaskExecutor virtual;
+    private final Semaphore virtualPermits;
+    private final AtomicInteger virtualActive = new AtomicInteger();
+    private final LongAdder virtualCompleted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LogLinearHistogram queueWait = new LogLinearHistogram();
+    private final LogLinearHistogram runTime = new LogLinearHistogram();
+    private final int maxSize;
+    private final int shutdownTimeoutSeconds;
+
+    public BoundedExecutor(String name, int coreSize, int maxSize, int queueCapacity, boolean virtualThreads) {
+        this(name, coreSize, maxSize, queueCapacity, virtualThreads, 30);
+    }
+
+    public BoundedExecutor(String name, int coreSize, int maxSize, int queueCapacity, boolean virtualThreads,
+                           int shutdownTimeoutSeconds) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.queueCapacity = queueCapacity;
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+        this.virtual = virtualThreads ? createVirtual(name) : null;
+        this.virtualPermits = new Semaphore(maxSize + queueCapacity);
+        this.pool = virtual == null ? createPool(name, coreSize, maxSize, queueCapacity) : null;
+    }
+
+    private static VirtualThreadTaskExecutor createVirtual(String name) {
+        try {
+            return new VirtualThreadTaskExecutor(name + "-");
+        } catch (UnsupportedOperationException ex) {
+            log.warn("Executor '{}': hilos virtuales no disponibles en este JDK, se usa pool de plataforma", name);
+            return null;
+        }
+    }
+
+    private ThreadPoolExecutor createPool(String name, int coreSize, int maxSize, int queueCapacity) {
+        var executor = new ThreadPoolExecutor(
+                coreSize,
+                maxSize,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                new CustomizableThreadFactory(name + "-"),
+                (task, ex) -> {
+                    rejected.increment();
+                    throw new RejectedExecutionException("Executor '" + name + "' saturado");
+                }
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        final Runnable timed = timed(task);
+        Optional.ofNullable(virtual)
+                .ifPresentOrElse(v -> executeVirtual(v, timed), () -> pool.execute(timed));
+    }
+
+    private Runnable timed(Runnable task) {
+        final long enqueuedAt = System.nanoTime();
+        return () -> {
+            final long startedAt = System.nanoTime();
+            queueWait.record(TimeUnit.NANOSECONDS.toMicros(startedAt - enqueuedAt));
+            try {
+                task.run();
+            } finally {
+                runTime.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt));
+            }
+        };
+    }
+
+    private void executeVirtual(VirtualThreadTaskExecutor v, Runnable task) {
+        if (!virtualPermits.tryAcquire()) {
+            rejected.increment();
+            throw new RejectedExecutionException("Executor '" + name + "' saturado");
+        }
+        v.execute(() -> {
+            virtualActive.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                virtualActive.decrementAndGet();
+                virtualCompleted.increment();
+                virtualPermits.release();
+            }
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ExecutorStats stats() {
+        return Optional.ofNullable(pool)
+                .map(p -> new ExecutorStats(
+                        name,
+                        "PLATFORM",
+                        maxSize,
+                        p.getPoolSize(),
+                        p.getActiveCount(),
+                        p.getQueue().size(),
+                        queueCapacity,
+                        p.getCompletedTaskCount(),
+                        rejected.sum(),
+                        millis(queueWait.mean()),
+                        millis(queueWait.percentile(0.99)),
+                        millis(runTime.mean()),
+                        millis(runTime.percentile(0.99))))
+                .orElseGet(() -> new ExecutorStats(
+                        name,
+                        "VIRTUAL",
+                        maxSize,
+                        virtualActive.get(),
+                        virtualActive.get(),
+                        0,
+                        queueCapacity,
+                        virtualCompleted.sum(),
+                        rejected.sum(),
+                        millis(queueWait.mean()),
+                        millis(queueWait.percentile(0.99)),
+                        millis(runTime.mean()),
+                        millis(runTime.percentile(0.99))));
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    @Override
+    public void destroy() {
+        Optional.ofNullable(pool).ifPresentOrElse(this::awaitPool, this::awaitVirtual);
+    }
+
+    private void awaitPool(ThreadPoolExecutor p) {
+        p.shutdown();
+        try {
+            if (!p.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                log.warn("Executor '{}': {} tareas sin terminar tras {} s, se interrumpen",
+                        name, p.shutdownNow().size() + p.getActiveCount(), shutdownTimeoutSeconds);
+            }
+        } catch (InterruptedException e) {
+            p.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitVirtual() {
+        // Todas las tareas en vuelo liberan su permiso al terminar
+        final int permits = maxSize + queueCapacity;
+        try {
+            if (!virtualPermits.tryAcquire(permits, shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                log.warn("Executor '{}': {} tareas virtuales sin terminar tras {} s",
+                        name, virtualActive.get(), shutdownTimeoutSeconds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.builderssas.api.core.async;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Presupuesto único de conexiones JDBC.
+ *
+ * Todo executor cuyos hilos hacen JDBC recibe una fracción (share) del pool de
+ * Hikari y su tamaño es floor(share × maximum-pool-size), mínimo 1. Una parte
+ * queda reservada para los hilos de Tomcat (peticiones síncronas y exportaciones
+ * en streaming), que también toman conexiones.
+ *
+ * Al arrancar se valida que las fracciones sumen como máximo 1 y que los hilos
+ * asignados (con el mínimo de 1) no superen el pool; si no, la aplicación no
+ * inicia: un pool sobresuscrito solo se nota bajo carga, como esperas de conexión.
+ */
+@Slf4j
+public class DbConnectionBudget {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private final int poolSize;
+    private final Map<String, Integer> threads;
+
+    /**
+     * @param poolSize    tamaño máximo del pool de Hikari
+     * @param shares      fracción por executor (nombre → share)
+     * @param reserved    fracción reservada a los hilos de Tomcat
+     */
+    public DbConnectionBudget(final int poolSize, final Map<String, Double> shares, final double reserved) {
+        this.poolSize = poolSize;
+
+        shares.forEach((name, share) -> Optional.of(share)
+                .filter(s -> s < 0 || s > 1)
+                .ifPresent(s -> {
+                    throw new IllegalStateException("db-share de '%s' fuera de rango: %s".formatted(name, s));
+                }));
+
+        final double total = shares.values().stream().mapToDouble(Double::doubleValue).sum() + reserved;
+
+        this.threads = shares.entrySet().stream()
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        e -> Math.max(1, (int) Math.floor(poolSize * e.getValue() + TOLERANCE)),
+                        (a, b) -> a,
+                        LinkedHashMap::new));
+
+        final int reservedConnections = (int) Math.floor(poolSize * reserved + TOLERANCE);
+        final int allocated = threads.values().stream().mapToInt(Integer::intValue).sum() + reservedConnections;
+
+        final String breakdown = threads.entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining(", ")) + ", tomcat=" + reservedConnections;
+
+        if (total > 1 + TOLERANCE || allocated > poolSize) {
+            throw new IllegalStateException(
+                    "Presupuesto de conexiones sobresuscrito: shares=%.3f, hilos=%d > Hikari=%d (%s)"
+                            .formatted(total, allocated, poolSize, breakdown));
+        }
+
+        log.info("🗄️ Presupuesto de conexiones (Hikari={}): {}", poolSize, breakdown);
+    }
+
+    public int poolSize() {
+        return poolSize;
+    }
+
+    /** Hilos asignados a un executor registrado en el presupuesto. */
+    public int threads(final String name) {
+        return Optional.ofNullable(threads.get(name))
+                .orElseThrow(() -> new IllegalArgumentException("Executor sin presupuesto de conexiones: " + name));
+    }
+}
@@ -0,0 +1,115 @@
+package com.builderssas.api.core.async;
+
+import com.builderssas.api.core.metrics.LogLinearHistogram;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Compuerta del modo DIRECT: el trabajo corre en el hilo que llama (con
+ * spring.threads.virtual.enabled=true, el hilo virtual de Tomcat), sin saltar
+ * a un pool, y la concurrencia la limita un semáforo dimensionado contra el
+ * pool de conexiones de Hikari en lugar del número de hilos de plataforma.
+ *
+ *  - Reentrante: un hilo que ya tiene permiso no vuelve a pedirlo, así las
+ *    llamadas anidadas no se bloquean contra sí mismas.
+ *  - Sin permiso tras acquire-timeout-ms se lanza RejectedExecutionException
+ *    (HTTP 503), igual que un {@link BoundedExecutor} saturado.
+ *  - Publica las mismas métricas que los pools ({@link ExecutorStats}, modo
+ *    DIRECT): la espera en cola es la espera por permiso.
+ */
+@Slf4j
+public class DirectExecutionGate {
+
+    private final int permits;
+    private final long acquireTimeoutMs;
+    private final Semaphore semaphore;
+    private final ThreadLocal<Boolean> holding = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LogLinearHistogram permitWait = new LogLinearHistogram();
+    private final LogLinearHistogram runTime = new LogLinearHistogram();
+
+    public DirectExecutionGate(final int permits, final long acquireTimeoutMs) {
+        this.permits = Math.max(1, permits);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.semaphore = new Semaphore(this.permits, true);
+        log.info("🚪 Modo DIRECT → {} ejecuciones concurrentes, espera máxima {} ms", this.permits, acquireTimeoutMs);
+    }
+
+    /**
+     * Ejecuta el supplier en el hilo actual y devuelve un future ya completado.
+     * La falta de permiso se lanza de inmediato (como un pool saturado); los
+     * errores del supplier quedan en el future envueltos en CompletionException,
+     * igual que con CompletableFuture.supplyAsync.
+     */
+    public <T> CompletableFuture<T> supply(final Supplier<T> supplier) {
+        if (holding.get()) {
+            return run(supplier);
+        }
+
+        final long requestedAt = System.nanoTime();
+        acquire();
+        final long startedAt = System.nanoTime();
+        permitWait.record(TimeUnit.NANOSECONDS.toMicros(startedAt - requestedAt));
+
+        holding.set(Boolean.TRUE);
+        try {
+            return run(supplier);
+        } finally {
+            holding.remove();
+            semaphore.release();
+            completed.increment();
+            runTime.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt));
+        }
+    }
+
+    private static <T> CompletableFuture<T> run(final Supplier<T> supplier) {
+        try {
+            return CompletableFuture.completedFuture(supplier.get());
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(new CompletionException(ex));
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new RejectedExecutionException("Modo directo saturado (" + permits + " permisos)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            throw new RejectedExecutionException("Interrumpido esperando permiso de ejecución", e);
+        }
+    }
+
+    public ExecutorStats stats() {
+        final int active = permits - semaphore.availablePermits();
+        return new ExecutorStats(
+                "direct",
+                "DIRECT",
+                permits,
+                active,
+                active,
+                semaphore.getQueueLength(),
+                0,
+                completed.sum(),
+                rejected.sum(),
+                millis(permitWait.mean()),
+                millis(permitWait.percentile(0.99)),
+                millis(runTime.mean()),
+                millis(runTime.percentile(0.99)));
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
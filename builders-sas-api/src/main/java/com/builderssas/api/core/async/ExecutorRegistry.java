@@ -0,0 +1,80 @@
+package com.builderssas.api.core.async;
+
+import com.builderssas.api.config.ExecutorRegistryConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Registro de executors acotados con nombre, uno por carga de trabajo.
+ *
+ *  - Tamaño: los pools que hacen JDBC toman sus hilos de {@link DbConnectionBudget};
+ *    el resto, max-size explícito o db-share × tamaño del pool de Hikari.
+ *  - Modo: hilos de plataforma o virtuales (global o por pool).
+ *  - Métricas: cada pool expone cola, activos, rechazos y latencias
+ *    (espera en cola y ejecución) vía {@link BoundedExecutor#stats()}.
+ *  - Modo DIRECT (opcional): {@link DirectExecutionGate} para ejecutar en el
+ *    hilo llamador, limitado por un semáforo del tamaño del pool de Hikari.
+ *  - Apagado ordenado: cada pool espera a sus tareas en curso hasta
+ *    executors.shutdown-timeout-seconds.
+ */
+@Slf4j
+public class ExecutorRegistry implements DisposableBean {
+
+    private final Map<ExecutorWorkload, BoundedExecutor> executors = new EnumMap<>(ExecutorWorkload.class);
+    private final DirectExecutionGate direct;
+
+    public ExecutorRegistry(final ExecutorRegistryConfig config, final DbConnectionBudget budget) {
+        final int dbPoolSize = budget.poolSize();
+
+        Arrays.stream(ExecutorWorkload.values()).forEach(w -> {
+            final var pool = pool(config, w);
+
+            final int size = w.usesDatabase()
+                    ? budget.threads(w.poolName())
+                    : Math.max(1, Optional.ofNullable(pool.getMaxSize())
+                            .orElseGet(() -> (int) Math.floor(dbPoolSize * pool.getDbShare())));
+            final boolean virtual = Optional.ofNullable(pool.getVirtualThreads()).orElse(config.isVirtualThreads());
+
+            executors.put(w, new BoundedExecutor(
+                    w.poolName(), size, size, pool.getQueueCapacity(), virtual, config.getShutdownTimeoutSeconds()));
+
+            log.info("🧵 Pool '{}' → {} hilos, cola {}, {} (Hikari: {})",
+                    w.poolName(), size, pool.getQueueCapacity(), virtual ? "VIRTUAL" : "PLATFORM", dbPoolSize);
+        });
+
+        this.direct = config.getMode() == ExecutorRegistryConfig.Mode.DIRECT
+                ? new DirectExecutionGate(
+                        Optional.ofNullable(config.getDirect().getMaxConcurrent()).orElse(dbPoolSize),
+                        config.getDirect().getAcquireTimeoutMs())
+                : null;
+    }
+
+    public static ExecutorRegistryConfig.Pool pool(final ExecutorRegistryConfig config, final ExecutorWorkload workload) {
+        return Optional.ofNullable(config.getPools().get(workload.poolName()))
+                .orElseGet(ExecutorRegistryConfig.Pool::new);
+    }
+
+    public BoundedExecutor get(final ExecutorWorkload workload) {
+        return executors.get(workload);
+    }
+
+    public Collection<BoundedExecutor> all() {
+        return executors.values();
+    }
+
+    /** Compuerta del modo DIRECT; vacío en modo ASYNC. */
+    public Optional<DirectExecutionGate> direct() {
+        return Optional.ofNullable(direct);
+    }
+
+    @Override
+    public void destroy() {
+        executors.values().forEach(BoundedExecutor::destroy);
+    }
+}
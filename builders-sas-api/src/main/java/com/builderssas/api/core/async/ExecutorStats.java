@@ -0,0 +1,35 @@
+package com.builderssas.api.core.async;
+
+/**
+ * Fotografía de las métricas de un {@link BoundedExecutor}.
+ *
+ * @param name           nombre lógico del pool
+ * @param mode           PLATFORM o VIRTUAL
+ * @param maxSize        máximo de hilos (o de tareas en vuelo en modo VIRTUAL)
+ * @param poolSize       hilos vivos (en modo VIRTUAL, tareas en vuelo)
+ * @param active         tareas ejecutándose en este momento
+ * @param queued         tareas esperando en la cola
+ * @param queueCapacity  capacidad máxima de la cola
+ * @param completed      tareas terminadas desde el arranque
+ * @param rejected       tareas rechazadas por saturación desde el arranque
+ * @param avgQueueWaitMs espera media en cola desde el arranque
+ * @param p99QueueWaitMs percentil 99 de la espera en cola
+ * @param avgRunMs       tiempo medio de ejecución desde el arranque
+ * @param p99RunMs       percentil 99 del tiempo de ejecución
+ */
+public record ExecutorStats(
+        String name,
+        String mode,
+        int maxSize,
+        int poolSize,
+        int active,
+        int queued,
+        int queueCapacity,
+        long completed,
+        long rejected,
+        double avgQueueWaitMs,
+        double p99QueueWaitMs,
+        double avgRunMs,
+        double p99RunMs
+) {
+}
@@ -0,0 +1,36 @@
+package com.builderssas.api.core.async;
+
+/**
+ * Cargas de trabajo con pool propio en {@link ExecutorRegistry}.
+ */
+public enum ExecutorWorkload {
+
+    /** Lecturas CRUD (findAll, findById, validaciones de existencia). */
+    CRUD_READ("crud-read", true),
+
+    /** Escrituras CRUD (save, update, delete). */
+    CRUD_WRITE("crud-write", true),
+
+    /** Enriquecimiento y despacho de notificaciones (solo memoria; el outbox se vuelca aparte). */
+    NOTIFICATION("notification", false),
+
+    /** Trabajo derivado de los cron (fan-out de notificaciones tras el commit). */
+    CRON("cron", true);
+
+    private final String poolName;
+    private final boolean usesDatabase;
+
+    ExecutorWorkload(final String poolName, final boolean usesDatabase) {
+        this.poolName = poolName;
+        this.usesDatabase = usesDatabase;
+    }
+
+    public String poolName() {
+        return poolName;
+    }
+
+    /** Si sus hilos hacen JDBC: entonces cuentan contra {@link DbConnectionBudget}. */
+    public boolean usesDatabase() {
+        return usesDatabase;
+    }
+}
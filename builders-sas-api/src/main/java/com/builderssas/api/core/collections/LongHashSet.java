@@ -0,0 +1,119 @@
+package com.builderssas.api.core.collections;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de long primitivos (direccionamiento abierto, sondeo lineal).
+ *
+ * Sin boxing ni un nodo por elemento: cada valor ocupa 8 bytes en un arreglo
+ * con factor de carga ≤ 0,5. Pensado para ids generados por la BD, por eso
+ * 0 se reserva como celda vacía y solo se admiten valores positivos.
+ *
+ * No es thread-safe: quien lo comparta debe sincronizar el acceso.
+ */
+public final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final int MIN_CAPACITY = 4;
+
+    private long[] slots;
+    private int size;
+
+    public LongHashSet() {
+        this.slots = new long[MIN_CAPACITY];
+    }
+
+    public boolean add(final long value) {
+        requirePositive(value);
+        if ((size + 1) * 2 > slots.length) {
+            resize(slots.length << 1);
+        }
+        return insert(slots, value) && ++size > 0;
+    }
+
+    public boolean contains(final long value) {
+        return value > 0 && slotOf(value) >= 0;
+    }
+
+    public boolean remove(final long value) {
+        final int found = value > 0 ? slotOf(value) : -1;
+        if (found < 0) {
+            return false;
+        }
+
+        // Borrado con desplazamiento hacia atrás: no deja lápidas
+        final int mask = slots.length - 1;
+        int gap = found;
+        int j = found;
+        while (true) {
+            j = (j + 1) & mask;
+            final long k = slots[j];
+            if (k == EMPTY) {
+                break;
+            }
+            final int home = hash(k) & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                slots[gap] = k;
+                gap = j;
+            }
+        }
+        slots[gap] = EMPTY;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Copia ordenada de los valores. */
+    public long[] toArray() {
+        final long[] values = Arrays.stream(slots).filter(v -> v != EMPTY).toArray();
+        Arrays.sort(values);
+        return values;
+    }
+
+    private int slotOf(final long value) {
+        final int mask = slots.length - 1;
+        for (int i = hash(value) & mask; slots[i] != EMPTY; i = (i + 1) & mask) {
+            if (slots[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean insert(final long[] table, final long value) {
+        final int mask = table.length - 1;
+        int i = hash(value) & mask;
+        while (table[i] != EMPTY) {
+            if (table[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        table[i] = value;
+        return true;
+    }
+
+    private void resize(final int capacity) {
+        final long[] table = new long[capacity];
+        Arrays.stream(slots).filter(v -> v != EMPTY).forEach(v -> insert(table, v));
+        slots = table;
+    }
+
+    private static int hash(final long value) {
+        final long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static void requirePositive(final long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("LongHashSet solo admite valores positivos: " + value);
+        }
+    }
+}
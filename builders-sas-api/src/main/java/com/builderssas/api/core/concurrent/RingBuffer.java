@@ -0,0 +1,76 @@
+package com.builderssas.api.core.concurrent;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Buffer circular de capacidad fija (thread-safe).
+ *
+ *  - add: O(1); al llenarse sobreescribe el elemento más antiguo.
+ *  - page: copia solo los elementos de la página pedida (orden cronológico).
+ *  - evictWhile: descarta desde el más antiguo mientras se cumpla la condición
+ *    (retención por edad).
+ */
+public final class RingBuffer<T> {
+
+    private final Object[] items;
+    private long head;   // total de elementos agregados
+    private long tail;   // posición lógica del más antiguo retenido
+
+    public RingBuffer(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + capacity);
+        }
+        this.items = new Object[capacity];
+    }
+
+    public synchronized void add(final T item) {
+        items[slot(head)] = item;
+        head++;
+        if (head - tail > items.length) {
+            tail = head - items.length;
+        }
+    }
+
+    public synchronized int size() {
+        return (int) (head - tail);
+    }
+
+    /**
+     * Página en orden cronológico (del más antiguo retenido al más reciente).
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<T> page(final int offset, final int limit) {
+        final int size = size();
+        final int from = Math.max(0, Math.min(offset, size));
+        final int to = Math.max(from, Math.min(size, from + Math.max(0, limit)));
+
+        return IntStream.range(from, to)
+                .mapToObj(i -> (T) items[slot(tail + i)])
+                .toList();
+    }
+
+    public synchronized List<T> snapshot() {
+        return page(0, size());
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized void evictWhile(final Predicate<T> expired) {
+        while (head > tail && expired.test((T) items[slot(tail)])) {
+            items[slot(tail)] = null;
+            tail++;
+        }
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(items, null);
+        head = 0;
+        tail = 0;
+    }
+
+    private int slot(final long position) {
+        return (int) (position % items.length);
+    }
+}
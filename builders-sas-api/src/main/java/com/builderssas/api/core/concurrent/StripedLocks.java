@@ -0,0 +1,51 @@
+package com.builderssas.api.core.concurrent;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Conjunto fijo de locks indexados por clave (lock striping).
+ *
+ * Claves distintas comparten lock solo si caen en la misma franja, de modo que
+ * la contención queda acotada a las claves realmente concurrentes sin crear un
+ * lock por cada registro.
+ *
+ * Los locks de varias claves se adquieren siempre en orden ascendente de franja
+ * para evitar interbloqueos entre llamadas que comparten claves.
+ */
+public final class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public StripedLocks(int stripes) {
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripes - 1)) << 1];
+        Arrays.setAll(this.stripes, i -> new ReentrantLock());
+    }
+
+    /**
+     * Ejecuta la acción con los locks de todas las claves adquiridos.
+     */
+    public <T> T withLocks(Collection<Long> keys, Supplier<T> action) {
+        final int[] indexes = keys.stream()
+                .mapToInt(this::indexOf)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        Arrays.stream(indexes).forEach(i -> stripes[i].lock());
+        try {
+            return action.get();
+        } finally {
+            for (int i = indexes.length - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    private int indexOf(Long key) {
+        final int h = Long.hashCode(key);
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+}
@@ -3,6 +3,7 @@ package com.builderssas.api.core.exception;
 import jakarta.persistence.PersistenceException;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.TransactionSystemException;
@@ -14,6 +15,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -97,6 +99,20 @@ public class GlobalExceptionHandler {
                 .body(body(HttpStatus.CONFLICT, clean.apply(ex)));
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<Map<String, Object>> badRequest(BadRequestException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(body(HttpStatus.BAD_REQUEST, clean.apply(ex)));
+    }
+
+    // Backpressure: el executor acotado no admite más trabajo → 503 + Retry-After
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, Object>> unavailable(RejectedExecutionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body(HttpStatus.SERVICE_UNAVAILABLE, "Servidor saturado, intente nuevamente en unos segundos"));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, Object>> runtime(RuntimeException ex) {
         var msg = Optional.ofNullable(ex.getMessage()).orElse("Error interno del servidor");
@@ -193,4 +209,8 @@ public class GlobalExceptionHandler {
     public static class UnauthorizedException extends RuntimeException {
         public UnauthorizedException(String message) { super(message); }
     }
+
+    public static class BadRequestException extends RuntimeException {
+        public BadRequestException(String message) { super(message); }
+    }
 }
@@ -0,0 +1,39 @@
+package com.builderssas.api.core.export;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Formatos de exportación en streaming.
+ *
+ *  - NDJSON: un objeto JSON por línea.
+ *  - CSV:    cabecera + una fila por registro (RFC 4180).
+ */
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(final String contentType, final String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /** Resuelve el formato sin distinguir mayúsculas; por defecto NDJSON. */
+    public static ExportFormat of(final String value) {
+        return Optional.ofNullable(value)
+                .flatMap(v -> Arrays.stream(values()).filter(f -> f.name().equalsIgnoreCase(v)).findFirst())
+                .orElse(NDJSON);
+    }
+}
@@ -0,0 +1,61 @@
+package com.builderssas.api.core.export;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Construye respuestas de descarga en streaming (opcionalmente gzip).
+ *
+ * Con gzip=true el cuerpo se comprime al vuelo y se entrega como archivo .gz;
+ * la compresión no añade buffers proporcionales al tamaño de la exportación.
+ *
+ * La petición queda marcada con {@link #STREAMING_ATTRIBUTE} para que
+ * ExportAsyncConfig le aplique export.stream-timeout-ms en lugar del timeout global.
+ */
+public final class ExportResponses {
+
+    public static final String STREAMING_ATTRIBUTE = ExportResponses.class.getName() + ".STREAMING";
+
+    private static final int GZIP_BUFFER = 64 * 1024;
+
+    private ExportResponses() {
+    }
+
+    public static ResponseEntity<StreamingResponseBody> stream(
+            final String baseName,
+            final ExportFormat format,
+            final boolean gzip,
+            final BiConsumer<ExportFormat, OutputStream> writer
+    ) {
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(STREAMING_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+
+        final String fileName = baseName + "." + format.extension() + (gzip ? ".gz" : "");
+
+        final StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream gz = new GZIPOutputStream(out, GZIP_BUFFER)) {
+                    writer.accept(format, gz);
+                }
+            } else {
+                writer.accept(format, out);
+                out.flush();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(gzip
+                        ? MediaType.parseMediaType("application/gzip")
+                        : MediaType.parseMediaType(format.contentType() + ";charset=UTF-8"))
+                .body(body);
+    }
+}
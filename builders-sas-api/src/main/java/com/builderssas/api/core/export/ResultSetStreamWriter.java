@@ -0,0 +1,154 @@
+package com.builderssas.api.core.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.stream.IntStream;
+
+/**
+ * Escribe un ResultSet fila a fila directamente en el stream de salida.
+ *
+ * Las columnas (nombre y orden) salen de los alias del SELECT, de modo que no
+ * existe ninguna entidad ni lista intermedia: cada fila se serializa y se
+ * descarta antes de leer la siguiente. Junto con un fetchSize en el
+ * JdbcTemplate, la memoria usada no depende del número de filas.
+ *
+ * Devuelve la cantidad de filas escritas.
+ */
+public final class ResultSetStreamWriter implements ResultSetExtractor<Long> {
+
+    private final ExportFormat format;
+    private final OutputStream out;
+    private final JsonFactory jsonFactory;
+
+    public ResultSetStreamWriter(final ExportFormat format, final OutputStream out, final JsonFactory jsonFactory) {
+        this.format = format;
+        this.out = out;
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    public Long extractData(final ResultSet rs) throws SQLException {
+        final var meta = rs.getMetaData();
+        final String[] columns = IntStream.rangeClosed(1, meta.getColumnCount())
+                .mapToObj(i -> {
+                    try {
+                        return meta.getColumnLabel(i);
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toArray(String[]::new);
+
+        try {
+            return format == ExportFormat.CSV ? writeCsv(rs, columns) : writeNdjson(rs, columns);
+        } catch (IOException e) {
+            // Normalmente el cliente cerró la conexión a mitad de la descarga
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ============================================================================================
+    // ✅ NDJSON — generador Jackson en modo streaming
+    //    El separador de valores raíz por defecto es un espacio: se sustituye por '\n'
+    //    para que cada objeto empiece en su propia línea, sin espacio inicial.
+    // ============================================================================================
+    private long writeNdjson(final ResultSet rs, final String[] columns) throws SQLException, IOException {
+        long rows = 0;
+        try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+
+            while (rs.next()) {
+                json.writeStartObject();
+                for (int i = 0; i < columns.length; i++) {
+                    json.writeFieldName(columns[i]);
+                    writeJsonValue(json, rs.getObject(i + 1));
+                }
+                json.writeEndObject();
+                rows++;
+            }
+            // El separador solo va entre objetos: la última línea también termina en '\n'
+            if (rows > 0) {
+                json.writeRaw('\n');
+            }
+        }
+        return rows;
+    }
+
+    private static void writeJsonValue(final JsonGenerator json, final Object value) throws IOException {
+        if (value == null) {
+            json.writeNull();
+        } else if (value instanceof Long l) {
+            json.writeNumber(l);
+        } else if (value instanceof Integer n) {
+            json.writeNumber(n);
+        } else if (value instanceof Double d) {
+            json.writeNumber(d);
+        } else if (value instanceof BigDecimal b) {
+            json.writeNumber(b);
+        } else if (value instanceof Boolean b) {
+            json.writeBoolean(b);
+        } else {
+            json.writeString(text(value));
+        }
+    }
+
+    // ============================================================================================
+    // ✅ CSV — cabecera + filas, escapado RFC 4180
+    // ============================================================================================
+    private long writeCsv(final ResultSet rs, final String[] columns) throws SQLException, IOException {
+        long rows = 0;
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+
+        writer.write(String.join(",", columns));
+        writer.write("\r\n");
+
+        while (rs.next()) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                final Object value = rs.getObject(i + 1);
+                if (value != null) {
+                    writer.write(csvEscape(text(value)));
+                }
+            }
+            writer.write("\r\n");
+            rows++;
+        }
+
+        writer.flush();
+        return rows;
+    }
+
+    private static String csvEscape(final String value) {
+        final boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    /** Fechas en ISO-8601; el resto con su representación textual. */
+    private static String text(final Object value) {
+        if (value instanceof Timestamp ts) {
+            return ts.toLocalDateTime().toString();
+        }
+        if (value instanceof java.sql.Date d) {
+            return d.toLocalDate().toString();
+        }
+        return value.toString();
+    }
+}
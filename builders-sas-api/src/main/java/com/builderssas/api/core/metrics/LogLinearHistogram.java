@@ -0,0 +1,109 @@
+package com.builderssas.api.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Histograma log-lineal (estilo HDR) de valores enteros no negativos.
+ *
+ * Cada potencia de 2 se divide en 8 sub-cubetas lineales: error relativo máximo
+ * ~12.5 % con un arreglo fijo de {@value #BUCKETS} contadores, sin importar
+ * cuántos valores se registren. Valores por encima de 2^40 se agrupan en la
+ * última cubeta.
+ */
+public final class LogLinearHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_MAGNITUDE = 40;
+    public static final int BUCKETS = (MAX_MAGNITUDE - SUB_BITS + 2) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final LongAdder total = new LongAdder();
+
+    public void record(final long value) {
+        final long v = Math.max(0, value);
+        counts.incrementAndGet(index(v));
+        sum.add(v);
+        total.increment();
+    }
+
+    public void clear() {
+        IntStream.range(0, BUCKETS).forEach(i -> counts.set(i, 0));
+        sum.reset();
+        total.reset();
+    }
+
+    /** Acumula este histograma en target (para combinar varios minutos). */
+    public void addTo(final LogLinearHistogram target) {
+        IntStream.range(0, BUCKETS)
+                .filter(i -> counts.get(i) > 0)
+                .forEach(i -> target.counts.addAndGet(i, counts.get(i)));
+        target.sum.add(sum.sum());
+        target.total.add(total.sum());
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    public double mean() {
+        final long n = count();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /** Valor (límite superior de su cubeta) bajo el cual queda la fracción p (0..1). */
+    public long percentile(final double p) {
+        final long n = count();
+        if (n == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(Math.min(1, Math.max(0, p)) * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    public long max() {
+        return IntStream.iterate(BUCKETS - 1, i -> i >= 0, i -> i - 1)
+                .filter(i -> counts.get(i) > 0)
+                .mapToLong(LogLinearHistogram::upperBound)
+                .findFirst()
+                .orElse(0);
+    }
+
+    // ============================================================================================
+    // ÍNDICES
+    // ============================================================================================
+    static int index(final long v) {
+        if (v < SUB_COUNT) {
+            return (int) v;
+        }
+        final int magnitude = Math.min(MAX_MAGNITUDE, 63 - Long.numberOfLeadingZeros(v));
+        if (magnitude == MAX_MAGNITUDE && v >= (1L << (MAX_MAGNITUDE + 1))) {
+            return BUCKETS - 1;
+        }
+        final int sub = (int) (v >>> (magnitude - SUB_BITS)) & (SUB_COUNT - 1);
+        return (magnitude - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    static long lowerBound(final int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        final int magnitude = index / SUB_COUNT + SUB_BITS - 1;
+        final int sub = index % SUB_COUNT;
+        return (long) (SUB_COUNT + sub) << (magnitude - SUB_BITS);
+    }
+
+    static long upperBound(final int index) {
+        return index + 1 < BUCKETS ? lowerBound(index + 1) - 1 : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,72 @@
+package com.builderssas.api.core.metrics;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Anillo de cubetas por minuto con capacidad fija.
+ *
+ * La cubeta del minuto m vive en el slot m % capacidad. Al llegar un minuto
+ * nuevo a un slot ocupado por uno viejo, la cubeta se reinicia y se reutiliza:
+ * la memoria es la misma tras una hora o tras un año de uptime.
+ *
+ * Las escrituras tardías (minuto ya reciclado) se descartan. En el borde exacto
+ * de un minuto puede perderse algún incremento: precisión suficiente para métricas.
+ */
+public final class MinuteRing<T> {
+
+    private final Object[] buckets;
+    private final AtomicLongArray stamps;
+    private final Consumer<T> reset;
+
+    public MinuteRing(final int minutes, final Supplier<T> factory, final Consumer<T> reset) {
+        if (minutes <= 0) {
+            throw new IllegalArgumentException("La retención debe ser positiva: " + minutes);
+        }
+        this.buckets = new Object[minutes];
+        this.stamps = new AtomicLongArray(minutes);
+        this.reset = reset;
+
+        for (int i = 0; i < minutes; i++) {
+            buckets[i] = factory.get();
+            stamps.set(i, -1);
+        }
+    }
+
+    public int capacity() {
+        return buckets.length;
+    }
+
+    /** Aplica action sobre la cubeta del minuto dado (reciclándola si hace falta). */
+    public void record(final long minute, final Consumer<T> action) {
+        final int i = slot(minute);
+        if (stamps.get(i) != minute) {
+            rollover(i, minute);
+        }
+        bucket(i).filter(b -> stamps.get(i) == minute).ifPresent(action);
+    }
+
+    /** Cubeta del minuto dado, si sigue retenida. */
+    public Optional<T> get(final long minute) {
+        final int i = slot(minute);
+        return stamps.get(i) == minute ? bucket(i) : Optional.empty();
+    }
+
+    private synchronized void rollover(final int i, final long minute) {
+        if (stamps.get(i) < minute) {
+            bucket(i).ifPresent(reset);
+            stamps.set(i, minute);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<T> bucket(final int i) {
+        return Optional.of((T) buckets[i]);
+    }
+
+    private int slot(final long minute) {
+        return (int) Math.floorMod(minute, (long) buckets.length);
+    }
+}
@@ -0,0 +1,55 @@
+package com.builderssas.api.core.paging;
+
+import com.builderssas.api.core.exception.GlobalExceptionHandler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Codificación de cursores opacos para paginación keyset.
+ *
+ * El cursor es la lista de valores de la última fila devuelta (p. ej. fecha e id),
+ * precedida por una versión y el criterio de orden, en Base64 URL-safe. El
+ * cliente no debe interpretarlo: solo devolverlo tal cual para pedir la
+ * siguiente página.
+ */
+public final class CursorCodec {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(final String sort, final List<String> values) {
+        final var raw = String.join(SEPARATOR, VERSION, sort, String.join(SEPARATOR, values));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor emitido para el criterio de orden indicado.
+     *
+     * @return valores de la última fila, o vacío si no se envió cursor
+     * @throws GlobalExceptionHandler.BadRequestException si el cursor está corrupto o es de otro orden
+     */
+    public static Optional<List<String>> decode(final String cursor, final String sort, final int expectedValues) {
+        return Optional.ofNullable(cursor)
+                .filter(c -> !c.isBlank())
+                .map(c -> {
+                    try {
+                        final var parts = new String(Base64.getUrlDecoder().decode(c), StandardCharsets.UTF_8)
+                                .split(Pattern.quote(SEPARATOR), -1);
+
+                        if (parts.length != expectedValues + 2 || !VERSION.equals(parts[0]) || !sort.equals(parts[1])) {
+                            throw new IllegalArgumentException("estructura inesperada");
+                        }
+                        return List.of(parts).subList(2, parts.length);
+                    } catch (IllegalArgumentException ex) {
+                        throw new GlobalExceptionHandler.BadRequestException("Cursor de paginación inválido");
+                    }
+                });
+    }
+}
@@ -0,0 +1,14 @@
+package com.builderssas.api.core.paging;
+
+import java.util.List;
+
+/**
+ * Página de una consulta keyset (seek).
+ *
+ * @param items      elementos de la página
+ * @param size       tamaño de página aplicado (tras el tope configurado)
+ * @param hasMore    true si existen más elementos después de esta página
+ * @param nextCursor token opaco para pedir la siguiente página (null si no hay más)
+ */
+public record KeysetPage<T>(List<T> items, int size, boolean hasMore, String nextCursor) {
+}
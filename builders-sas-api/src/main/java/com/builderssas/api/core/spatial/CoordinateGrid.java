@@ -0,0 +1,113 @@
+package com.builderssas.api.core.spatial;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+/**
+ * Grilla espacial de coordenadas lat/lng (thread-safe).
+ *
+ * Divide el plano en celdas cuadradas (en grados) y guarda cada punto en el
+ * bucket de su celda. Para responder "¿este punto, o algo a menos de N metros,
+ * está ocupado?" solo se revisan las celdas que cubren el radio de tolerancia.
+ *
+ *  - toleranceMeters = 0 → igualdad exacta de Double.
+ *  - toleranceMeters > 0 → distancia haversine ≤ tolerancia.
+ *
+ * No contempla el antimeridiano (±180°), fuera del alcance de los proyectos.
+ */
+public class CoordinateGrid {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000d;
+    private static final double METERS_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_METERS;
+    private static final double MIN_CELL_DEGREES = 0.001;
+
+    private final double toleranceMeters;
+    private final double cellDegrees;
+
+    private final Map<Long, Set<GridPoint>> cells = new ConcurrentHashMap<>();
+
+    private record GridPoint(Long id, double latitude, double longitude) {
+    }
+
+    public CoordinateGrid(final double toleranceMeters) {
+        this.toleranceMeters = Math.max(0, toleranceMeters);
+        this.cellDegrees = Math.max(this.toleranceMeters / METERS_PER_DEGREE, MIN_CELL_DEGREES);
+    }
+
+    public double getToleranceMeters() {
+        return toleranceMeters;
+    }
+
+    // ============================================================================================
+    // ✅ ALTA
+    // ============================================================================================
+    public void add(final Long id, final Double lat, final Double lng) {
+        Optional.ofNullable(lat)
+                .filter(ignored -> lng != null)
+                .ifPresent(ignored -> cells
+                        .computeIfAbsent(cellKey(cellOf(lat), cellOf(lng)), k -> ConcurrentHashMap.newKeySet())
+                        .add(new GridPoint(id, lat, lng)));
+    }
+
+    // ============================================================================================
+    // ✅ CONSULTA — ¿punto ocupado dentro de la tolerancia?
+    // ============================================================================================
+    public boolean isOccupied(final Double lat, final Double lng) {
+        return lat != null && lng != null && (toleranceMeters == 0
+                ? isOccupiedExact(lat, lng)
+                : isOccupiedWithin(lat, lng));
+    }
+
+    private boolean isOccupiedExact(final double lat, final double lng) {
+        return Optional.ofNullable(cells.get(cellKey(cellOf(lat), cellOf(lng))))
+                .map(bucket -> bucket.stream().anyMatch(p ->
+                        Double.compare(p.latitude(), lat) == 0 && Double.compare(p.longitude(), lng) == 0))
+                .orElse(false);
+    }
+
+    private boolean isOccupiedWithin(final double lat, final double lng) {
+        final double dLat = toleranceMeters / METERS_PER_DEGREE;
+        final double cosLat = Math.cos(Math.toRadians(lat));
+        final double dLng = cosLat > 1e-9 ? Math.min(dLat / cosLat, 180) : 180;
+
+        final long minLng = cellOf(lng - dLng);
+        final long maxLng = cellOf(lng + dLng);
+
+        return LongStream.rangeClosed(cellOf(lat - dLat), cellOf(lat + dLat))
+                .anyMatch(latCell -> LongStream.rangeClosed(minLng, maxLng)
+                        .mapToObj(lngCell -> cells.get(cellKey(latCell, lngCell)))
+                        .filter(bucket -> bucket != null)
+                        .flatMap(Set::stream)
+                        .anyMatch(p -> distanceMeters(lat, lng, p.latitude(), p.longitude()) <= toleranceMeters));
+    }
+
+    public int cellCount() {
+        return cells.size();
+    }
+
+    public int size() {
+        return cells.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // ============================================================================================
+    // ✅ GEOMETRÍA
+    // ============================================================================================
+    private long cellOf(final double degrees) {
+        return (long) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(final long latCell, final long lngCell) {
+        return (latCell << 32) ^ (lngCell & 0xFFFFFFFFL);
+    }
+
+    private static double distanceMeters(final double lat1, final double lng1, final double lat2, final double lng2) {
+        final double dLat = Math.toRadians(lat2 - lat1);
+        final double dLng = Math.toRadians(lng2 - lng1);
+        final double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLng / 2), 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
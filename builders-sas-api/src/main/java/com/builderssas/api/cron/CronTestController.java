@@ -23,14 +23,14 @@ import java.util.stream.Stream;
  *   GET /api/v1/cron/test/start?date=2025-11-12
  *   GET /api/v1/cron/test/finish?date=2025-11-12
  *   GET /api/v1/cron/test/delivery?date=2025-11-12
- *   GET /api/v1/cron/test/progress?date=2025-11-12
+ *   GET /api/v1/cron/test/progress   (sin fecha: órdenes tocadas desde la última ejecución)
  *   GET /api/v1/cron/test/all?date=2025-11-12
  *
  * Cada uno llama a los métodos manuales de ProjectCronTasks:
  *   - runStartCron(date)
  *   - runFinishCron(date)
  *   - runDeliveryCron(date)
- *   - runProgressCron(date)
+ *   - runProgressCron()
  * ============================================================================
  */
 @Slf4j
@@ -81,15 +81,34 @@ public class CronTestController {
         );
     }
 
+    // -------------------------------------------------------------
+    // Variante para transiciones: incluye filas afectadas y duración
+    // -------------------------------------------------------------
+    private Map<String, Object> executeTransition(
+            final String action,
+            final String date,
+            final Function<LocalDate, OrderTransitionResult> transition
+    ) {
+        final OrderTransitionResult result = transition.apply(resolveDate(date));
+
+        return Map.of(
+                "action", action,
+                "date_used", result.date().toString(),
+                "affected", result.affected(),
+                "elapsed_ms", result.elapsedMs(),
+                "status", "OK"
+        );
+    }
+
     // -------------------------------------------------------------
     // START (PENDING → IN_PROGRESS)
     // -------------------------------------------------------------
     @GetMapping("/start")
     public Map<String, Object> start(@RequestParam(required = false) final String date) {
-        return executeCron(
+        return executeTransition(
                 "PENDING → IN_PROGRESS",
                 date,
-                d -> { cron.runStartCron(d); return null; }
+                cron::runStartCron
         );
     }
 
@@ -98,10 +117,10 @@ public class CronTestController {
     // -------------------------------------------------------------
     @GetMapping("/finish")
     public Map<String, Object> finish(@RequestParam(required = false) final String date) {
-        return executeCron(
+        return executeTransition(
                 "IN_PROGRESS → FINISHED",
                 date,
-                d -> { cron.runFinishCron(d); return null; }
+                cron::runFinishCron
         );
     }
 
@@ -121,11 +140,12 @@ public class CronTestController {
     // PROGRESS (recalcular % de proyecto)
     // -------------------------------------------------------------
     @GetMapping("/progress")
-    public Map<String, Object> progress(@RequestParam(required = false) final String date) {
-        return executeCron(
-                "PROJECT PROGRESS UPDATED",
-                date,
-                d -> { cron.runProgressCron(d); return null; }
+    public Map<String, Object> progress() {
+        cron.runProgressCron();
+
+        return Map.of(
+                "action", "PROJECT PROGRESS UPDATED",
+                "status", "OK"
         );
     }
 
@@ -140,7 +160,7 @@ public class CronTestController {
                 d -> { cron.runStartCron(d); return null; },
                 d -> { cron.runFinishCron(d); return null; },
                 d -> { cron.runDeliveryCron(d); return null; },
-                d -> { cron.runProgressCron(d); return null; }
+                d -> { cron.runProgressCron(); return null; }
         ).forEach(fn -> fn.apply(target));
 
         return Map.of(
@@ -0,0 +1,14 @@
+package com.builderssas.api.cron;
+
+import java.time.LocalDate;
+
+/**
+ * Resultado de una transición masiva de estado de órdenes.
+ *
+ * @param date      fecha usada por el cron
+ * @param affected  filas actualizadas
+ * @param elapsedMs duración del UPDATE y de la publicación de eventos; no incluye las
+ *                  notificaciones, que se envían tras el commit en el pool del cron
+ */
+public record OrderTransitionResult(LocalDate date, int affected, long elapsedMs) {
+}
@@ -1,21 +1,32 @@
 package com.builderssas.api.cron;
 
-import com.builderssas.api.domain.model.construction.ConstructionOrder;
+import com.builderssas.api.core.async.ExecutorRegistry;
+import com.builderssas.api.core.async.ExecutorWorkload;
+import com.builderssas.api.domain.model.constructionorder.event.OrderStatusChangedEvent;
 import com.builderssas.api.domain.model.enums.OrderStatus;
-import com.builderssas.api.repository.ConstructionOrderRepository;
-import com.builderssas.api.repository.ProjectRepository;
+import com.builderssas.api.domain.model.notification.NotificationDto;
 import com.builderssas.api.services.notification.NotificationService;
+import com.builderssas.api.services.project.ProjectProgressTracker;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 /**
  * ======================================================================
@@ -28,6 +39,17 @@ import java.util.Optional;
  *
  *  Esto permite pruebas controladas sin afectar el cron real.
  *
+ *  Las transiciones de estado (START / FINISH) son set-based: un único
+ *  UPDATE ... RETURNING por fecha, sin cargar entidades ni hacer dirty-check.
+ *
+ *  Progreso y fecha de entrega se mantienen de forma incremental por eventos
+ *  (ProjectProgressTracker); DELIVERY y PROGRESS son ahora verificaciones de
+ *  consistencia que solo escriben los proyectos con diferencias.
+ *
+ *  El fan-out de notificaciones de las transiciones se ejecuta tras el
+ *  commit en el pool "cron" del ExecutorRegistry: la conexión se libera
+ *  antes y solo se notifican cambios confirmados.
+ *
  * ======================================================================
  */
 @Slf4j
@@ -35,9 +57,87 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ProjectCronTasks {
 
-    private final ConstructionOrderRepository orderRepo;
-    private final ProjectRepository projectRepo;
     private final NotificationService notificationService;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ApplicationEventPublisher events;
+    private final ProjectProgressTracker progressTracker;
+    private final ExecutorRegistry executors;
+
+    /** Máximo de ids por notificación de transición. */
+    private static final int NOTIFICATION_CHUNK_SIZE = 500;
+
+    private static final String TRANSITION_BY_START_SQL = """
+            UPDATE construction_orders
+               SET order_status = :toStatus,
+                   updated_at = :now
+             WHERE scheduled_start_date = :date
+               AND order_status = :fromStatus
+            RETURNING id, project_id, construction_type_id, requested_by_user_id
+            """;
+
+    private static final String TRANSITION_BY_END_SQL = """
+            UPDATE construction_orders
+               SET order_status = :toStatus,
+                   updated_at = :now
+             WHERE scheduled_end_date = :date
+               AND order_status = :fromStatus
+            RETURNING id, project_id, construction_type_id, requested_by_user_id
+            """;
+
+    /**
+     * Verificación de progreso de los proyectos con órdenes tocadas desde :since,
+     * en una sola sentencia: agregación agrupada por proyecto + UPDATE ... FROM.
+     * Solo escribe (y devuelve) los proyectos cuyo valor guardado difiere.
+     */
+    private static final String RECONCILE_PROGRESS_SQL = """
+            UPDATE projects p
+               SET progress_percentage = agg.finished * 100.0 / agg.total
+              FROM (SELECT o.project_id,
+                           COUNT(*) AS total,
+                           COUNT(*) FILTER (WHERE o.order_status = 'FINISHED') AS finished
+                      FROM construction_orders o
+                     WHERE o.project_id IN (SELECT t.project_id
+                                              FROM construction_orders t
+                                             WHERE t.updated_at >= :since
+                                                OR t.created_at >= :since)
+                     GROUP BY o.project_id) agg
+             WHERE p.id = agg.project_id
+               AND p.progress_percentage IS DISTINCT FROM agg.finished * 100.0 / agg.total
+            RETURNING p.id, agg.total, agg.finished
+            """;
+
+    /**
+     * Verificación de fecha de entrega (MAX(scheduledEndDate) + 1) de los proyectos
+     * con órdenes finalizadas en :date. Solo escribe los proyectos con diferencias.
+     */
+    private static final String RECONCILE_DELIVERY_SQL = """
+            UPDATE projects p
+               SET project_end_date = agg.last_end + 1
+              FROM (SELECT o.project_id, MAX(o.scheduled_end_date) AS last_end
+                      FROM construction_orders o
+                     WHERE o.project_id IN (SELECT t.project_id
+                                              FROM construction_orders t
+                                             WHERE t.scheduled_end_date = :date
+                                               AND t.order_status = 'FINISHED')
+                     GROUP BY o.project_id) agg
+             WHERE p.id = agg.project_id
+               AND p.project_end_date IS DISTINCT FROM agg.last_end + 1
+            RETURNING p.id, p.project_end_date
+            """;
+
+    /**
+     * Solape aplicado al registrar la última corrida de progreso, para cubrir
+     * órdenes cuyo updated_at quedó justo en el borde (recalcular es idempotente).
+     */
+    private static final long PROGRESS_OVERLAP_MINUTES = 5;
+
+    /** Inicio de la última corrida de progreso; la primera corrida recalcula todo. */
+    private final AtomicReference<LocalDateTime> lastProgressRun =
+            new AtomicReference<>(LocalDateTime.of(1970, 1, 1, 0, 0));
+
+    /** Fila devuelta por el RETURNING de una transición. */
+    private record TransitionedOrder(Long id, Long projectId, Long constructionTypeId, Long requestedById) {
+    }
 
     // ======================================================================
     // 1. PENDING → IN_PROGRESS
@@ -52,23 +152,14 @@ public class ProjectCronTasks {
 
     /** Versión manual para pruebas */
     @Transactional
-    public void runStartCron(LocalDate date) {
+    public OrderTransitionResult runStartCron(LocalDate date) {
 
-        log.info("[CRON START] Buscando órdenes con startDate={} y estado=PENDING", date);
+        log.info("[CRON START] Transición PENDING → IN_PROGRESS para startDate={}", date);
 
-        List<ConstructionOrder> toStart =
-                orderRepo.findByScheduledStartDate(date).stream()
-                        .filter(o -> o.getOrderStatus() == OrderStatus.PENDING)
-                        .toList();
-
-        toStart.forEach(order -> {
-            order.setOrderStatus(OrderStatus.IN_PROGRESS);
-            orderRepo.save(order);
-
-            log.info("[CRON START] Orden {} → IN_PROGRESS", order.getId());
-        });
+        final var result = transition(TRANSITION_BY_START_SQL, date, OrderStatus.PENDING, OrderStatus.IN_PROGRESS, "ORDERS_STARTED");
 
-        log.info("[CRON START] Finalizado. Total: {}", toStart.size());
+        log.info("[CRON START] Finalizado. Total: {} en {} ms", result.affected(), result.elapsedMs());
+        return result;
     }
 
     // ======================================================================
@@ -84,23 +175,105 @@ public class ProjectCronTasks {
 
     /** ✅ Versión manual */
     @Transactional
-    public void runFinishCron(LocalDate date) {
+    public OrderTransitionResult runFinishCron(LocalDate date) {
 
-        log.info("[CRON FINISH] Buscando órdenes IN_PROGRESS con endDate={}", date);
+        log.info("[CRON FINISH] Transición IN_PROGRESS → FINISHED para endDate={}", date);
+
+        final var result = transition(TRANSITION_BY_END_SQL, date, OrderStatus.IN_PROGRESS, OrderStatus.FINISHED, "ORDERS_FINISHED");
+
+        log.info("[CRON FINISH] Finalizado. Total: {} en {} ms", result.affected(), result.elapsedMs());
+        return result;
+    }
+
+    // ======================================================================
+    // TRANSICIÓN SET-BASED + NOTIFICACIÓN POR LOTES
+    // ======================================================================
 
-        List<ConstructionOrder> ending =
-                orderRepo.findByScheduledEndDate(date).stream()
-                        .filter(o -> o.getOrderStatus() == OrderStatus.IN_PROGRESS)
-                        .toList();
+    private OrderTransitionResult transition(
+            String sql,
+            LocalDate date,
+            OrderStatus from,
+            OrderStatus to,
+            String eventType
+    ) {
+        final long startedAt = System.nanoTime();
+
+        final List<TransitionedOrder> changed = jdbc.query(sql,
+                Map.of("date", date, "fromStatus", from.name(), "toStatus", to.name(), "now", LocalDateTime.now()),
+                (rs, n) -> new TransitionedOrder(
+                        rs.getLong("id"),
+                        rs.getLong("project_id"),
+                        rs.getLong("construction_type_id"),
+                        rs.getLong("requested_by_user_id")));
+
+        // Evento por (proyecto, tipo) (se procesa tras el commit)
+        changed.stream()
+                .collect(Collectors.groupingBy(TransitionedOrder::projectId,
+                        Collectors.groupingBy(TransitionedOrder::constructionTypeId, Collectors.counting())))
+                .forEach((projectId, byType) -> byType.forEach((typeId, count) ->
+                        events.publishEvent(new OrderStatusChangedEvent(projectId, typeId, from, to, count.intValue()))));
+
+        // Notificaciones (global + por usuario) tras el commit, fuera del hilo del cron
+        if (!changed.isEmpty()) {
+            afterCommit(() -> notifyTransition(changed, eventType, date, to));
+        }
+
+        return new OrderTransitionResult(date, changed.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
 
-        ending.forEach(order -> {
-            order.setOrderStatus(OrderStatus.FINISHED);
-            orderRepo.save(order);
+    private void notifyTransition(List<TransitionedOrder> changed, String eventType, LocalDate date, OrderStatus to) {
+        // Notificación GLOBAL por bloques de ids
+        chunks(changed.stream().map(TransitionedOrder::id).toList())
+                .forEach(ids -> notificationService.send(transitionNotification(eventType, date, to, ids)));
+
+        // Notificación por usuario dueño de las órdenes
+        changed.stream()
+                .collect(Collectors.groupingBy(TransitionedOrder::requestedById,
+                        Collectors.mapping(TransitionedOrder::id, Collectors.toList())))
+                .forEach((userId, userOrderIds) -> chunks(userOrderIds)
+                        .forEach(ids -> notificationService.sendForUser(transitionNotification(eventType, date, to, ids), userId)));
+    }
 
-            log.info("[CRON FINISH] Orden {} FINALIZADA", order.getId());
+    /**
+     * Ejecuta la tarea en el pool "cron" cuando la transacción confirma; sin
+     * transacción activa se despacha de inmediato. Con el pool saturado la
+     * tarea corre en el hilo actual (la transacción ya está confirmada).
+     */
+    private void afterCommit(Runnable task) {
+        final Runnable dispatch = () -> {
+            try {
+                executors.get(ExecutorWorkload.CRON).execute(task);
+            } catch (RejectedExecutionException ex) {
+                log.warn("[CRON] Pool cron saturado, notificaciones en el hilo actual");
+                task.run();
+            }
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch.run();
+            }
         });
+    }
 
-        log.info("[CRON FINISH] Finalizado. Total: {}", ending.size());
+    private NotificationDto transitionNotification(String eventType, LocalDate date, OrderStatus to, List<Long> ids) {
+        return NotificationDto.builder()
+                .eventType(eventType)
+                .payload("%d órdenes → %s (fecha %s): %s".formatted(ids.size(), to, date, ids))
+                .build();
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        return IntStream.range(0, (items.size() + NOTIFICATION_CHUNK_SIZE - 1) / NOTIFICATION_CHUNK_SIZE)
+                .mapToObj(i -> items.subList(i * NOTIFICATION_CHUNK_SIZE,
+                        Math.min(items.size(), (i + 1) * NOTIFICATION_CHUNK_SIZE)))
+                .toList();
     }
 
     // ======================================================================
@@ -114,35 +287,18 @@ public class ProjectCronTasks {
         runDeliveryCron(LocalDate.now());
     }
 
-    /** Versión manual */
+    /** Versión manual — verificación de consistencia */
     @Transactional
     public void runDeliveryCron(LocalDate date) {
 
-        log.info("[CRON DELIVERY] Recalculando entrega para proyectos afectados en {}", date);
-
-        List<Long> projectIds =
-                orderRepo.findByScheduledEndDate(date).stream()
-                        .filter(o -> o.getOrderStatus() == OrderStatus.FINISHED)
-                        .map(o -> o.getProject().getId())
-                        .distinct()
-                        .toList();
-
-        projectIds.forEach(pid -> {
+        log.info("[CRON DELIVERY] Verificando entrega de proyectos con órdenes finalizadas en {}", date);
 
-            LocalDate lastEnd =
-                    orderRepo.findLastEndDate(pid)
-                            .map(d -> d.plusDays(1))
-                            .orElse(null);
+        final int drifted = jdbc.query(RECONCILE_DELIVERY_SQL, Map.of("date", date), (rs, n) -> {
+            log.info("[CRON DELIVERY] Proyecto {} → nueva entrega = {}", rs.getLong("id"), rs.getDate("project_end_date"));
+            return rs.getLong("id");
+        }).size();
 
-            projectRepo.findById(pid).ifPresent(project -> {
-                project.setProjectEndDate(lastEnd);
-                projectRepo.save(project);
-
-                log.info("[CRON DELIVERY] Proyecto {} → nueva entrega = {}", pid, lastEnd);
-            });
-        });
-
-        log.info("[CRON DELIVERY] Finalizado. {} proyectos actualizados.", projectIds.size());
+        log.info("[CRON DELIVERY] Finalizado. {} proyectos corregidos.", drifted);
     }
 
     // ======================================================================
@@ -153,30 +309,34 @@ public class ProjectCronTasks {
     @Scheduled(cron = "0 10 23 * * *", zone = "America/Bogota")
     @Transactional
     public void updateProjectProgressPercentage() {
-        runProgressCron(LocalDate.now());
+        runProgressCron();
     }
 
-    /**  Versión manual */
+    /**
+     *  Versión manual. Sin fecha: el alcance son los proyectos con órdenes
+     *  tocadas (updated_at) desde la última ejecución confirmada.
+     */
     @Transactional
-    public void runProgressCron(LocalDate date) {
-
-        log.info("[CRON PROGRESS] Recalculando progreso para todos los proyectos…");
-
-        projectRepo.findAll().forEach(project -> {
-
-            long total = orderRepo.countByProject(project.getId());
+    public void runProgressCron() {
 
-            if (total == 0) return;
+        final var since = lastProgressRun.get();
+        final var runStartedAt = LocalDateTime.now();
 
-            long finished = orderRepo.countFinishedByProject(project.getId());
-            double progress = (finished * 100.0) / total;
+        log.info("[CRON PROGRESS] Verificando progreso de proyectos con órdenes tocadas desde {}", since);
 
-            project.setProgressPercentage(progress);
-            projectRepo.save(project);
+        final int drifted = jdbc.query(RECONCILE_PROGRESS_SQL, Map.of("since", since), (rs, n) -> {
+            progressTracker.resync(rs.getLong("id"), rs.getLong("total"), rs.getLong("finished"));
+            return rs.getLong("id");
+        }).size();
 
-            log.info("[CRON PROGRESS] Proyecto {} → {}%", project.getId(), progress);
+        // El marcador solo avanza si el UPDATE quedó confirmado
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastProgressRun.set(runStartedAt.minusMinutes(PROGRESS_OVERLAP_MINUTES));
+            }
         });
 
-        log.info("[CRON PROGRESS] Finalizado.");
+        log.info("[CRON PROGRESS] Finalizado. {} proyectos corregidos.", drifted);
     }
 }
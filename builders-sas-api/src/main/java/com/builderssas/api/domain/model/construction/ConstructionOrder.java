@@ -51,10 +51,14 @@ import java.util.List;
  * ----------------------------------------------------------------------------
  * • Índices en estado, fecha de solicitud y proyecto para optimizar:
  *      - Cron de actualización
+ *      - Recalculo incremental de progreso (created_at / updated_at)
+ *      - Paginación keyset por (scheduled_start_date, id)
  *      - Consultas masivas
  *      - Dashboards
  * • UniqueConstraint sobre (project_id, latitude, longitude) para garantizar
  *   que cada proyecto tenga coordenadas únicas para cada construcción.
+ * • UniqueConstraint sobre construction_request_id: una orden por solicitud
+ *   (la cola de órdenes consulta por esta columna antes de crear la orden).
  *
  * ============================================================================
  */
@@ -65,12 +69,19 @@ import java.util.List;
                 @UniqueConstraint(
                         name = "uq_orders_project_coordinates",
                         columnNames = {"project_id", "latitude", "longitude"}
+                ),
+                @UniqueConstraint(
+                        name = "uq_orders_request",
+                        columnNames = "construction_request_id"
                 )
         },
         indexes = {
                 @Index(name = "idx_orders_status", columnList = "order_status"),
                 @Index(name = "idx_orders_requested_date", columnList = "requested_date"),
-                @Index(name = "idx_orders_project", columnList = "project_id")
+                @Index(name = "idx_orders_project", columnList = "project_id"),
+                @Index(name = "idx_orders_created_at", columnList = "created_at"),
+                @Index(name = "idx_orders_updated_at", columnList = "updated_at"),
+                @Index(name = "idx_orders_start_date_id", columnList = "scheduled_start_date, id")
         }
 )
 @Getter
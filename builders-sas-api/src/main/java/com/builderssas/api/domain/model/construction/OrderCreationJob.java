@@ -0,0 +1,62 @@
+package com.builderssas.api.domain.model.construction;
+
+import com.builderssas.api.domain.model.enums.OrderJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trabajo pendiente de creación de orden para una solicitud PENDING.
+ *
+ * Se inserta en la misma transacción que la solicitud, de modo que ninguna
+ * solicitud aceptada se pierde si el proceso cae antes de crear su orden.
+ * Los workers de OrderCreationJobQueue lo reclaman con FOR UPDATE SKIP LOCKED
+ * y escriben/borran las filas con JDBC; la entidad existe para que el esquema
+ * quede declarado junto al resto del modelo.
+ */
+@Entity
+@Table(
+        name = "order_creation_jobs",
+        uniqueConstraints = @UniqueConstraint(name = "uq_order_jobs_request", columnNames = "request_id"),
+        indexes = @Index(name = "idx_order_jobs_status_next", columnList = "status, next_attempt_at")
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString(onlyExplicitlyIncluded = true)
+public class OrderCreationJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    @ToString.Include
+    private Long id;
+
+    @Column(name = "request_id", nullable = false)
+    @ToString.Include
+    private Long requestId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OrderJobStatus status;
+
+    /** Intentos iniciados; también actúa como token de arrendamiento. */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", length = 2000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
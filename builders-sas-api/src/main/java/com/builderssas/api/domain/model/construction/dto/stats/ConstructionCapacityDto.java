@@ -0,0 +1,26 @@
+package com.builderssas.api.domain.model.construction.dto.stats;
+
+import lombok.*;
+
+/**
+ * Capacidad restante de un tipo de construcción con el stock actual.
+ *
+ * maxAdditionalOrders = null → el tipo no requiere materiales (sin límite por stock).
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConstructionCapacityDto {
+
+    private Long constructionTypeId;
+    private String constructionTypeName;
+    private Long maxAdditionalOrders;
+
+    /** Material que limita la capacidad (el primero en agotarse). */
+    private Long bottleneckMaterialId;
+    private String bottleneckMaterialName;
+    private Double bottleneckStock;
+    private Double bottleneckRequiredPerOrder;
+}
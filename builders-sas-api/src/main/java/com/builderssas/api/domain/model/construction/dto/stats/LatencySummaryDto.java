@@ -0,0 +1,21 @@
+package com.builderssas.api.domain.model.construction.dto.stats;
+
+import lombok.*;
+
+/**
+ * Resumen de un histograma de latencias (milisegundos).
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencySummaryDto {
+
+    private Long count;
+    private Double meanMs;
+    private Double p50Ms;
+    private Double p90Ms;
+    private Double p99Ms;
+    private Double maxMs;
+}
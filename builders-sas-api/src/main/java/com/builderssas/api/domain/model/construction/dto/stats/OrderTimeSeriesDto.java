@@ -0,0 +1,36 @@
+package com.builderssas.api.domain.model.construction.dto.stats;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Series temporales de órdenes en una ventana móvil.
+ *
+ * bucketStarts[i] es el inicio de la cubeta i; counters.get(serie).get(i) su valor.
+ * latencies resume toda la ventana (limitada a la retención de histogramas).
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTimeSeriesDto {
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Integer bucketMinutes;
+
+    private List<LocalDateTime> bucketStarts;
+
+    /** Ej.: ORDERS_CREATED → [3, 0, 5, ...] */
+    private Map<String, List<Long>> counters;
+
+    /** Totales de la ventana por serie. */
+    private Map<String, Long> totals;
+
+    /** Ej.: STOCK_RESERVATION → {p50Ms, p99Ms, ...} */
+    private Map<String, LatencySummaryDto> latencies;
+}
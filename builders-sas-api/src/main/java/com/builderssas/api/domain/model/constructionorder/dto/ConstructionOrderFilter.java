@@ -0,0 +1,24 @@
+package com.builderssas.api.domain.model.constructionorder.dto;
+
+import com.builderssas.api.domain.model.enums.OrderStatus;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Filtros opcionales del listado paginado de órdenes (null = sin filtro).
+ * El rango de fechas aplica sobre scheduledStartDate, ambos extremos incluidos.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConstructionOrderFilter {
+
+    private OrderStatus status;
+    private Long projectId;
+    private Long constructionTypeId;
+    private LocalDate from;
+    private LocalDate to;
+}
@@ -0,0 +1,23 @@
+package com.builderssas.api.domain.model.constructionorder.event;
+
+import com.builderssas.api.domain.model.enums.OrderStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Evento de dominio: se guardó una nueva orden de construcción.
+ *
+ * @param orderId            id de la orden creada
+ * @param projectId          proyecto al que pertenece
+ * @param constructionTypeId tipo de construcción de la orden
+ * @param status             estado inicial de la orden
+ * @param scheduledEndDate   fecha final programada (incluye el día de entrega)
+ */
+public record OrderCreatedEvent(
+        Long orderId,
+        Long projectId,
+        Long constructionTypeId,
+        OrderStatus status,
+        LocalDate scheduledEndDate
+) {
+}
@@ -0,0 +1,18 @@
+package com.builderssas.api.domain.model.constructionorder.event;
+
+import com.builderssas.api.domain.model.enums.OrderStatus;
+
+/**
+ * Evento de dominio: un grupo de órdenes de un mismo proyecto y tipo cambió de estado.
+ *
+ * Las transiciones del cron son masivas, por eso el evento agrupa por
+ * (proyecto, tipo de construcción) en lugar de emitirse orden por orden.
+ *
+ * @param projectId          proyecto afectado
+ * @param constructionTypeId tipo de construcción de las órdenes
+ * @param from               estado anterior
+ * @param to                 estado nuevo
+ * @param count              número de órdenes que cambiaron
+ */
+public record OrderStatusChangedEvent(Long projectId, Long constructionTypeId, OrderStatus from, OrderStatus to, int count) {
+}
@@ -0,0 +1,19 @@
+package com.builderssas.api.domain.model.constructionrequest.dto;
+
+import lombok.*;
+
+/**
+ * Resultado de un ítem dentro de una carga masiva de solicitudes.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConstructionRequestBatchItemDto {
+
+    private int index;              // Posición del ítem en el lote recibido
+    private Long requestId;         // null si el ítem no llegó a insertarse
+    private String status;          // PENDING / REJECTED / INVALID
+    private String observations;    // Motivo del rechazo o de la invalidez
+}
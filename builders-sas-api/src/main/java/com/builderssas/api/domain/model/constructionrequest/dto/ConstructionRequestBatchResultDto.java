@@ -0,0 +1,23 @@
+package com.builderssas.api.domain.model.constructionrequest.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Resumen de una carga masiva de solicitudes con el detalle por ítem.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConstructionRequestBatchResultDto {
+
+    private int total;
+    private long pending;
+    private long rejected;
+    private long invalid;
+
+    private List<ConstructionRequestBatchItemDto> items;
+}
@@ -0,0 +1,15 @@
+package com.builderssas.api.domain.model.enums;
+
+/**
+ * Estados de un trabajo de creación de orden (tabla order_creation_jobs).
+ *
+ * - QUEUED: esperando a un worker (o a que venza el backoff de un reintento).
+ * - RUNNING: reclamado por un worker hasta locked_until; si el proceso muere,
+ *   el arrendamiento vence y otro worker lo vuelve a reclamar.
+ *
+ * Al resolverse la solicitud (APPROVED / FAILED) la fila se elimina.
+ */
+public enum OrderJobStatus {
+    QUEUED,
+    RUNNING
+}
@@ -24,4 +24,10 @@ public class NotificationDto {
 
     /* MODIFICACIÓN — requerido para storage por usuario */
     private Long userId;
+
+    /**
+     * Identidad del evento: se asigna una vez (NotificationServiceImpl) y la comparten
+     * la copia global y la copia por usuario; el webhook deduplica por este valor.
+     */
+    private String eventId;
 }
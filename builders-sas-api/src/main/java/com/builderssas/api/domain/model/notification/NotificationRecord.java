@@ -0,0 +1,49 @@
+package com.builderssas.api.domain.model.notification;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila del outbox de notificaciones (tabla append-only).
+ *
+ * userId = null → notificación global.
+ * La escritura se hace en batch JDBC desde NotificationStorage; la entidad
+ * existe para que el esquema quede declarado junto al resto del modelo.
+ */
+@Entity
+@Table(
+        name = "notification_outbox",
+        indexes = {
+                @Index(name = "idx_outbox_user_id", columnList = "user_id, id"),
+                @Index(name = "idx_outbox_created_at", columnList = "created_at")
+        }
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString(onlyExplicitlyIncluded = true)
+public class NotificationRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    @ToString.Include
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 80)
+    private String eventType;
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
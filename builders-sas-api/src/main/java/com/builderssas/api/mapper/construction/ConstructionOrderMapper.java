@@ -2,6 +2,7 @@ package com.builderssas.api.mapper.construction;
 
 import com.builderssas.api.domain.model.construction.ConstructionOrder;
 import com.builderssas.api.domain.model.constructionorder.dto.ConstructionOrderDto;
+import com.builderssas.api.repository.views.OrderRowView;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -37,4 +38,37 @@ public class ConstructionOrderMapper {
 
                 .build();
     }
+
+    /**
+     * Mapeo desde la proyección escalar (lecturas sin entidades gestionadas).
+     * materialsConsumption es @Transient en la entidad, así que en lecturas
+     * desde BD también queda en null: el JSON resultante es el mismo.
+     */
+    public ConstructionOrderDto toDto(OrderRowView r) {
+
+        return ConstructionOrderDto.builder()
+                .id(r.getId())
+
+                .projectId(r.getProjectId())
+                .projectName(r.getProjectName())
+
+                .constructionTypeId(r.getConstructionTypeId())
+                .constructionTypeName(r.getConstructionTypeName())
+
+                .requestedByUserId(r.getRequestedByUserId())
+                .requestedByFirstname(r.getRequestedByFirstname())
+                .requestedByLastname(r.getRequestedByLastname())
+
+                .latitude(r.getLatitude())
+                .longitude(r.getLongitude())
+
+                .scheduledStartDate(r.getScheduledStartDate())
+                .scheduledEndDate(r.getScheduledEndDate())
+
+                .orderStatus(r.getOrderStatus().name())
+
+                .observations(r.getObservations())
+
+                .build();
+    }
 }
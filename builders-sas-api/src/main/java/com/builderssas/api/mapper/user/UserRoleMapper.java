@@ -5,6 +5,7 @@ import com.builderssas.api.domain.model.user.UserRole;
 import com.builderssas.api.domain.model.user.dto.UserRoleDto;
 import com.builderssas.api.domain.model.user.dto.CreateUserRoleDto;
 import com.builderssas.api.domain.model.user.dto.UpdateUserRoleDto;
+import com.builderssas.api.repository.views.UserRoleRowView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -33,4 +34,18 @@ public interface UserRoleMapper extends
 
     @Override
     List<UserRoleDto> toDtoList(List<UserRole> entities);
+
+    /** Proyección escalar → DTO (sin entidades). */
+    default UserRoleDto toDto(UserRoleRowView row) {
+        return UserRoleDto.builder()
+                .id(row.getId())
+                .userId(row.getUserId())
+                .roleId(row.getRoleId())
+                .assignedAt(row.getAssignedAt())
+                .build();
+    }
+
+    default List<UserRoleDto> toRowDtoList(List<UserRoleRowView> rows) {
+        return rows.stream().map(this::toDto).toList();
+    }
 }
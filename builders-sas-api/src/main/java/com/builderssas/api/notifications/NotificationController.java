@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Controlador REST para notificaciones.
@@ -24,11 +25,17 @@ public class NotificationController {
 
     /**
      * Método original.
-     * Se conserva exactamente igual.
+     * Sin page/size devuelve la ventana retenida completa (acotada por el outbox);
+     * con page/size devuelve solo esa página.
      */
     @GetMapping
-    public List<NotificationDto> getAll() {
-        List<NotificationDto> list = storage.getAll();
+    public List<NotificationDto> getAll(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size
+    ) {
+        List<NotificationDto> list = Optional.ofNullable(size)
+                .map(s -> storage.getAll(Optional.ofNullable(page).orElse(0), s))
+                .orElseGet(storage::getAll);
         log.info("📡 Notificaciones globales retornadas: {}", list.size());
         return list;
     }
@@ -39,8 +46,14 @@ public class NotificationController {
      * Se agrega sin alterar el comportamiento previo.
      */
     @GetMapping("/by-user")
-    public List<NotificationDto> getByUser(@RequestParam Long userId) {
-        List<NotificationDto> list = storage.getForUser(userId);
+    public List<NotificationDto> getByUser(
+            @RequestParam Long userId,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size
+    ) {
+        List<NotificationDto> list = Optional.ofNullable(size)
+                .map(s -> storage.getForUser(userId, Optional.ofNullable(page).orElse(0), s))
+                .orElseGet(() -> storage.getForUser(userId));
         return list;
     }
 
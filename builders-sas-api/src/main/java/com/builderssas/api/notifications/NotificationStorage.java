@@ -1,85 +1,314 @@
 package com.builderssas.api.notifications;
 
+import com.builderssas.api.config.NotificationOutboxConfig;
+import com.builderssas.api.core.concurrent.RingBuffer;
 import com.builderssas.api.domain.model.notification.NotificationDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
 
 /**
  * NotificationStorage
  *
- * Esta clase originalmente almacenaba todas las notificaciones en una sola lista global.
- * Para permitir notificaciones por usuario, se agrega un almacenamiento adicional usando
- * un Map<Long, List<NotificationDto>> sin eliminar el almacenamiento original.
+ * Outbox acotado de notificaciones (global + por usuario):
  *
- * Esto mantiene compatibilidad hacia atrás y permite incorporar el nuevo comportamiento
- * sin afectar ninguna otra parte del sistema.
+ *  - Memoria: un buffer circular global y uno por usuario, de capacidad fija.
+ *    add/addForUser son O(1) y nunca copian el arreglo completo.
+ *  - Durabilidad: cada notificación se encola y un volcado periódico la escribe
+ *    en la tabla append-only notification_outbox con un único batch JDBC.
+ *    Si el INSERT falla (BD caída), el lote se conserva y se reintenta, en orden,
+ *    en los siguientes volcados; solo se descartan filas si lo retenido supera
+ *    notification.outbox.max-unwritten-rows. Al arrancar, los buffers se
+ *    reconstruyen desde la tabla.
+ *  - Retención: por cantidad (capacidad de los buffers y máximo de filas) y por
+ *    antigüedad (notification.outbox.retention-days), en memoria y en la tabla.
+ *  - Lecturas paginadas: solo se copia la página solicitada.
+ *
+ * La API pública se conserva para no afectar a NotificationServiceImpl ni al controlador.
  */
+@Slf4j
 @Component
 public class NotificationStorage {
 
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO notification_outbox (event_type, payload, user_id, created_at)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String LOAD_GLOBAL_SQL = """
+            SELECT * FROM (
+                SELECT id, event_type, payload, user_id, created_at
+                  FROM notification_outbox
+                 WHERE user_id IS NULL
+                   AND created_at >= ?
+                 ORDER BY id DESC
+                 LIMIT ?) recent
+             ORDER BY id
+            """;
+
+    private static final String LOAD_PER_USER_SQL = """
+            SELECT id, event_type, payload, user_id, created_at
+              FROM (SELECT o.*,
+                           ROW_NUMBER() OVER (PARTITION BY o.user_id ORDER BY o.id DESC) AS rn
+                      FROM notification_outbox o
+                     WHERE o.user_id IS NOT NULL
+                       AND o.created_at >= ?) ranked
+             WHERE rn <= ?
+             ORDER BY id
+            """;
+
+    private static final String PRUNE_BY_AGE_SQL = """
+            DELETE FROM notification_outbox WHERE created_at < ?
+            """;
+
+    private static final String PRUNE_BY_COUNT_SQL = """
+            DELETE FROM notification_outbox
+             WHERE id <= (SELECT id FROM notification_outbox ORDER BY id DESC OFFSET ? LIMIT 1)
+            """;
+
+    private final NotificationOutboxConfig config;
+    private final JdbcTemplate jdbc;
+
     /**
-     * Almacenamiento original (global).
-     * No se elimina para garantizar compatibilidad.
+     * Almacenamiento global (acotado).
      */
-    private final List<NotificationDto> list = new CopyOnWriteArrayList<>();
+    private final RingBuffer<NotificationDto> global;
 
     /**
-     * MODIFICACIÓN:
-     * Nuevo almacenamiento por usuario sin eliminar el global.
+     * Almacenamiento por usuario (acotado por usuario).
      */
-    private final Map<Long, List<NotificationDto>> userStorage = new ConcurrentHashMap<>();
+    private final Map<Long, RingBuffer<NotificationDto>> userStorage = new ConcurrentHashMap<>();
 
     /**
-     * Método original. Sin cambios.
+     * Notificaciones pendientes de escribir en la tabla (userId null = global).
      */
+    private final Queue<PendingRow> pending = new ConcurrentLinkedQueue<>();
+
+    private record PendingRow(Long userId, NotificationDto dto) {
+    }
+
+    /**
+     * Lotes drenados de {@link #pending} aún no escritos (incluye los que fallaron).
+     * Solo se accede dentro de flush() (sincronizado).
+     */
+    private final Deque<List<PendingRow>> unwritten = new ArrayDeque<>();
+    private int unwrittenRows;
+
+    public NotificationStorage(final NotificationOutboxConfig config, final JdbcTemplate jdbc) {
+        this.config = config;
+        this.jdbc = jdbc;
+        this.global = new RingBuffer<>(config.getGlobalCapacity());
+    }
+
+    // ============================================================================================
+    // ✅ ESCRITURA — O(1) en memoria + encolado para la tabla
+    // ============================================================================================
     public void add(NotificationDto dto) {
-        list.add(dto);
+        global.add(dto);
+        pending.add(new PendingRow(null, dto));
     }
 
     /**
-     * MODIFICACIÓN:
      * Guardar notificación asociada a un usuario específico.
      */
     public void addForUser(Long userId, NotificationDto dto) {
-        userStorage
-                .computeIfAbsent(userId, k -> new CopyOnWriteArrayList<>())
-                .add(dto);
+        userBuffer(userId).add(dto);
+        pending.add(new PendingRow(userId, dto));
     }
 
-    /**
-     * Método original. Sin cambios.
-     */
+    // ============================================================================================
+    // ✅ LECTURA — ventana retenida completa (acotada) o paginada
+    // ============================================================================================
     public List<NotificationDto> getAll() {
-        return List.copyOf(list);
+        return global.snapshot();
+    }
+
+    public List<NotificationDto> getAll(int page, int size) {
+        return pageOf(global, page, size);
     }
 
     /**
-     * MODIFICACIÓN:
-     * Retornar COPIA INMUTABLE de la lista de ese usuario
-     * para evitar exposición del almacenamiento interno.
+     * Retornar copia inmutable de la ventana retenida de ese usuario.
      */
     public List<NotificationDto> getForUser(Long userId) {
-        return userStorage.containsKey(userId)
-                ? List.copyOf(userStorage.get(userId))
-                : List.of();
+        return Optional.ofNullable(userStorage.get(userId))
+                .map(RingBuffer::snapshot)
+                .orElse(List.of());
     }
 
-    /**
-     * Método original. Sin cambios.
-     */
+    public List<NotificationDto> getForUser(Long userId, int page, int size) {
+        return Optional.ofNullable(userStorage.get(userId))
+                .map(buffer -> pageOf(buffer, page, size))
+                .orElse(List.of());
+    }
+
+    // ============================================================================================
+    // ✅ LIMPIEZA — memoria y tabla
+    // ============================================================================================
     public void clear() {
-        list.clear();
+        flush();
+        global.clear();
+        jdbc.update("DELETE FROM notification_outbox WHERE user_id IS NULL");
     }
 
     /**
-     * MODIFICACIÓN:
      * Eliminar todas las notificaciones de un usuario específico.
      */
     public void clearForUser(Long userId) {
+        flush();
         userStorage.remove(userId);
+        jdbc.update("DELETE FROM notification_outbox WHERE user_id = ?", userId);
+    }
+
+    // ============================================================================================
+    // ✅ DURABILIDAD — volcado agrupado, carga al arrancar y retención
+    // ============================================================================================
+    @Scheduled(fixedDelayString = "#{@notificationOutboxConfig.flushIntervalMs}")
+    public synchronized void flush() {
+        Stream.generate(this::drainBatch)
+                .takeWhile(batch -> !batch.isEmpty())
+                .forEach(batch -> {
+                    unwritten.addLast(batch);
+                    unwrittenRows += batch.size();
+                });
+
+        // En orden; el primer fallo detiene el volcado y el lote queda para el siguiente
+        Stream.generate(unwritten::peekFirst)
+                .takeWhile(Objects::nonNull)
+                .takeWhile(this::writeBatch)
+                .forEach(written -> unwrittenRows -= unwritten.pollFirst().size());
+
+        trimUnwritten();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        Optional.of(unwrittenRows)
+                .filter(rows -> rows > 0)
+                .ifPresent(rows -> log.error("❌ Apagado con {} notificaciones sin escribir en el outbox", rows));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        final var cutoff = Timestamp.valueOf(retentionCutoff());
+
+        jdbc.query(LOAD_GLOBAL_SQL, (ResultSet rs) -> {
+            global.add(toDto(rs));
+        }, cutoff, config.getGlobalCapacity());
+
+        jdbc.query(LOAD_PER_USER_SQL, (ResultSet rs) -> {
+            userBuffer(rs.getLong("user_id")).add(toDto(rs));
+        }, cutoff, config.getPerUserCapacity());
+
+        log.info("🔔 Outbox cargado: {} globales, {} usuarios", global.size(), userStorage.size());
+    }
+
+    @Scheduled(cron = "0 15 * * * *")
+    public void prune() {
+        final var cutoff = retentionCutoff();
+
+        global.evictWhile(dto -> isExpired(dto, cutoff));
+        userStorage.values().forEach(buffer -> buffer.evictWhile(dto -> isExpired(dto, cutoff)));
+        userStorage.entrySet().removeIf(e -> e.getValue().size() == 0);
+
+        final int byAge = jdbc.update(PRUNE_BY_AGE_SQL, Timestamp.valueOf(cutoff));
+        final int byCount = jdbc.update(PRUNE_BY_COUNT_SQL, config.getMaxRows());
+
+        log.info("🧹 Outbox depurado: {} filas por antigüedad, {} por cantidad", byAge, byCount);
+    }
+
+    // ============================================================================================
+    // AUXILIARES
+    // ============================================================================================
+    private RingBuffer<NotificationDto> userBuffer(Long userId) {
+        return userStorage.computeIfAbsent(userId, k -> new RingBuffer<>(config.getPerUserCapacity()));
+    }
+
+    private List<NotificationDto> pageOf(RingBuffer<NotificationDto> buffer, int page, int size) {
+        final int boundedSize = Math.max(1, Math.min(size, config.getMaxPageSize()));
+        return buffer.page(Math.max(0, page) * boundedSize, boundedSize);
+    }
+
+    private List<PendingRow> drainBatch() {
+        final List<PendingRow> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+        Stream.generate(pending::poll)
+                .limit(FLUSH_BATCH_SIZE)
+                .takeWhile(row -> row != null)
+                .forEach(batch::add);
+        return batch;
+    }
+
+    private boolean writeBatch(List<PendingRow> batch) {
+        try {
+            jdbc.batchUpdate(INSERT_SQL, batch.stream()
+                    .map(row -> new Object[]{
+                            Optional.ofNullable(row.dto().getEventType()).orElse("UNKNOWN"),
+                            Optional.ofNullable(row.dto().getPayload()).map(String::valueOf).orElse(null),
+                            row.userId(),
+                            Timestamp.valueOf(Optional.ofNullable(row.dto().getTimestamp()).orElseGet(LocalDateTime::now))
+                    })
+                    .toList());
+            return true;
+        } catch (RuntimeException ex) {
+            log.error("❌ Error escribiendo {} notificaciones en el outbox ({} retenidas, se reintentará): {}",
+                    batch.size(), unwrittenRows, ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Límite de memoria durante una caída prolongada: se descartan los lotes más antiguos.
+     */
+    private void trimUnwritten() {
+        Stream.generate(unwritten::peekFirst)
+                .takeWhile(batch -> batch != null && unwrittenRows > config.getMaxUnwrittenRows())
+                .forEach(batch -> {
+                    unwritten.pollFirst();
+                    unwrittenRows -= batch.size();
+                    log.error("❌ Outbox sin escribir supera {} filas: se descartan {} notificaciones",
+                            config.getMaxUnwrittenRows(), batch.size());
+                });
+    }
+
+    private NotificationDto toDto(ResultSet rs) throws SQLException {
+        return NotificationDto.builder()
+                .eventType(rs.getString("event_type"))
+                .payload(rs.getString("payload"))
+                .userId((Long) rs.getObject("user_id", Long.class))
+                .timestamp(rs.getTimestamp("created_at").toLocalDateTime())
+                .build();
+    }
+
+    private LocalDateTime retentionCutoff() {
+        return LocalDateTime.now().minusDays(config.getRetentionDays());
+    }
+
+    private static boolean isExpired(NotificationDto dto, LocalDateTime cutoff) {
+        return Optional.ofNullable(dto.getTimestamp())
+                .map(ts -> ts.isBefore(cutoff))
+                .orElse(false);
     }
 }
@@ -6,10 +6,14 @@ import com.builderssas.api.repository.views.StatusCountView;
 import com.builderssas.api.repository.views.TypeCountView;
 import com.builderssas.api.repository.views.TypeStatusCountView;
 import com.builderssas.api.repository.views.ProjectStatusCountView;
+import com.builderssas.api.repository.views.ProjectLastEndView;
+import com.builderssas.api.repository.views.OrderCoordinateView;
+import com.builderssas.api.repository.views.OrderRowView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -113,6 +117,67 @@ public interface ConstructionOrderRepository extends JpaRepository<ConstructionO
     );
 
 
+    // ============================================================
+    // ✅ PROYECCIONES DE LECTURA (solo columnas escalares)
+    //
+    // Mismo contenido que las consultas JOIN FETCH, pero sin entidades
+    // gestionadas: nada entra al contexto de persistencia, no hay dirty
+    // checking ni carga EAGER de User.roles.
+    // ============================================================
+
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT o.id AS id,
+               p.id AS projectId, p.name AS projectName,
+               ct.id AS constructionTypeId, ct.name AS constructionTypeName,
+               u.id AS requestedByUserId, u.firstname AS requestedByFirstname, u.lastname AS requestedByLastname,
+               o.latitude AS latitude, o.longitude AS longitude,
+               o.scheduledStartDate AS scheduledStartDate, o.scheduledEndDate AS scheduledEndDate,
+               o.orderStatus AS orderStatus, o.observations AS observations
+        FROM ConstructionOrder o
+        JOIN o.project p
+        JOIN o.constructionType ct
+        JOIN o.requestedBy u
+        ORDER BY o.id
+    """)
+    List<OrderRowView> findAllRows();
+
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT o.id AS id,
+               p.id AS projectId, p.name AS projectName,
+               ct.id AS constructionTypeId, ct.name AS constructionTypeName,
+               u.id AS requestedByUserId, u.firstname AS requestedByFirstname, u.lastname AS requestedByLastname,
+               o.latitude AS latitude, o.longitude AS longitude,
+               o.scheduledStartDate AS scheduledStartDate, o.scheduledEndDate AS scheduledEndDate,
+               o.orderStatus AS orderStatus, o.observations AS observations
+        FROM ConstructionOrder o
+        JOIN o.project p
+        JOIN o.constructionType ct
+        JOIN o.requestedBy u
+        WHERE o.id = :id
+    """)
+    Optional<OrderRowView> findRowById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT o.id AS id,
+               p.id AS projectId, p.name AS projectName,
+               ct.id AS constructionTypeId, ct.name AS constructionTypeName,
+               u.id AS requestedByUserId, u.firstname AS requestedByFirstname, u.lastname AS requestedByLastname,
+               o.latitude AS latitude, o.longitude AS longitude,
+               o.scheduledStartDate AS scheduledStartDate, o.scheduledEndDate AS scheduledEndDate,
+               o.orderStatus AS orderStatus, o.observations AS observations
+        FROM ConstructionOrder o
+        JOIN o.project p
+        JOIN o.constructionType ct
+        JOIN o.requestedBy u
+        WHERE p.id = :projectId
+        ORDER BY o.id
+    """)
+    List<OrderRowView> findRowsByProjectId(@Param("projectId") Long projectId);
+
+
     // ============================================================
     // ✅ MÉTRICAS (CORREGIDAS — GROUP BY)
     // ============================================================
@@ -185,6 +250,16 @@ public interface ConstructionOrderRepository extends JpaRepository<ConstructionO
 
     boolean existsByLatitudeAndLongitude(Double latitude, Double longitude);
 
+    /**
+     * Coordenadas de todas las órdenes (solo id, lat, lng).
+     * Se usa para construir el índice espacial en memoria al arrancar.
+     */
+    @Query("""
+        SELECT o.id AS id, o.latitude AS latitude, o.longitude AS longitude
+        FROM ConstructionOrder o
+    """)
+    List<OrderCoordinateView> findAllCoordinates();
+
     /**
      * Obtiene la última fecha final (scheduledEndDate) registrada para un proyecto.
      *
@@ -205,6 +280,18 @@ public interface ConstructionOrderRepository extends JpaRepository<ConstructionO
 """)
     Optional<LocalDate> findLastEndDate(Long projectId);
 
+    /**
+     * MAX(scheduledEndDate) de todos los proyectos en una sola consulta.
+     * Se usa para reconstruir los cursores de agenda en memoria al arrancar.
+     */
+    @Query("""
+        SELECT o.project.id AS projectId,
+               MAX(o.scheduledEndDate) AS lastEndDate
+        FROM ConstructionOrder o
+        GROUP BY o.project.id
+    """)
+    List<ProjectLastEndView> findLastEndDatesByProject();
+
     /**
      * Cuenta la cantidad TOTAL de órdenes asociadas a un proyecto.
      * Se usa para calcular el porcentaje de progreso del proyecto.
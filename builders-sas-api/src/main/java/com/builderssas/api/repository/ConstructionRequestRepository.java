@@ -2,10 +2,12 @@ package com.builderssas.api.repository;
 
 import com.builderssas.api.domain.model.construction.ConstructionRequest;
 import com.builderssas.api.domain.model.enums.RequestStatus;
+import com.builderssas.api.repository.views.RequestRowView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -81,4 +83,86 @@ public interface ConstructionRequestRepository extends JpaRepository<Constructio
         WHERE r.requestStatus = :status
     """)
     List<ConstructionRequest> findByRequestStatusWithRelations(@Param("status") RequestStatus status);
+
+    // ============================================================
+    // PROYECCIONES DE LECTURA (solo columnas escalares)
+    // ============================================================
+
+    /**
+     * Todas las solicitudes como filas escalares (sin entidades gestionadas).
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT r.id AS id,
+               r.project.id AS projectId,
+               r.constructionType.id AS constructionTypeId,
+               r.latitude AS latitude, r.longitude AS longitude,
+               r.requestDate AS requestDate,
+               r.requestStatus AS requestStatus,
+               r.observations AS observations,
+               u.id AS requestedById, u.firstname AS requestedByFirstname, u.lastname AS requestedByLastname
+        FROM ConstructionRequest r
+        JOIN r.requestedBy u
+        ORDER BY r.id
+    """)
+    List<RequestRowView> findAllRows();
+
+    /**
+     * Una solicitud como fila escalar.
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT r.id AS id,
+               r.project.id AS projectId,
+               r.constructionType.id AS constructionTypeId,
+               r.latitude AS latitude, r.longitude AS longitude,
+               r.requestDate AS requestDate,
+               r.requestStatus AS requestStatus,
+               r.observations AS observations,
+               u.id AS requestedById, u.firstname AS requestedByFirstname, u.lastname AS requestedByLastname
+        FROM ConstructionRequest r
+        JOIN r.requestedBy u
+        WHERE r.id = :id
+    """)
+    Optional<RequestRowView> findRowById(@Param("id") Long id);
+
+    /**
+     * Solicitudes de un proyecto como filas escalares.
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT r.id AS id,
+               r.project.id AS projectId,
+               r.constructionType.id AS constructionTypeId,
+               r.latitude AS latitude, r.longitude AS longitude,
+               r.requestDate AS requestDate,
+               r.requestStatus AS requestStatus,
+               r.observations AS observations,
+               u.id AS requestedById, u.firstname AS requestedByFirstname, u.lastname AS requestedByLastname
+        FROM ConstructionRequest r
+        JOIN r.requestedBy u
+        WHERE r.project.id = :projectId
+        ORDER BY r.id
+    """)
+    List<RequestRowView> findRowsByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Solicitudes en un estado como filas escalares.
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT r.id AS id,
+               r.project.id AS projectId,
+               r.constructionType.id AS constructionTypeId,
+               r.latitude AS latitude, r.longitude AS longitude,
+               r.requestDate AS requestDate,
+               r.requestStatus AS requestStatus,
+               r.observations AS observations,
+               u.id AS requestedById, u.firstname AS requestedByFirstname, u.lastname AS requestedByLastname
+        FROM ConstructionRequest r
+        JOIN r.requestedBy u
+        WHERE r.requestStatus = :status
+        ORDER BY r.id
+    """)
+    List<RequestRowView> findRowsByRequestStatus(@Param("status") RequestStatus status);
 }
@@ -1,11 +1,14 @@
 package com.builderssas.api.repository;
 
 import com.builderssas.api.domain.model.construction.ConstructionType;
+import com.builderssas.api.repository.views.BomRowView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,4 +47,37 @@ public interface ConstructionTypeRepository extends JpaRepository<ConstructionTy
         """)
     Optional<ConstructionType> findByIdFetchMaterials(@Param("id") Long id);
 
+    @Query("""
+        SELECT DISTINCT ct
+        FROM ConstructionType ct
+        LEFT JOIN FETCH ct.materials rel
+        LEFT JOIN FETCH rel.materialType mt
+        WHERE ct.id IN :ids
+        """)
+    List<ConstructionType> findAllByIdInFetchMaterials(@Param("ids") Collection<Long> ids);
+
+
+    // ============================================================
+    // BOM — proyección escalar para ConstructionTypeBomCache
+    // (rel.materialType.id sale de la FK, sin unir material_types)
+    // ============================================================
+
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT ct.id AS typeId, ct.name AS typeName, ct.durationDays AS durationDays,
+               rel.materialType.id AS materialTypeId, rel.quantityRequired AS quantityRequired
+        FROM ConstructionType ct
+        LEFT JOIN ct.materials rel
+        WHERE ct.id = :id
+        """)
+    List<BomRowView> findBomRows(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT ct.id AS typeId, ct.name AS typeName, ct.durationDays AS durationDays,
+               rel.materialType.id AS materialTypeId, rel.quantityRequired AS quantityRequired
+        FROM ConstructionType ct
+        LEFT JOIN ct.materials rel
+        """)
+    List<BomRowView> findAllBomRows();
 }
@@ -1,9 +1,11 @@
 package com.builderssas.api.repository;
 
 import com.builderssas.api.domain.model.user.User;
+import com.builderssas.api.repository.views.PrincipalRowView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.List;
@@ -45,4 +47,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     """)
     Optional<User> findByUsernameWithRoles(@Param("username") String username);
     Optional<User> findByUsername(String username);
+
+    // ============================================================
+    // PRINCIPAL — proyección escalar (sin entidades ni roles EAGER)
+    // ============================================================
+
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT u.id AS id, u.username AS username, u.firstname AS firstname,
+               u.lastname AS lastname, r.name AS roleName
+        FROM User u
+        LEFT JOIN u.roles ur
+        LEFT JOIN ur.role r
+        WHERE u.id = :id
+    """)
+    List<PrincipalRowView> findPrincipalRows(@Param("id") Long id);
 }
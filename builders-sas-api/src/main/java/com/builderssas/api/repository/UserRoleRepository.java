@@ -1,9 +1,13 @@
 package com.builderssas.api.repository;
 
 import com.builderssas.api.domain.model.user.UserRole;
+import com.builderssas.api.repository.views.UserRoleMembershipView;
+import com.builderssas.api.repository.views.UserRoleRowView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -44,4 +48,34 @@ public interface UserRoleRepository extends JpaRepository<UserRole, Long> {
     """)
     Optional<UserRole> findByIdWithRelations(Long id);
 
+
+    // ============================================================
+    // Proyecciones escalares (idx_user_roles_user / idx_user_roles_role)
+    // Sin entidades: ni User con sus roles EAGER ni Role
+    // ============================================================
+
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT ur.id AS id, ur.user.id AS userId, ur.role.id AS roleId, ur.assignedAt AS assignedAt
+        FROM UserRole ur
+        WHERE ur.user.id = :userId
+        ORDER BY ur.id
+    """)
+    List<UserRoleRowView> findRowsByUserId(@Param("userId") Long userId);
+
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT ur.id AS id, ur.user.id AS userId, ur.role.id AS roleId, ur.assignedAt AS assignedAt
+        FROM UserRole ur
+        WHERE ur.role.id = :roleId
+        ORDER BY ur.id
+    """)
+    List<UserRoleRowView> findRowsByRoleId(@Param("roleId") Long roleId);
+
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT ur.user.id AS userId, ur.role.id AS roleId
+        FROM UserRole ur
+    """)
+    List<UserRoleMembershipView> findAllMemberships();
 }
@@ -0,0 +1,13 @@
+package com.builderssas.api.repository.views;
+
+/**
+ * Fila de la lista de materiales (BOM) de un tipo de construcción.
+ * Un tipo sin materiales llega como una sola fila con material y cantidad null.
+ */
+public interface BomRowView {
+    Long getTypeId();
+    String getTypeName();
+    Integer getDurationDays();
+    Long getMaterialTypeId();
+    Double getQuantityRequired();
+}
@@ -0,0 +1,10 @@
+package com.builderssas.api.repository.views;
+
+/**
+ * Proyección mínima con las coordenadas de una orden.
+ */
+public interface OrderCoordinateView {
+    Long getId();
+    Double getLatitude();
+    Double getLongitude();
+}
@@ -0,0 +1,26 @@
+package com.builderssas.api.repository.views;
+
+import com.builderssas.api.domain.model.enums.OrderStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección escalar de una orden con los nombres de sus relaciones.
+ * Contiene exactamente lo que necesita ConstructionOrderDto, sin cargar entidades.
+ */
+public interface OrderRowView {
+    Long getId();
+    Long getProjectId();
+    String getProjectName();
+    Long getConstructionTypeId();
+    String getConstructionTypeName();
+    Long getRequestedByUserId();
+    String getRequestedByFirstname();
+    String getRequestedByLastname();
+    Double getLatitude();
+    Double getLongitude();
+    LocalDate getScheduledStartDate();
+    LocalDate getScheduledEndDate();
+    OrderStatus getOrderStatus();
+    String getObservations();
+}
@@ -0,0 +1,13 @@
+package com.builderssas.api.repository.views;
+
+/**
+ * Fila (usuario, rol) para construir un principal: campos mínimos del
+ * usuario y el nombre de cada rol (null si no tiene ninguno).
+ */
+public interface PrincipalRowView {
+    Long getId();
+    String getUsername();
+    String getFirstname();
+    String getLastname();
+    String getRoleName();
+}
@@ -0,0 +1,11 @@
+package com.builderssas.api.repository.views;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección con la última fecha final programada de cada proyecto.
+ */
+public interface ProjectLastEndView {
+    Long getProjectId();
+    LocalDate getLastEndDate();
+}
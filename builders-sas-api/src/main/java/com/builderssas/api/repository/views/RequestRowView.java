@@ -0,0 +1,23 @@
+package com.builderssas.api.repository.views;
+
+import com.builderssas.api.domain.model.enums.RequestStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección escalar de una solicitud con los datos del solicitante.
+ * Contiene exactamente lo que necesita ConstructionRequestDto, sin cargar entidades.
+ */
+public interface RequestRowView {
+    Long getId();
+    Long getProjectId();
+    Long getConstructionTypeId();
+    Double getLatitude();
+    Double getLongitude();
+    LocalDate getRequestDate();
+    RequestStatus getRequestStatus();
+    String getObservations();
+    Long getRequestedById();
+    String getRequestedByFirstname();
+    String getRequestedByLastname();
+}
@@ -0,0 +1,9 @@
+package com.builderssas.api.repository.views;
+
+/**
+ * Par (usuario, rol) para reconstruir el índice de membresía en memoria.
+ */
+public interface UserRoleMembershipView {
+    Long getUserId();
+    Long getRoleId();
+}
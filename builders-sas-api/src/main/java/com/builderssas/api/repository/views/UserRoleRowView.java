@@ -0,0 +1,14 @@
+package com.builderssas.api.repository.views;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Proyección escalar de una asignación usuario–rol.
+ * Solo columnas de user_roles: no carga User (ni sus roles EAGER) ni Role.
+ */
+public interface UserRoleRowView {
+    Long getId();
+    Long getUserId();
+    Long getRoleId();
+    OffsetDateTime getAssignedAt();
+}
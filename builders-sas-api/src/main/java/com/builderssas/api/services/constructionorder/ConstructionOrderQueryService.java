@@ -0,0 +1,29 @@
+package com.builderssas.api.services.constructionorder;
+
+import com.builderssas.api.core.paging.KeysetPage;
+import com.builderssas.api.domain.model.constructionorder.dto.ConstructionOrderDto;
+import com.builderssas.api.domain.model.constructionorder.dto.ConstructionOrderFilter;
+
+/**
+ * Consultas de lectura de órdenes con memoria acotada por petición.
+ */
+public interface ConstructionOrderQueryService {
+
+    /** Criterio de orden soportado por la paginación keyset. */
+    enum SortKey {
+        /** ORDER BY id */
+        ID,
+        /** ORDER BY scheduled_start_date, id */
+        START_DATE
+    }
+
+    /**
+     * Página keyset de órdenes filtradas.
+     *
+     * @param filter filtros opcionales
+     * @param sort   criterio de orden
+     * @param cursor cursor opaco devuelto por la página anterior (null = primera página)
+     * @param size   tamaño pedido (null = por defecto; se acota al máximo configurado)
+     */
+    KeysetPage<ConstructionOrderDto> page(ConstructionOrderFilter filter, SortKey sort, String cursor, Integer size);
+}
@@ -0,0 +1,145 @@
+package com.builderssas.api.services.constructionorder;
+
+import com.builderssas.api.config.PagingConfig;
+import com.builderssas.api.core.exception.GlobalExceptionHandler;
+import com.builderssas.api.core.paging.CursorCodec;
+import com.builderssas.api.core.paging.KeysetPage;
+import com.builderssas.api.domain.model.constructionorder.dto.ConstructionOrderDto;
+import com.builderssas.api.domain.model.constructionorder.dto.ConstructionOrderFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Listado keyset (seek) de órdenes.
+ *
+ * En lugar de OFFSET o de materializar la tabla completa, cada página continúa
+ * estrictamente después de la última fila de la anterior:
+ *
+ *      ID         → WHERE o.id > :afterId                           ORDER BY o.id
+ *      START_DATE → WHERE (o.scheduled_start_date, o.id) > (:d, :id) ORDER BY o.scheduled_start_date NULLS LAST, o.id
+ *                         OR o.scheduled_start_date IS NULL
+ *
+ * Las órdenes sin fecha de inicio van al final; si la última fila de la página
+ * no tiene fecha, el cursor la codifica como NULL_DATE y la siguiente página
+ * continúa solo entre las filas sin fecha (o.scheduled_start_date IS NULL AND o.id > :id).
+ *
+ * Se leen size + 1 filas (la extra solo indica si hay más), proyectadas
+ * directamente a DTO: la memoria por petición depende del tamaño de página y
+ * no del tamaño de la tabla.
+ */
+@Service
+@RequiredArgsConstructor
+public class ConstructionOrderQueryServiceImpl implements ConstructionOrderQueryService {
+
+    private static final String SELECT_SQL = """
+            SELECT o.id, o.project_id, p.name AS project_name,
+                   o.construction_type_id, ct.name AS construction_type_name,
+                   o.requested_by_user_id, u.firstname, u.lastname,
+                   o.latitude, o.longitude,
+                   o.scheduled_start_date, o.scheduled_end_date,
+                   o.order_status, o.observations
+              FROM construction_orders o
+              JOIN projects p            ON p.id = o.project_id
+              JOIN construction_types ct ON ct.id = o.construction_type_id
+              JOIN users u               ON u.id = o.requested_by_user_id
+            """;
+
+    /** Marcador de fecha nula en el cursor de START_DATE. */
+    private static final String NULL_DATE = "-";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final PagingConfig paging;
+
+    private static final RowMapper<ConstructionOrderDto> ROW_MAPPER = (rs, n) -> ConstructionOrderDto.builder()
+            .id(rs.getLong("id"))
+            .projectId(rs.getLong("project_id"))
+            .projectName(rs.getString("project_name"))
+            .constructionTypeId(rs.getLong("construction_type_id"))
+            .constructionTypeName(rs.getString("construction_type_name"))
+            .requestedByUserId(rs.getLong("requested_by_user_id"))
+            .requestedByFirstname(rs.getString("firstname"))
+            .requestedByLastname(rs.getString("lastname"))
+            .latitude(rs.getDouble("latitude"))
+            .longitude(rs.getDouble("longitude"))
+            .scheduledStartDate(Optional.ofNullable(rs.getDate("scheduled_start_date")).map(Date::toLocalDate).orElse(null))
+            .scheduledEndDate(Optional.ofNullable(rs.getDate("scheduled_end_date")).map(Date::toLocalDate).orElse(null))
+            .orderStatus(rs.getString("order_status"))
+            .observations(rs.getString("observations"))
+            .build();
+
+    @Override
+    public KeysetPage<ConstructionOrderDto> page(
+            final ConstructionOrderFilter filter,
+            final SortKey sort,
+            final String cursor,
+            final Integer size
+    ) {
+        final var f = Optional.ofNullable(filter).orElseGet(ConstructionOrderFilter::new);
+        final var key = Optional.ofNullable(sort).orElse(SortKey.ID);
+        final int limit = paging.resolve(size);
+        final var params = new MapSqlParameterSource("limit", limit + 1);
+
+        final var after = CursorCodec.decode(cursor, key.name(), key == SortKey.ID ? 1 : 2);
+
+        final var conditions = Stream.of(
+                        Optional.ofNullable(f.getStatus()).map(s -> bind(params, "status", s.name(), "o.order_status = :status")),
+                        Optional.ofNullable(f.getProjectId()).map(id -> bind(params, "projectId", id, "o.project_id = :projectId")),
+                        Optional.ofNullable(f.getConstructionTypeId()).map(id -> bind(params, "typeId", id, "o.construction_type_id = :typeId")),
+                        Optional.ofNullable(f.getFrom()).map(d -> bind(params, "from", d, "o.scheduled_start_date >= :from")),
+                        Optional.ofNullable(f.getTo()).map(d -> bind(params, "to", d, "o.scheduled_start_date <= :to")),
+                        after.map(values -> seekCondition(key, values, params))
+                )
+                .flatMap(Optional::stream)
+                .collect(Collectors.joining(" AND "));
+
+        final var sql = SELECT_SQL
+                + (conditions.isEmpty() ? "" : " WHERE " + conditions)
+                + (key == SortKey.ID ? " ORDER BY o.id" : " ORDER BY o.scheduled_start_date NULLS LAST, o.id")
+                + " LIMIT :limit";
+
+        final var rows = jdbc.query(sql, params, ROW_MAPPER);
+        final var hasMore = rows.size() > limit;
+        final var items = hasMore ? rows.subList(0, limit) : rows;
+
+        final var next = Optional.of(hasMore)
+                .filter(Boolean::booleanValue)
+                .map(__ -> items.get(items.size() - 1))
+                .map(last -> CursorCodec.encode(key.name(), key == SortKey.ID
+                        ? List.of(String.valueOf(last.getId()))
+                        : List.of(Optional.ofNullable(last.getScheduledStartDate()).map(LocalDate::toString).orElse(NULL_DATE),
+                                String.valueOf(last.getId()))))
+                .orElse(null);
+
+        return new KeysetPage<>(List.copyOf(items), limit, hasMore, next);
+    }
+
+    private static String bind(final MapSqlParameterSource params, final String name, final Object value, final String condition) {
+        params.addValue(name, value);
+        return condition;
+    }
+
+    private static String seekCondition(final SortKey key, final List<String> values, final MapSqlParameterSource params) {
+        try {
+            if (key == SortKey.ID) {
+                return bind(params, "afterId", Long.parseLong(values.get(0)), "o.id > :afterId");
+            }
+            params.addValue("afterId", Long.parseLong(values.get(1)));
+            return NULL_DATE.equals(values.get(0))
+                    ? "o.scheduled_start_date IS NULL AND o.id > :afterId"
+                    : bind(params, "afterDate", LocalDate.parse(values.get(0)),
+                            "((o.scheduled_start_date, o.id) > (:afterDate, :afterId) OR o.scheduled_start_date IS NULL)");
+        } catch (RuntimeException ex) {
+            throw new GlobalExceptionHandler.BadRequestException("Cursor de paginación inválido");
+        }
+    }
+}
@@ -1,24 +1,26 @@
 package com.builderssas.api.services.constructionorder;
 
+import com.builderssas.api.core.async.BoundedExecutor;
 import com.builderssas.api.domain.model.construction.ConstructionOrder;
 import com.builderssas.api.domain.model.construction.ConstructionRequest;
 import com.builderssas.api.domain.model.construction.ConstructionType;
-import com.builderssas.api.domain.model.construction.ConstructionTypeMaterial;
 import com.builderssas.api.domain.model.constructionorder.dto.MaterialConsumptionDto;
+import com.builderssas.api.domain.model.constructionorder.event.OrderCreatedEvent;
 import com.builderssas.api.domain.model.enums.OrderStatus;
 import com.builderssas.api.domain.model.enums.RequestStatus;
 import com.builderssas.api.domain.model.notification.NotificationDto;
 import com.builderssas.api.repository.ConstructionOrderRepository;
-import com.builderssas.api.repository.ConstructionTypeRepository;
-import com.builderssas.api.repository.MaterialTypeRepository;
+import com.builderssas.api.services.constructiontype.ConstructionTypeBomCache;
 import com.builderssas.api.services.notification.NotificationService;
+import com.builderssas.api.services.stock.StockReservationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
@@ -30,9 +32,13 @@ import java.util.stream.Stream;
 public class ConstructionOrderServiceImpl implements ConstructionOrderService {
 
     private final ConstructionOrderRepository orderRepo;
-    private final MaterialTypeRepository materialRepo;
-    private final ConstructionTypeRepository typeRepo;
+    private final ConstructionTypeBomCache bomCache;
     private final NotificationService notificationService;
+    private final StockReservationService stockReservation;
+    private final BoundedExecutor orderExecutor;
+    private final ProjectScheduleLane scheduleLane;
+    private final OrderCoordinateIndex coordinateIndex;
+    private final ApplicationEventPublisher events;
 
     private static final String ORDER_CREATED_TEMPLATE = """
         ✔ ORDEN CREADA
@@ -54,47 +60,44 @@ public class ConstructionOrderServiceImpl implements ConstructionOrderService {
         final var type = Optional.ofNullable(req)
                 .map(ConstructionRequest::getConstructionType)
                 .map(ConstructionType::getId)
-                .flatMap(typeRepo::findByIdFetchMaterials)
+                .flatMap(bomCache::get)
                 .orElseThrow(() -> new IllegalStateException("Solicitud o ConstructionType inválidos (no se encontró el tipo en BD)"));
 
-        final var durationDays = Optional.ofNullable(type.getDurationDays())
+        final var durationDays = Optional.ofNullable(type.durationDays())
                 .filter(d -> d > 0)
                 .orElseThrow(() -> new IllegalStateException(
-                        "durationDays inválido o null para el tipo '" + Optional.ofNullable(type.getName()).orElse("unknown") + "'"));
+                        "durationDays inválido o null para el tipo '" + Optional.ofNullable(type.name()).orElse("unknown") + "'"));
 
         log.info("🧮 Preparando cálculo para requestId={}, projectId={}, type='{}', durationDays={}, requestDate={}",
                 Optional.ofNullable(req).map(ConstructionRequest::getId).orElse(null),
                 Optional.ofNullable(req).map(ConstructionRequest::getProject).map(p -> p.getId()).orElse(null),
-                Optional.ofNullable(type.getName()).orElse("unknown"),
+                Optional.ofNullable(type.name()).orElse("unknown"),
                 durationDays,
                 Optional.ofNullable(req).map(ConstructionRequest::getRequestDate).orElse(null));
 
-        return calculateStartDateAsync(req)
-                .thenCompose(start ->
-                        validateRequest(req)
-                                .<CompletableFuture<ConstructionOrder>>map(error -> failRequest(req, error))
-                                .orElseGet(() -> {
-                                    final var deliveryDays = 1;
-                                    final var end = start.plusDays((long) durationDays + deliveryDays);
-
-                                    log.info("📅 Fechas: start={}, end={}, requestDate={}, durationDays={}, deliveryDays={}",
-                                            start,
-                                            end,
-                                            Optional.ofNullable(req).map(ConstructionRequest::getRequestDate).orElse(null),
-                                            durationDays,
-                                            deliveryDays
-                                    );
-
-                                    final var rows = buildConsumptionRows(type);
-                                    final var observations = buildObservations(rows);
-                                    final var order = buildOrder(req, start, end, observations);
-
-                                    return applyStockDiscountAsync(rows, type.getMaterials().stream().toList())
-                                            .thenCompose(v -> saveOrderAsync(order))
-                                            .thenApply(saved -> updateProjectEnd(req, saved))
-                                            .whenComplete((o, ex) -> sendOrderNotification(req, o, ex));
-                                })
-                );
+        final var deliveryDays = 1;
+
+        return validateRequest(req)
+                .<CompletableFuture<ConstructionOrder>>map(error -> failRequest(req, error))
+                .orElseGet(() -> reserveScheduleAsync(req, (long) durationDays + deliveryDays)
+                        .thenCompose(slot -> {
+                            log.info("📅 Fechas: start={}, end={}, requestDate={}, durationDays={}, deliveryDays={}",
+                                    slot.start(),
+                                    slot.end(),
+                                    req.getRequestDate(),
+                                    durationDays,
+                                    deliveryDays
+                            );
+
+                            final var requirements = type.requirements();
+
+                            return reserveStockAsync(requirements)
+                                    .thenCompose(rows -> saveOrderAsync(buildOrder(req, slot.start(), slot.end(), buildObservations(rows)))
+                                            .whenComplete((saved, ex) -> releaseStockOnFailure(requirements, ex)))
+                                    .whenComplete((saved, ex) -> releaseScheduleOnFailure(req, slot, ex));
+                        })
+                        .thenApply(saved -> publishOrderCreated(req, saved))
+                        .whenComplete((o, ex) -> sendOrderNotification(req, o, ex)));
     }
 
     // ============================================================================================
@@ -178,46 +181,37 @@ public class ConstructionOrderServiceImpl implements ConstructionOrderService {
     }
 
     // ============================================================================================
-    // ✅ FECHAS — Cálculo funcional de start (regla: +1 día sobre request o sobre último fin)
+    // ✅ FECHAS — Reserva serializada por proyecto (regla: +1 día sobre request o sobre último fin)
     // ============================================================================================
-    private CompletableFuture<LocalDate> calculateStartDateAsync(final ConstructionRequest req) {
+    private CompletableFuture<ProjectScheduleLane.ScheduleSlot> reserveScheduleAsync(final ConstructionRequest req,
+                                                                                     final long totalDays) {
         return CompletableFuture.supplyAsync(() ->
-                Optional.ofNullable(req)
-                        .flatMap(r ->
-                                Optional.ofNullable(r.getProject()).map(p -> p.getId())
-                                        .flatMap(orderRepo::findLastEndDate)
-                                        .map(lastEnd -> lastEnd.plusDays(1))
-                                        .or(() -> Optional.ofNullable(r.getRequestDate()).map(d -> d.plusDays(1)))
-                        )
-                        .orElseThrow(() -> new IllegalStateException("No se pudo calcular startDate: solicitud o requestDate null"))
-        ).whenComplete((start, ex) ->
+                scheduleLane.reserve(req.getProject().getId(), req.getRequestDate(), totalDays),
+                orderExecutor
+        ).whenComplete((slot, ex) ->
                 log.info("▶️ StartDateCalc -> projectId={}, requestDate={}, start={}, error={}",
-                        Optional.ofNullable(req).map(ConstructionRequest::getProject).map(p -> p.getId()).orElse(null),
-                        Optional.ofNullable(req).map(ConstructionRequest::getRequestDate).orElse(null),
-                        start,
+                        req.getProject().getId(),
+                        req.getRequestDate(),
+                        Optional.ofNullable(slot).map(ProjectScheduleLane.ScheduleSlot::start).orElse(null),
                         Optional.ofNullable(ex).map(Throwable::getMessage).orElse(null)
                 )
         );
     }
 
-    // ============================================================================================
-    // ✅ CONSUMO DE MATERIALES — Mapea relaciones → DTO de consumo
-    // ============================================================================================
-    private List<MaterialConsumptionDto> buildConsumptionRows(final ConstructionType type) {
-        return Optional.ofNullable(type)
-                .stream()
-                .flatMap(t -> t.getMaterials().stream())
-                .map(rel -> Optional.ofNullable(rel.getMaterialType())
-                        .map(mt -> MaterialConsumptionDto.builder()
-                                .materialName(mt.getName())
-                                .stockBefore(mt.getStock())
-                                .required(rel.getQuantityRequired())
-                                .stockAfter(mt.getStock() - rel.getQuantityRequired())
-                                .build()
-                        ).orElseThrow(() -> new IllegalStateException("Relación sin MaterialType")))
-                .toList();
+    /**
+     * Si la orden no llegó a guardarse, la ventana de fechas se devuelve al carril
+     * del proyecto para no dejar huecos en la agenda.
+     */
+    private void releaseScheduleOnFailure(final ConstructionRequest req,
+                                          final ProjectScheduleLane.ScheduleSlot slot,
+                                          final Throwable ex) {
+        Optional.ofNullable(ex)
+                .ifPresent(err -> scheduleLane.release(req.getProject().getId(), slot));
     }
 
+    // ============================================================================================
+    // ✅ CONSUMO DE MATERIALES — requerimiento por material (id → cantidad) desde la BOM cacheada
+    // ============================================================================================
     private String buildObservations(final List<MaterialConsumptionDto> rows) {
         return new StringBuilder("Material | StockAntes | Requerido | StockDespués\n")
                 .append(
@@ -254,43 +248,40 @@ public class ConstructionOrderServiceImpl implements ConstructionOrderService {
     }
 
     // ============================================================================================
-    // ✅ DESCONTAR STOCK — Sin forEach; transformar → saveAll
+    // ✅ RESERVAR STOCK — decremento condicional atómico (todo o nada) en el motor de reservas
     // ============================================================================================
-    private CompletableFuture<Void> applyStockDiscountAsync(
-            final List<MaterialConsumptionDto> rows,
-            final List<ConstructionTypeMaterial> materials
-    ) {
-        return CompletableFuture.runAsync(() ->
-                materials.stream()
-                        .map(ConstructionTypeMaterial::getMaterialType)
-                        .map(mt ->
-                                rows.stream()
-                                        .filter(r -> Objects.equals(r.getMaterialName(), mt.getName()))
-                                        .findFirst()
-                                        .map(r -> {
-                                            mt.setStock(r.getStockAfter()); // efecto controlado sobre entidad JPA
-                                            return mt;
-                                        })
-                                        .orElseThrow(() -> new IllegalStateException("No se encontró consumo para material: " + mt.getName()))
-                        )
-                        .collect(Collectors.collectingAndThen(Collectors.toList(), materialRepo::saveAll))
-        );
+    private CompletableFuture<List<MaterialConsumptionDto>> reserveStockAsync(final Map<Long, Double> requirements) {
+        return CompletableFuture.supplyAsync(() -> stockReservation.reserve(requirements), orderExecutor);
+    }
+
+    /**
+     * Si la orden no pudo guardarse después de reservar, el stock se devuelve
+     * (la reserva ya fue confirmada en su propia transacción).
+     */
+    private void releaseStockOnFailure(final Map<Long, Double> requirements, final Throwable ex) {
+        Optional.ofNullable(ex)
+                .ifPresent(err -> stockReservation.release(requirements));
     }
 
     // ============================================================================================
-    // ✅ GUARDAR ORDEN — asíncrono puro
+    // ✅ GUARDAR ORDEN — asíncrono puro (+ alta en el índice de coordenadas)
     // ============================================================================================
     private CompletableFuture<ConstructionOrder> saveOrderAsync(final ConstructionOrder order) {
-        return CompletableFuture.supplyAsync(() -> orderRepo.save(order));
+        return CompletableFuture.supplyAsync(() -> coordinateIndex.add(orderRepo.save(order)), orderExecutor);
     }
 
     // ============================================================================================
-    // ✅ ACTUALIZAR PROYECTO — efecto mínimo y localizado
+    // ✅ ORDEN CREADA — evento de dominio (progreso y fecha de entrega los mantienen sus listeners)
     // ============================================================================================
-    private ConstructionOrder updateProjectEnd(final ConstructionRequest req, final ConstructionOrder saved) {
+    private ConstructionOrder publishOrderCreated(final ConstructionRequest req, final ConstructionOrder saved) {
         Optional.ofNullable(req)
                 .map(ConstructionRequest::getProject)
-                .ifPresent(p -> p.setProjectEndDate(saved.getScheduledEndDate()));
+                .ifPresent(p -> events.publishEvent(new OrderCreatedEvent(
+                        saved.getId(),
+                        p.getId(),
+                        saved.getConstructionType().getId(),
+                        saved.getOrderStatus(),
+                        saved.getScheduledEndDate())));
         return saved;
     }
 
@@ -0,0 +1,71 @@
+package com.builderssas.api.services.constructionorder;
+
+import com.builderssas.api.config.OrderCoordinateConfig;
+import com.builderssas.api.core.spatial.CoordinateGrid;
+import com.builderssas.api.domain.model.construction.ConstructionOrder;
+import com.builderssas.api.repository.ConstructionOrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Índice espacial en memoria de las coordenadas ocupadas por órdenes.
+ *
+ * Evita la consulta exacta sobre lat/lng (columnas sin índice): las coordenadas
+ * viven en una {@link CoordinateGrid} que se carga completa al arrancar y se
+ * mantiene incrementalmente al guardar órdenes.
+ *
+ * La tolerancia se configura con orders.coordinates.tolerance-meters
+ * (0 = igualdad exacta, como la consulta original).
+ */
+@Slf4j
+@Component
+public class OrderCoordinateIndex {
+
+    private final ConstructionOrderRepository orderRepo;
+    private final CoordinateGrid grid;
+
+    public OrderCoordinateIndex(final ConstructionOrderRepository orderRepo, final OrderCoordinateConfig config) {
+        this.orderRepo = orderRepo;
+        this.grid = new CoordinateGrid(config.getToleranceMeters());
+    }
+
+    // ============================================================================================
+    // ✅ ARRANQUE — carga completa desde la BD (una sola consulta de proyección)
+    // ============================================================================================
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        orderRepo.findAllCoordinates()
+                .forEach(v -> grid.add(v.getId(), v.getLatitude(), v.getLongitude()));
+
+        log.info("📍 Índice de coordenadas cargado: {} órdenes en {} celdas, tolerancia={} m",
+                grid.size(), grid.cellCount(), grid.getToleranceMeters());
+    }
+
+    // ============================================================================================
+    // ✅ MANTENIMIENTO INCREMENTAL
+    // ============================================================================================
+    public ConstructionOrder add(final ConstructionOrder order) {
+        Optional.ofNullable(order)
+                .ifPresent(o -> grid.add(o.getId(), o.getLatitude(), o.getLongitude()));
+        return order;
+    }
+
+    // ============================================================================================
+    // ✅ CONSULTAS
+    // ============================================================================================
+    public boolean isOccupied(final Double lat, final Double lng) {
+        return grid.isOccupied(lat, lng);
+    }
+
+    /**
+     * Grilla vacía con la misma tolerancia, para validar coordenadas entre sí
+     * (p. ej. dentro de un lote) sin tocar el índice global.
+     */
+    public CoordinateGrid newScratchGrid() {
+        return new CoordinateGrid(grid.getToleranceMeters());
+    }
+}
@@ -0,0 +1,104 @@
+package com.builderssas.api.services.constructionorder;
+
+import com.builderssas.api.repository.ConstructionOrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Carril de agenda por proyecto.
+ *
+ * Mantiene en memoria, por projectId, el cursor "próxima fecha libre"
+ * (= MAX(scheduledEndDate) + 1). Cada reserva de fechas se ejecuta dentro de
+ * ConcurrentHashMap.compute sobre la clave del proyecto, de modo que:
+ *
+ *  - Dos solicitudes del mismo proyecto se serializan y nunca reciben la misma
+ *    fecha de inicio (sin agendas solapadas).
+ *  - Proyectos distintos avanzan en paralelo.
+ *  - Ninguna orden necesita su propia consulta MAX: el cursor se reconstruye
+ *    desde la BD al arrancar y, si un proyecto aún no está cargado, se lee de
+ *    forma perezosa ANTES de compute: dentro de compute (que retiene el lock del
+ *    bin del mapa) solo hay aritmética de fechas, nunca I/O. Si otra reserva
+ *    cargó el cursor mientras tanto, gana el valor del mapa.
+ *
+ * Nota: el cursor vive en esta JVM; con varias instancias cada una debería
+ * atender proyectos disjuntos.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectScheduleLane {
+
+    private final ConstructionOrderRepository orderRepo;
+
+    private final Map<Long, LocalDate> nextFreeDate = new ConcurrentHashMap<>();
+
+    /**
+     * Ventana de fechas reservada para una orden.
+     *
+     * @param start          fecha de inicio
+     * @param end            fecha final (incluye el día de entrega)
+     * @param previousCursor cursor previo del proyecto, para deshacer la reserva
+     */
+    public record ScheduleSlot(LocalDate start, LocalDate end, LocalDate previousCursor) {
+    }
+
+    // ============================================================================================
+    // ✅ ARRANQUE — reconstrucción de cursores desde la BD (una sola consulta)
+    // ============================================================================================
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        orderRepo.findLastEndDatesByProject().stream()
+                .filter(v -> v.getLastEndDate() != null)
+                .forEach(v -> nextFreeDate.putIfAbsent(v.getProjectId(), v.getLastEndDate().plusDays(1)));
+
+        log.info("🗓️ Cursores de agenda cargados para {} proyectos", nextFreeDate.size());
+    }
+
+    // ============================================================================================
+    // ✅ RESERVAR — serializado por proyecto
+    // ============================================================================================
+    public ScheduleSlot reserve(final Long projectId, final LocalDate requestDate, final long totalDays) {
+        final var slot = new ScheduleSlot[1];
+
+        // Fuera de compute: la consulta no bloquea a otros proyectos del mismo bin
+        final Optional<LocalDate> loaded = nextFreeDate.containsKey(projectId)
+                ? Optional.empty()
+                : loadCursor(projectId);
+
+        nextFreeDate.compute(projectId, (id, cursor) -> {
+            final var previous = Optional.ofNullable(cursor).or(() -> loaded).orElse(null);
+            final var start = Optional.ofNullable(previous)
+                    .or(() -> Optional.ofNullable(requestDate).map(d -> d.plusDays(1)))
+                    .orElseThrow(() -> new IllegalStateException("No se pudo calcular startDate: requestDate null"));
+            final var end = start.plusDays(totalDays);
+
+            slot[0] = new ScheduleSlot(start, end, previous);
+            return end.plusDays(1);
+        });
+
+        return slot[0];
+    }
+
+    /**
+     * Deshace una reserva cuya orden no llegó a guardarse. Solo retrocede el
+     * cursor si nadie reservó después; en otro caso queda un hueco en la agenda.
+     */
+    public void release(final Long projectId, final ScheduleSlot slot) {
+        nextFreeDate.computeIfPresent(projectId, (id, cursor) ->
+                Objects.equals(cursor, slot.end().plusDays(1)) ? slot.previousCursor() : cursor);
+    }
+
+    private Optional<LocalDate> loadCursor(final Long projectId) {
+        return orderRepo.findLastEndDate(projectId)
+                .map(lastEnd -> lastEnd.plusDays(1));
+    }
+}
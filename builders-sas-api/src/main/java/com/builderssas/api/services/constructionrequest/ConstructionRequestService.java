@@ -1,5 +1,6 @@
 package com.builderssas.api.services.constructionrequest;
 
+import com.builderssas.api.domain.model.constructionrequest.dto.ConstructionRequestBatchResultDto;
 import com.builderssas.api.domain.model.constructionrequest.dto.ConstructionRequestDto;
 import com.builderssas.api.domain.model.constructionrequest.dto.CreateConstructionRequestDto;
 import com.builderssas.api.domain.model.enums.RequestStatus;
@@ -14,6 +15,9 @@ public interface ConstructionRequestService {
     /** Crear una nueva solicitud. */
     ConstructionRequestDto create(CreateConstructionRequestDto dto, Long userId);
 
+    /** Crear un lote de solicitudes (validación e inserción en bloque, resultado por ítem). */
+    ConstructionRequestBatchResultDto createBatch(List<CreateConstructionRequestDto> dtos, Long userId);
+
     /** Obtener solicitud por ID. */
     ConstructionRequestDto getById(Long id);
 
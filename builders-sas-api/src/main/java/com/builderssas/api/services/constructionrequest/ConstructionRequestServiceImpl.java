@@ -1,23 +1,48 @@
 package com.builderssas.api.services.constructionrequest;
 
 import com.builderssas.api.core.exception.GlobalExceptionHandler;
+import com.builderssas.api.core.spatial.CoordinateGrid;
 import com.builderssas.api.domain.model.construction.ConstructionRequest;
+import com.builderssas.api.domain.model.construction.ConstructionType;
+import com.builderssas.api.domain.model.constructionrequest.dto.ConstructionRequestBatchItemDto;
+import com.builderssas.api.domain.model.constructionrequest.dto.ConstructionRequestBatchResultDto;
 import com.builderssas.api.domain.model.constructionrequest.dto.ConstructionRequestDto;
 import com.builderssas.api.domain.model.constructionrequest.dto.CreateConstructionRequestDto;
 import com.builderssas.api.domain.model.enums.RequestStatus;
+import com.builderssas.api.domain.model.project.Project;
+import com.builderssas.api.domain.model.user.User;
 import com.builderssas.api.repository.*;
-import com.builderssas.api.services.constructionorder.ConstructionOrderService;
+import com.builderssas.api.repository.views.RequestRowView;
+import com.builderssas.api.services.constructionorder.OrderCoordinateIndex;
+import com.builderssas.api.services.constructiontype.ConstructionTypeBomCache;
+import com.builderssas.api.services.impl.PrincipalCache;
+import com.builderssas.api.services.metrics.OrderTimeSeries;
 import com.builderssas.api.services.notification.NotificationService;
+import com.builderssas.api.services.stock.StockReservationService;
 import com.builderssas.api.domain.model.notification.NotificationDto;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Slf4j
 @Service
@@ -25,13 +50,34 @@ import java.util.Optional;
 public class ConstructionRequestServiceImpl implements ConstructionRequestService {
 
     private final ConstructionRequestRepository requestRepo;
-    private final ConstructionOrderRepository orderRepo;
     private final ProjectRepository projectRepo;
     private final ConstructionTypeRepository typeRepo;
-    private final UserRepository userRepo;
-    private final ConstructionOrderService orderService;
+    private final PrincipalCache principals;
+    private final OrderCreationJobQueue orderJobs;
+    private final ConstructionTypeBomCache bomCache;
+    private final StockReservationService stockReservation;
+    private final OrderCoordinateIndex coordinateIndex;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final OrderTimeSeries timeSeries;
     private final NotificationService notificationService;
 
+    private static final String ARCHITECT_ROLE = "ROLE_ARCHITECT";
+
+    private static final String INSERT_REQUEST_SQL = """
+            INSERT INTO construction_requests
+                   (project_id, construction_type_id, latitude, longitude,
+                    requested_by_user_id, request_date, request_status, observations)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    /**
+     * Ítem de un lote ya validado: solicitud construida (PENDING/REJECTED)
+     * o, si no pudo construirse, el motivo de invalidez.
+     */
+    private record StagedItem(int index, ConstructionRequest request, String error) {
+    }
+
     // ================================================================================================
     // CREATE
     // ================================================================================================
@@ -41,54 +87,256 @@ public class ConstructionRequestServiceImpl implements ConstructionRequestServic
 
         //  AQUI VA LA VALIDACIÓN — PROGRAMACIÓN FUNCIONAL
         // ========================================================================
-//  VALIDACIÓN DE PERMISOS PARA CREAR SOLICITUDES
-// ========================================================================
-
-// 🔍 LOG DE DIAGNÓSTICO: muestra los roles reales cargados por JPA
-        log.warn("DEBUG VALIDACIÓN — Roles reales del usuario {}: {}",
-                userId,
-                userRepo.findById(userId)
-                        .map(u -> u.getRoles().stream()
-                                .map(ur -> ur.getRole().getName())
-                                .toList()
-                        )
-                        .orElse(List.of("Usuario no encontrado"))
-        );
-
-// 🔐 VALIDACIÓN REAL Y ROBUSTA
-        Optional.of(userId)
-                .filter(id ->
-                        userRepo.findById(id)
-                                .map(u ->
-                                        u.getRoles().stream()
-                                                .map(ur -> ur.getRole().getName().trim().toUpperCase())
-                                                .anyMatch("ROLE_ARCHITECT"::equals)
-                                )
-                                .orElse(false)
-                )
-                .orElseThrow(() -> new GlobalExceptionHandler.UnauthorizedException(
-                        "Se requiere ROLE_ARCHITECT para crear solicitudes."
-                ));
-
-
+        //  VALIDACIÓN DE PERMISOS PARA CREAR SOLICITUDES
+        //  Principal cacheado: un get en mapa + un AND de bits, sin cargar User
+        // ========================================================================
+        final var principal = requireArchitect(userId);
 
-        // NO SE TOCA NADA MÁS — esto queda EXACTAMENTE como estaba
         return loadProject(dto.getProjectId())
                 .flatMap(project ->
-                        loadTypeFetchMaterials(dto.getConstructionTypeId())
-                                .flatMap(type ->
-                                        loadUser(userId)
-                                                .map(user -> buildEntity(dto, project, type, user))
-                                )
+                        bomCache.get(dto.getConstructionTypeId())
+                                .map(bom -> buildEntity(dto, project, bom.toTypeRef(), principal.toUserRef()))
                 )
                 .map(req -> stagePendingOrRejected(req, dto))
                 .map(requestRepo::save)
+                .map(this::countIfRejected)
                 .map(this::sendNotificationOnCreation)
-                .map(this::triggerOrderIfPending)
+                .map(this::enqueueOrderIfPending)
                 .map(this::toDto)
                 .orElseThrow(() -> new IllegalStateException("Error creando solicitud"));
     }
 
+    // ================================================================================================
+    // CREATE BATCH — validación en una pasada + INSERT en batch JDBC
+    // ================================================================================================
+    /**
+     * Crea un lote de solicitudes con un número fijo de consultas:
+     *  - usuario, proyectos y tipos (con materiales) se cargan una sola vez;
+     *  - las coordenadas se validan contra el índice de órdenes y entre sí;
+     *  - el stock se descuenta de un presupuesto común al lote, de modo que no se
+     *    aprueben más solicitudes de las que el inventario actual puede cubrir;
+     *  - todas las filas se insertan en un único batch JDBC.
+     *
+     * Las PENDING se encolan en order_creation_jobs dentro de la misma transacción;
+     * los workers de OrderCreationJobQueue crean sus órdenes tras el commit.
+     */
+    @Override
+    public ConstructionRequestBatchResultDto createBatch(List<CreateConstructionRequestDto> dtos, Long userId) {
+
+        final var items = Optional.ofNullable(dtos).orElse(List.<CreateConstructionRequestDto>of());
+
+        final var staged = tx.execute(status -> enqueuePending(insertBatch(stageBatch(items, userId))));
+
+        final var created = staged.stream()
+                .map(StagedItem::request)
+                .filter(Objects::nonNull)
+                .map(this::countIfRejected)
+                .map(this::sendNotificationOnCreation)
+                .toList();
+
+        log.info("📦 Lote de solicitudes procesado: total={}, creadas={}", items.size(), created.size());
+        return toBatchResult(staged);
+    }
+
+    private List<StagedItem> stageBatch(List<CreateConstructionRequestDto> items, Long userId) {
+
+        final var user = requireArchitect(userId).toUserRef();
+
+        final Map<Long, Project> projects = projectRepo.findAllById(distinctIds(items, CreateConstructionRequestDto::getProjectId))
+                .stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+
+        final Map<Long, ConstructionType> types = typeRepo.findAllByIdInFetchMaterials(distinctIds(items, CreateConstructionRequestDto::getConstructionTypeId))
+                .stream()
+                .collect(Collectors.toMap(ConstructionType::getId, Function.identity()));
+
+        final Map<Long, Double> stockBudget = new HashMap<>();
+        types.values().stream()
+                .flatMap(t -> t.getMaterials().stream())
+                .map(rel -> rel.getMaterialType())
+                .forEach(mt -> stockBudget.putIfAbsent(mt.getId(), Optional.ofNullable(mt.getStock()).orElse(0d)));
+
+        final var batchGrid = coordinateIndex.newScratchGrid();
+
+        // Secuencial a propósito: cada ítem ve las coordenadas y el stock que tomaron los anteriores
+        return IntStream.range(0, items.size())
+                .mapToObj(i -> stageItem(i, items.get(i), projects, types, user, batchGrid, stockBudget))
+                .toList();
+    }
+
+    private StagedItem stageItem(
+            int index,
+            CreateConstructionRequestDto dto,
+            Map<Long, Project> projects,
+            Map<Long, ConstructionType> types,
+            User user,
+            CoordinateGrid batchGrid,
+            Map<Long, Double> stockBudget
+    ) {
+        final var project = Optional.ofNullable(dto).map(CreateConstructionRequestDto::getProjectId).map(projects::get);
+        final var type = Optional.ofNullable(dto).map(CreateConstructionRequestDto::getConstructionTypeId).map(types::get);
+        final var coordsOk = Optional.ofNullable(dto)
+                .filter(d -> d.getLatitude() != null && d.getLongitude() != null)
+                .isPresent();
+
+        final var error = project.isEmpty()
+                ? "El proyecto con id " + Optional.ofNullable(dto).map(CreateConstructionRequestDto::getProjectId).orElse(null) + " no existe"
+                : type.isEmpty()
+                ? "El tipo de construcción con id " + dto.getConstructionTypeId() + " no existe"
+                : !coordsOk ? "Latitude y longitude son obligatorios" : null;
+
+        return Optional.ofNullable(error)
+                .map(e -> new StagedItem(index, null, e))
+                .orElseGet(() -> new StagedItem(index,
+                        stageBatchItem(buildEntity(dto, project.get(), type.get(), user), dto, batchGrid, stockBudget),
+                        null));
+    }
+
+    private ConstructionRequest stageBatchItem(
+            ConstructionRequest req,
+            CreateConstructionRequestDto dto,
+            CoordinateGrid batchGrid,
+            Map<Long, Double> stockBudget
+    ) {
+        final var lat = dto.getLatitude();
+        final var lng = dto.getLongitude();
+
+        final var takenByOrder = coordinateIndex.isOccupied(lat, lng);
+        final var takenInBatch = !takenByOrder && batchGrid.isOccupied(lat, lng);
+
+        final var requirements = req.getConstructionType().getMaterials().stream()
+                .collect(Collectors.toMap(
+                        rel -> rel.getMaterialType().getId(),
+                        rel -> rel.getQuantityRequired(),
+                        Double::sum,
+                        TreeMap::new
+                ));
+
+        final var stockOk = requirements.entrySet().stream()
+                .allMatch(e -> stockBudget.getOrDefault(e.getKey(), 0d) >= e.getValue());
+
+        return Optional.of(!takenByOrder && !takenInBatch && stockOk)
+                .filter(Boolean::booleanValue)
+                .map(__ -> {
+                    batchGrid.add(null, lat, lng);
+                    requirements.forEach((materialId, qty) -> stockBudget.merge(materialId, -qty, Double::sum));
+                    return req.withRequestStatus(RequestStatus.PENDING)
+                            .withObservations(
+                                    "Validaciones OK → coordenada (%s,%s) libre y stock suficiente."
+                                            .formatted(lat, lng)
+                            );
+                })
+                .orElseGet(() -> req.withRequestStatus(RequestStatus.REJECTED)
+                        .withObservations(
+                                takenByOrder
+                                        ? "Rechazada: Coordenada (%s,%s) ocupada por una ORDEN.".formatted(lat, lng)
+                                        : takenInBatch
+                                        ? "Rechazada: Coordenada (%s,%s) repetida dentro del lote.".formatted(lat, lng)
+                                        : "Rechazada: Stock insuficiente para los materiales requeridos."
+                        ));
+    }
+
+    private List<StagedItem> insertBatch(List<StagedItem> staged) {
+
+        final var rows = staged.stream()
+                .filter(s -> s.request() != null)
+                .toList();
+
+        final var keyHolder = new GeneratedKeyHolder();
+
+        Optional.of(rows)
+                .filter(r -> !r.isEmpty())
+                .ifPresent(r -> jdbc.batchUpdate(
+                        con -> con.prepareStatement(INSERT_REQUEST_SQL, new String[]{"id"}),
+                        new BatchPreparedStatementSetter() {
+                            @Override
+                            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                                final var req = r.get(i).request();
+                                ps.setLong(1, req.getProject().getId());
+                                ps.setLong(2, req.getConstructionType().getId());
+                                ps.setDouble(3, req.getLatitude());
+                                ps.setDouble(4, req.getLongitude());
+                                ps.setLong(5, req.getRequestedBy().getId());
+                                ps.setDate(6, Date.valueOf(req.getRequestDate()));
+                                ps.setString(7, req.getRequestStatus().name());
+                                ps.setString(8, req.getObservations());
+                            }
+
+                            @Override
+                            public int getBatchSize() {
+                                return r.size();
+                            }
+                        },
+                        keyHolder
+                ));
+
+        final var keys = keyHolder.getKeyList();
+        final Map<Integer, Long> idsByIndex = IntStream.range(0, rows.size())
+                .boxed()
+                .collect(Collectors.toMap(
+                        i -> rows.get(i).index(),
+                        i -> ((Number) keys.get(i).get("id")).longValue()
+                ));
+
+        return staged.stream()
+                .map(s -> Optional.ofNullable(s.request())
+                        .map(req -> new StagedItem(s.index(), req.withId(idsByIndex.get(s.index())), null))
+                        .orElse(s))
+                .toList();
+    }
+
+    private ConstructionRequestBatchResultDto toBatchResult(List<StagedItem> staged) {
+
+        final var items = staged.stream()
+                .map(s -> Optional.ofNullable(s.request())
+                        .map(req -> ConstructionRequestBatchItemDto.builder()
+                                .index(s.index())
+                                .requestId(req.getId())
+                                .status(req.getRequestStatus().name())
+                                .observations(req.getObservations())
+                                .build())
+                        .orElseGet(() -> ConstructionRequestBatchItemDto.builder()
+                                .index(s.index())
+                                .status("INVALID")
+                                .observations(s.error())
+                                .build()))
+                .toList();
+
+        final var byStatus = items.stream()
+                .collect(Collectors.groupingBy(ConstructionRequestBatchItemDto::getStatus, Collectors.counting()));
+
+        return ConstructionRequestBatchResultDto.builder()
+                .total(items.size())
+                .pending(byStatus.getOrDefault(RequestStatus.PENDING.name(), 0L))
+                .rejected(byStatus.getOrDefault(RequestStatus.REJECTED.name(), 0L))
+                .invalid(byStatus.getOrDefault("INVALID", 0L))
+                .items(items)
+                .build();
+    }
+
+    private PrincipalCache.Principal requireArchitect(Long userId) {
+        final long architect = principals.roleBit(ARCHITECT_ROLE);
+
+        return principals.get(userId)
+                .map(p -> {
+                    log.debug("Validación de permisos — roles del usuario {}: {}", userId, principals.roleNames(p));
+                    return p;
+                })
+                .filter(p -> p.has(architect))
+                .orElseThrow(() -> new GlobalExceptionHandler.UnauthorizedException(
+                        "Se requiere ROLE_ARCHITECT para crear solicitudes."
+                ));
+    }
+
+    private List<Long> distinctIds(List<CreateConstructionRequestDto> items, Function<CreateConstructionRequestDto, Long> id) {
+        return items.stream()
+                .filter(Objects::nonNull)
+                .map(id)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
     // ================================================================================================
     // NOTIFICACIÓN — CREACIÓN (GLOBAL + POR USUARIO)
     // ================================================================================================
@@ -129,38 +377,6 @@ public class ConstructionRequestServiceImpl implements ConstructionRequestServic
         return req;
     }
 
-    // ================================================================================================
-    // NOTIFICACIÓN FINAL — APROBADA / FALLIDA (GLOBAL + POR USUARIO)
-    // ================================================================================================
-    private ConstructionRequest sendNotificationFinalStatus(ConstructionRequest req) {
-
-        var event = switch (req.getRequestStatus()) {
-            case APPROVED -> "CONSTRUCTION_REQUEST_APPROVED";
-            case FAILED -> "CONSTRUCTION_REQUEST_FAILED";
-            default -> null;
-        };
-
-        Optional.ofNullable(event).ifPresent(evt -> {
-
-            var dto = NotificationDto.builder()
-                    .eventType(evt)
-                    .payload(
-                            "Solicitud %s terminó en estado %s. %s"
-                                    .formatted(
-                                            req.getId(),
-                                            req.getRequestStatus(),
-                                            Optional.ofNullable(req.getObservations()).orElse("")
-                                    )
-                    )
-                    .build();
-
-            notificationService.send(dto);
-            notificationService.sendForUser(dto, req.getRequestedBy().getId());
-        });
-
-        return req;
-    }
-
     // ================================================================================================
     // LOADERS
     // ================================================================================================
@@ -168,14 +384,6 @@ public class ConstructionRequestServiceImpl implements ConstructionRequestServic
         return projectRepo.findById(id);
     }
 
-    private Optional<com.builderssas.api.domain.model.construction.ConstructionType> loadTypeFetchMaterials(Long id) {
-        return typeRepo.findByIdFetchMaterials(id);
-    }
-
-    private Optional<com.builderssas.api.domain.model.user.User> loadUser(Long id) {
-        return userRepo.findById(id);
-    }
-
     // ================================================================================================
     // BUILDER
     // ================================================================================================
@@ -231,67 +439,62 @@ public class ConstructionRequestServiceImpl implements ConstructionRequestServic
     }
 
     private boolean hasSufficientStock(ConstructionRequest req) {
-        return req.getConstructionType()
-                .getMaterials()
-                .stream()
-                .allMatch(rel -> rel.getMaterialType().getStock() >= rel.getQuantityRequired());
+        // BOM desde la near cache; solo el stock (dato vivo) se consulta en BD
+        return bomCache.get(req.getConstructionType().getId())
+                .map(ConstructionTypeBomCache.Bom::requirements)
+                .map(stockReservation::covers)
+                .orElse(false);
     }
 
     private boolean isCoordinateAvailable(Double lat, Double lng) {
-        return !orderRepo.existsByLatitudeAndLongitude(lat, lng);
+        return !coordinateIndex.isOccupied(lat, lng);
     }
 
     // ================================================================================================
-    // CREACIÓN DE ORDEN ASÍNCRONA
+    // CREACIÓN DE ORDEN — cola durable (order_creation_jobs)
     // ================================================================================================
-    private ConstructionRequest triggerOrderIfPending(ConstructionRequest saved) {
+    private ConstructionRequest enqueueOrderIfPending(ConstructionRequest saved) {
 
         Optional.of(saved)
                 .filter(r -> r.getRequestStatus() == RequestStatus.PENDING)
-                .ifPresent(r ->
-                        orderService.createOrderFromRequest(r)
-                                .whenComplete((order, ex) -> {
-                                    var updated = Optional.ofNullable(ex)
-                                            .<ConstructionRequest>map(err ->
-                                                    r.withRequestStatus(RequestStatus.FAILED)
-                                                            .withObservations(
-                                                                    (r.getObservations() == null ? "" : r.getObservations()) +
-                                                                            "\nError creando orden: " +
-                                                                            Optional.ofNullable(err.getCause())
-                                                                                    .map(Throwable::getMessage)
-                                                                                    .orElse(err.getMessage())
-                                                            )
-                                            )
-                                            .orElseGet(() ->
-                                                    r.withRequestStatus(RequestStatus.APPROVED)
-                                                            .withObservations(
-                                                                    (r.getObservations() == null ? "" : r.getObservations()) +
-                                                                            "\nAprobada: Orden creada para coordenada (%s,%s)"
-                                                                                    .formatted(r.getLatitude(), r.getLongitude())
-                                                            )
-                                            );
-
-                                    var persisted = requestRepo.save(updated);
-                                    sendNotificationFinalStatus(persisted);
-                                })
-                );
+                .ifPresent(r -> orderJobs.enqueue(List.of(r.getId())));
 
         return saved;
     }
 
+    private List<StagedItem> enqueuePending(List<StagedItem> staged) {
+        orderJobs.enqueue(staged.stream()
+                .map(StagedItem::request)
+                .filter(Objects::nonNull)
+                .filter(r -> r.getRequestStatus() == RequestStatus.PENDING)
+                .map(ConstructionRequest::getId)
+                .toList());
+        return staged;
+    }
+
+    // ================================================================================================
+    // SERIES TEMPORALES
+    // ================================================================================================
+    private ConstructionRequest countIfRejected(ConstructionRequest req) {
+        Optional.of(req)
+                .filter(r -> r.getRequestStatus() == RequestStatus.REJECTED)
+                .ifPresent(r -> timeSeries.increment(OrderTimeSeries.Counter.REQUESTS_REJECTED, 1));
+        return req;
+    }
+
     // ================================================================================================
-    // QUERIES
+    // QUERIES — proyecciones escalares (sin entidades gestionadas ni dirty checking)
     // ================================================================================================
     @Override
     public ConstructionRequestDto getById(Long id) {
-        return requestRepo.findByIdWithRelations(id)
+        return requestRepo.findRowById(id)
                 .map(this::toDto)
                 .orElseThrow(() -> new IllegalArgumentException("Solicitud no encontrada: " + id));
     }
 
     @Override
     public List<ConstructionRequestDto> getAll() {
-        return requestRepo.findAllWithRelations()
+        return requestRepo.findAllRows()
                 .stream()
                 .map(this::toDto)
                 .toList();
@@ -299,7 +502,7 @@ public class ConstructionRequestServiceImpl implements ConstructionRequestServic
 
     @Override
     public List<ConstructionRequestDto> getByProject(Long projectId) {
-        return requestRepo.findByProjectIdWithRelations(projectId)
+        return requestRepo.findRowsByProjectId(projectId)
                 .stream()
                 .map(this::toDto)
                 .toList();
@@ -307,7 +510,7 @@ public class ConstructionRequestServiceImpl implements ConstructionRequestServic
 
     @Override
     public List<ConstructionRequestDto> getByStatus(RequestStatus status) {
-        return requestRepo.findByRequestStatusWithRelations(status)
+        return requestRepo.findRowsByRequestStatus(status)
                 .stream()
                 .map(this::toDto)
                 .toList();
@@ -331,4 +534,20 @@ public class ConstructionRequestServiceImpl implements ConstructionRequestServic
                 .requestedByLastname(e.getRequestedBy().getLastname())
                 .build();
     }
+
+    private ConstructionRequestDto toDto(RequestRowView r) {
+        return ConstructionRequestDto.builder()
+                .id(r.getId())
+                .projectId(r.getProjectId())
+                .constructionTypeId(r.getConstructionTypeId())
+                .latitude(r.getLatitude())
+                .longitude(r.getLongitude())
+                .requestDate(r.getRequestDate())
+                .status(r.getRequestStatus().name())
+                .observations(r.getObservations())
+                .requestedById(r.getRequestedById())
+                .requestedByFirstname(r.getRequestedByFirstname())
+                .requestedByLastname(r.getRequestedByLastname())
+                .build();
+    }
 }
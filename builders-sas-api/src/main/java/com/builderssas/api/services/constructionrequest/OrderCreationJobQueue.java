@@ -0,0 +1,474 @@
+package com.builderssas.api.services.constructionrequest;
+
+import com.builderssas.api.config.AsyncConfig;
+import com.builderssas.api.config.OrderJobQueueConfig;
+import com.builderssas.api.core.async.DbConnectionBudget;
+import com.builderssas.api.domain.model.construction.ConstructionOrder;
+import com.builderssas.api.domain.model.construction.ConstructionRequest;
+import com.builderssas.api.domain.model.enums.RequestStatus;
+import com.builderssas.api.domain.model.notification.NotificationDto;
+import com.builderssas.api.repository.ConstructionRequestRepository;
+import com.builderssas.api.services.constructionorder.ConstructionOrderService;
+import com.builderssas.api.services.metrics.OrderTimeSeries;
+import com.builderssas.api.services.notification.NotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Cola durable de creación de órdenes (tabla order_creation_jobs).
+ *
+ *  - enqueue() inserta el trabajo en la transacción de la solicitud: si la
+ *    solicitud existe como PENDING, su trabajo también.
+ *  - Un hilo programado reclama lotes con FOR UPDATE SKIP LOCKED (varios nodos
+ *    pueden compartir la tabla sin pisarse) y a lo sumo la concurrencia asignada
+ *    por DbConnectionBudget (orders.jobs.db-share o .concurrency) está en proceso
+ *    a la vez; el resto espera en la tabla, no en memoria.
+ *  - Cada reclamo es un arrendamiento hasta locked_until: si el proceso muere,
+ *    el trabajo vuelve a estar disponible al vencer. attempts actúa como token:
+ *    antes de crear la orden se renueva el arrendamiento (si el token ya no vale,
+ *    el trabajo se abandona), se sigue renovando cada lease-ms / 3 mientras la
+ *    creación está en curso, y el cierre de la solicitud va en la misma
+ *    transacción que el DELETE con el token. Un worker que perdió el
+ *    arrendamiento no escribe el estado de la solicitud.
+ *  - Fallos transitorios (executor saturado, BD no disponible) se reintentan con
+ *    backoff exponencial + jitter; el resto deja la solicitud en FAILED como antes.
+ *  - Al arrancar se encolan las solicitudes PENDING que quedaron sin trabajo.
+ *  - Antes de crear la orden se comprueba que no exista ya una para la solicitud
+ *    (caída entre el guardado de la orden y el cierre de la solicitud); la
+ *    consulta usa uq_orders_request, que además impide una segunda orden.
+ */
+@Slf4j
+@Component
+public class OrderCreationJobQueue implements DisposableBean {
+
+    private static final String ENQUEUE_SQL = """
+            INSERT INTO order_creation_jobs (request_id, status, attempts, next_attempt_at, created_at)
+            VALUES (?, 'QUEUED', 0, now(), now())
+            ON CONFLICT (request_id) DO NOTHING
+            """;
+
+    private static final String RECOVER_SQL = """
+            INSERT INTO order_creation_jobs (request_id, status, attempts, next_attempt_at, created_at)
+            SELECT r.id, 'QUEUED', 0, now(), now()
+              FROM construction_requests r
+             WHERE r.request_status = 'PENDING'
+            ON CONFLICT (request_id) DO NOTHING
+            """;
+
+    private static final String CLAIM_SQL = """
+            WITH claimable AS (
+                SELECT id
+                  FROM order_creation_jobs
+                 WHERE (status = 'QUEUED' AND next_attempt_at <= now())
+                    OR (status = 'RUNNING' AND locked_until < now())
+                 ORDER BY next_attempt_at, id
+                 LIMIT ?
+                   FOR UPDATE SKIP LOCKED)
+            UPDATE order_creation_jobs j
+               SET status = 'RUNNING',
+                   attempts = j.attempts + 1,
+                   locked_until = now() + ? * INTERVAL '1 millisecond'
+              FROM claimable c
+             WHERE j.id = c.id
+            RETURNING j.id, j.request_id, j.attempts,
+                      EXTRACT(EPOCH FROM (clock_timestamp() - j.created_at)) * 1000000000 AS queued_nanos
+            """;
+
+    private static final String RETRY_SQL = """
+            UPDATE order_creation_jobs
+               SET status = 'QUEUED',
+                   locked_until = NULL,
+                   next_attempt_at = now() + ? * INTERVAL '1 millisecond',
+                   last_error = ?
+             WHERE id = ?
+               AND attempts = ?
+            """;
+
+    private static final String RENEW_SQL = """
+            UPDATE order_creation_jobs
+               SET locked_until = now() + ? * INTERVAL '1 millisecond'
+             WHERE id = ?
+               AND attempts = ?
+               AND status = 'RUNNING'
+            """;
+
+    private static final String COMPLETE_SQL = """
+            DELETE FROM order_creation_jobs WHERE id = ? AND attempts = ?
+            """;
+
+    private static final String ORDER_EXISTS_SQL = """
+            SELECT EXISTS (SELECT 1 FROM construction_orders WHERE construction_request_id = ?)
+            """;
+
+    private final OrderJobQueueConfig config;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final ConstructionRequestRepository requestRepo;
+    private final ConstructionOrderService orderService;
+    private final NotificationService notificationService;
+    private final OrderTimeSeries timeSeries;
+    private final ScheduledExecutorService scheduler;
+    private final int concurrency;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean wakePending = new AtomicBoolean();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+
+    /**
+     * Trabajo reclamado; attempts es el token del arrendamiento.
+     *
+     * enqueuedAtNanos = created_at (encolado en la transacción de la solicitud)
+     * llevado al reloj local: el reclamo devuelve cuánto esperó el trabajo según
+     * el reloj de la BD y se resta del System.nanoTime() del reclamo. Es el origen
+     * de REQUEST_TO_ORDER, sin depender de que ambos relojes coincidan.
+     */
+    private record ClaimedJob(long id, long requestId, int attempts, long enqueuedAtNanos) {
+    }
+
+    public record Stats(int inFlight, long completed, long retried, long recovered) {
+    }
+
+    public OrderCreationJobQueue(
+            final OrderJobQueueConfig config,
+            final JdbcTemplate jdbc,
+            final TransactionTemplate tx,
+            final ConstructionRequestRepository requestRepo,
+            final ConstructionOrderService orderService,
+            final NotificationService notificationService,
+            final OrderTimeSeries timeSeries,
+            final DbConnectionBudget budget
+    ) {
+        this.config = config;
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.requestRepo = requestRepo;
+        this.orderService = orderService;
+        this.notificationService = notificationService;
+        this.timeSeries = timeSeries;
+        this.concurrency = budget.threads(AsyncConfig.ORDER_JOBS);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final var t = new Thread(r, "order-jobs");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // ============================================================================================
+    // ✅ ENCOLAR — en la transacción del llamador; los workers despiertan tras el commit
+    // ============================================================================================
+    public void enqueue(final Collection<Long> requestIds) {
+        Optional.ofNullable(requestIds)
+                .filter(ids -> !ids.isEmpty())
+                .ifPresent(ids -> {
+                    jdbc.batchUpdate(ENQUEUE_SQL, ids.stream().map(id -> new Object[]{id}).toList());
+                    afterCommit(this::wakeUp);
+                });
+    }
+
+    // ============================================================================================
+    // ✅ ARRANQUE — recuperación de solicitudes PENDING huérfanas y sondeo periódico
+    // ============================================================================================
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        final int orphans = jdbc.update(RECOVER_SQL);
+        recovered.add(orphans);
+
+        Optional.of(orphans)
+                .filter(n -> n > 0)
+                .ifPresent(n -> log.warn("♻️ {} solicitudes PENDING sin trabajo de orden fueron reencoladas", n));
+
+        scheduler.scheduleWithFixedDelay(this::poll, 0, config.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private void wakeUp() {
+        if (wakePending.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(() -> {
+                    wakePending.set(false);
+                    poll();
+                });
+            } catch (RejectedExecutionException ex) {
+                // Apagándose: el trabajo sigue en la tabla
+                wakePending.set(false);
+            }
+        }
+    }
+
+    // ============================================================================================
+    // ✅ RECLAMAR — solo tantos trabajos como huecos libres
+    // ============================================================================================
+    private void poll() {
+        try {
+            final int free = concurrency - inFlight.get();
+            if (free <= 0) {
+                return;
+            }
+
+            final int limit = Math.min(free, config.getClaimBatchSize());
+            final var claimed = claim(limit);
+            claimed.forEach(this::process);
+
+            // Lote completo y aún hay huecos: seguir drenando sin esperar al siguiente sondeo
+            Optional.of(claimed.size())
+                    .filter(n -> n == limit && free > limit)
+                    .ifPresent(n -> wakeUp());
+        } catch (RuntimeException ex) {
+            // Nunca dejar morir el hilo programado
+            log.error("❌ Error reclamando trabajos de creación de órdenes: {}", ex.getMessage());
+        }
+    }
+
+    private List<ClaimedJob> claim(final int limit) {
+        return tx.execute(status -> jdbc.query(CLAIM_SQL,
+                (rs, n) -> new ClaimedJob(
+                        rs.getLong("id"),
+                        rs.getLong("request_id"),
+                        rs.getInt("attempts"),
+                        System.nanoTime() - Math.max(0L, rs.getLong("queued_nanos"))),
+                limit, (double) config.getLeaseMs()));
+    }
+
+    // ============================================================================================
+    // ✅ PROCESAR — crear la orden, reintentar o cerrar la solicitud
+    // ============================================================================================
+    private void process(final ClaimedJob job) {
+        inFlight.incrementAndGet();
+
+        CompletableFuture.completedFuture(job.requestId())
+                .thenApply(requestRepo::findByIdWithRelations)
+                .thenCompose(found -> found
+                        .filter(r -> r.getRequestStatus() == RequestStatus.PENDING)
+                        .map(r -> run(job, r))
+                        .orElseGet(() -> {
+                            // Solicitud ya resuelta (o eliminada): el trabajo sobra
+                            complete(job);
+                            return CompletableFuture.completedFuture(null);
+                        }))
+                .whenComplete((v, ex) -> {
+                    Optional.ofNullable(ex).ifPresent(err ->
+                            log.error("❌ Trabajo de orden {} (solicitud {}) quedó sin cerrar; se reintentará al vencer el arrendamiento: {}",
+                                    job.id(), job.requestId(), err.getMessage()));
+                    inFlight.decrementAndGet();
+                    wakeUp();
+                });
+    }
+
+    private CompletableFuture<Void> run(final ClaimedJob job, final ConstructionRequest req) {
+        // Token vigente y arrendamiento completo antes de crear nada
+        if (!renew(job)) {
+            log.warn("⏱️ Trabajo de orden {} (solicitud {}) perdió el arrendamiento antes de empezar; lo procesa otro worker",
+                    job.id(), job.requestId());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final var heartbeat = heartbeat(job);
+
+        final CompletableFuture<ConstructionOrder> creation = orderExists(req.getId())
+                ? CompletableFuture.completedFuture(null)
+                // Un rechazo síncrono (executor saturado) también llega como futuro fallido
+                : CompletableFuture.completedFuture(req).thenCompose(orderService::createOrderFromRequest);
+
+        return creation.handle((order, ex) -> {
+            heartbeat.cancel(false);
+
+            // Falló porque la orden ya existe (uq_orders_request): otro intento la creó
+            final var failure = Optional.ofNullable(ex).filter(err -> !orderExists(req.getId()));
+
+            failure.filter(OrderCreationJobQueue::isTransient)
+                    .filter(err -> job.attempts() < config.getMaxAttempts())
+                    .ifPresentOrElse(
+                            err -> retry(job, err),
+                            // Desde que se guardó la solicitud, incluida la espera en la tabla y los reintentos
+                            () -> settle(job, req, failure.orElse(null), System.nanoTime() - job.enqueuedAtNanos()));
+            return null;
+        });
+    }
+
+    private boolean orderExists(final Long requestId) {
+        return Boolean.TRUE.equals(jdbc.queryForObject(ORDER_EXISTS_SQL, Boolean.class, requestId));
+    }
+
+    private boolean renew(final ClaimedJob job) {
+        return jdbc.update(RENEW_SQL, (double) config.getLeaseMs(), job.id(), job.attempts()) == 1;
+    }
+
+    /** Renueva el arrendamiento mientras la creación sigue en curso. */
+    private ScheduledFuture<?> heartbeat(final ClaimedJob job) {
+        final long period = Math.max(1L, config.getLeaseMs() / 3);
+        return scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                if (!renew(job)) {
+                    log.warn("⏱️ Trabajo de orden {} (solicitud {}) perdió el arrendamiento durante la creación",
+                            job.id(), job.requestId());
+                }
+            } catch (RuntimeException ex) {
+                // Una excepción cancelaría la renovación periódica
+                log.warn("⏱️ No se pudo renovar el arrendamiento del trabajo {}: {}", job.id(), ex.getMessage());
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private static boolean isTransient(final Throwable ex) {
+        return Stream.iterate(ex, Objects::nonNull, Throwable::getCause)
+                .anyMatch(t -> t instanceof RejectedExecutionException
+                        || t instanceof TransientDataAccessException
+                        || t instanceof RecoverableDataAccessException
+                        || t instanceof CannotCreateTransactionException);
+    }
+
+    private void retry(final ClaimedJob job, final Throwable ex) {
+        final long delay = backoffMs(job.attempts());
+        final var message = Optional.ofNullable(ex.getCause()).map(Throwable::getMessage).orElse(ex.getMessage());
+
+        jdbc.update(RETRY_SQL, (double) delay, message, job.id(), job.attempts());
+        retried.increment();
+
+        log.warn("🔁 Orden de la solicitud {} falló (intento {}): {} → reintento en {} ms",
+                job.requestId(), job.attempts(), message, delay);
+    }
+
+    private void complete(final ClaimedJob job) {
+        jdbc.update(COMPLETE_SQL, job.id(), job.attempts());
+        completed.increment();
+    }
+
+    /**
+     * Backoff exponencial con "equal jitter": la mitad fija y la otra mitad aleatoria.
+     */
+    private long backoffMs(final int attempt) {
+        final long exp = Math.min(config.getMaxBackoffMs(),
+                config.getInitialBackoffMs() << Math.min(attempt - 1, 20));
+        return exp / 2 + ThreadLocalRandom.current().nextLong(exp / 2 + 1);
+    }
+
+    // ============================================================================================
+    // ✅ CIERRE — la solicitud queda APPROVED o FAILED
+    //    DELETE con token + estado de la solicitud en una transacción: sin token, no se escribe
+    // ============================================================================================
+    private void settle(final ClaimedJob job, final ConstructionRequest r, final Throwable ex, final long elapsedNanos) {
+        final var updated = resolved(r, ex);
+
+        final var persisted = tx.execute(status ->
+                jdbc.update(COMPLETE_SQL, job.id(), job.attempts()) == 1 ? requestRepo.save(updated) : null);
+
+        Optional.ofNullable(persisted).ifPresentOrElse(
+                saved -> {
+                    completed.increment();
+                    recordOutcome(ex == null, elapsedNanos);
+                    sendNotificationFinalStatus(saved);
+                },
+                () -> log.warn("⏱️ Trabajo de orden {} (solicitud {}) cerrado por otro worker; se descarta el resultado",
+                        job.id(), job.requestId()));
+    }
+
+    private static ConstructionRequest resolved(final ConstructionRequest r, final Throwable ex) {
+        return Optional.ofNullable(ex)
+                .<ConstructionRequest>map(err ->
+                        r.withRequestStatus(RequestStatus.FAILED)
+                                .withObservations(
+                                        (r.getObservations() == null ? "" : r.getObservations()) +
+                                                "\nError creando orden: " +
+                                                Optional.ofNullable(err.getCause())
+                                                        .map(Throwable::getMessage)
+                                                        .orElse(err.getMessage())
+                                )
+                )
+                .orElseGet(() ->
+                        r.withRequestStatus(RequestStatus.APPROVED)
+                                .withObservations(
+                                        (r.getObservations() == null ? "" : r.getObservations()) +
+                                                "\nAprobada: Orden creada para coordenada (%s,%s)"
+                                                        .formatted(r.getLatitude(), r.getLongitude())
+                                )
+                );
+    }
+
+    private void recordOutcome(boolean approved, long elapsedNanos) {
+        timeSeries.increment(approved ? OrderTimeSeries.Counter.REQUESTS_APPROVED : OrderTimeSeries.Counter.REQUESTS_FAILED, 1);
+        Optional.of(approved)
+                .filter(Boolean::booleanValue)
+                .ifPresent(ok -> timeSeries.recordLatency(OrderTimeSeries.Latency.REQUEST_TO_ORDER, elapsedNanos));
+    }
+
+    private void sendNotificationFinalStatus(ConstructionRequest req) {
+
+        var event = switch (req.getRequestStatus()) {
+            case APPROVED -> "CONSTRUCTION_REQUEST_APPROVED";
+            case FAILED -> "CONSTRUCTION_REQUEST_FAILED";
+            default -> null;
+        };
+
+        Optional.ofNullable(event).ifPresent(evt -> {
+
+            var dto = NotificationDto.builder()
+                    .eventType(evt)
+                    .payload(
+                            "Solicitud %s terminó en estado %s. %s"
+                                    .formatted(
+                                            req.getId(),
+                                            req.getRequestStatus(),
+                                            Optional.ofNullable(req.getObservations()).orElse("")
+                                    )
+                    )
+                    .build();
+
+            notificationService.send(dto);
+            notificationService.sendForUser(dto, req.getRequestedBy().getId());
+        });
+    }
+
+    // ============================================================================================
+    // ✅ ESTADÍSTICAS / APAGADO
+    // ============================================================================================
+    public Stats stats() {
+        return new Stats(inFlight.get(), completed.sum(), retried.sum(), recovered.sum());
+    }
+
+    private static void afterCommit(final Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+        log.info("Cola de órdenes detenida ({} trabajos en proceso; se reclamarán al vencer su arrendamiento)", inFlight.get());
+    }
+}
@@ -0,0 +1,173 @@
+package com.builderssas.api.services.constructiontype;
+
+import com.builderssas.api.domain.model.construction.ConstructionType;
+import com.builderssas.api.repository.ConstructionTypeRepository;
+import com.builderssas.api.repository.views.BomRowView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Near cache de datos de referencia: lista de materiales (BOM) de cada tipo
+ * de construcción.
+ *
+ *  - Cada BOM es inmutable: nombre, duración y dos arreglos planos paralelos
+ *    {materialTypeId[], quantityRequired[]} (sin entidades ni colecciones JPA).
+ *  - Todo el contenido vive en un Snapshot inmutable con versión; leer es un
+ *    get sobre el snapshot actual, sin locks.
+ *  - Las escrituras de ConstructionType / ConstructionTypeMaterial invalidan
+ *    reemplazando el snapshot de forma atómica (CAS) y subiendo la versión;
+ *    una carga en vuelo con versión vieja no se publica.
+ *  - Se precarga al arrancar con una sola consulta; un fallo carga solo ese tipo.
+ *  - Cuenta aciertos y fallos ({@link #stats()}).
+ */
+@Slf4j
+@Component
+public class ConstructionTypeBomCache {
+
+    /** BOM inmutable de un tipo de construcción. */
+    public record Bom(Long typeId, String name, Integer durationDays,
+                      long[] materialTypeIds, double[] quantities, long version) {
+
+        public int size() {
+            return materialTypeIds.length;
+        }
+
+        /** Requerimiento por material (id → cantidad), ordenado por id. */
+        public TreeMap<Long, Double> requirements() {
+            return IntStream.range(0, materialTypeIds.length)
+                    .boxed()
+                    .collect(Collectors.toMap(i -> materialTypeIds[i], i -> quantities[i], Double::sum, TreeMap::new));
+        }
+
+        /** Referencia desacoplada del tipo para asociaciones (@ManyToOne), sin materiales. */
+        public ConstructionType toTypeRef() {
+            return ConstructionType.builder()
+                    .id(typeId)
+                    .name(name)
+                    .durationDays(durationDays)
+                    .build();
+        }
+    }
+
+    public record Stats(long version, int types, long hits, long misses) {
+    }
+
+    private record Snapshot(Map<Long, Bom> boms, long version) {
+
+        Snapshot with(final Bom bom) {
+            final var copy = new HashMap<>(boms);
+            copy.put(bom.typeId(), bom);
+            return new Snapshot(Map.copyOf(copy), version);
+        }
+    }
+
+    private final ConstructionTypeRepository typeRepo;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(Map.of(), 0));
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ConstructionTypeBomCache(final ConstructionTypeRepository typeRepo) {
+        this.typeRepo = typeRepo;
+    }
+
+    // ============================================================================================
+    // ✅ ARRANQUE — precarga completa (una consulta)
+    // ============================================================================================
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        final long version = snapshot.get().version();
+        final var boms = toBoms(typeRepo.findAllBomRows(), version);
+
+        snapshot.updateAndGet(current -> current.version() == version
+                ? new Snapshot(Map.copyOf(boms), version)
+                : current);
+
+        log.info("🧱 BOM cache precargada: {} tipos de construcción (versión {})", boms.size(), version);
+    }
+
+    // ============================================================================================
+    // ✅ CONSULTA
+    // ============================================================================================
+    public Optional<Bom> get(final Long typeId) {
+        return Optional.ofNullable(typeId)
+                .flatMap(id -> Optional.ofNullable(snapshot.get().boms().get(id))
+                        .map(bom -> {
+                            hits.increment();
+                            return bom;
+                        })
+                        .or(() -> {
+                            misses.increment();
+                            return load(id);
+                        }));
+    }
+
+    public Stats stats() {
+        final var current = snapshot.get();
+        return new Stats(current.version(), current.boms().size(), hits.sum(), misses.sum());
+    }
+
+    // ============================================================================================
+    // ✅ INVALIDACIÓN — atómica (nuevo snapshot + versión)
+    // ============================================================================================
+    public void invalidate(final Long typeId) {
+        snapshot.updateAndGet(current -> {
+            final var copy = new HashMap<>(current.boms());
+            copy.remove(typeId);
+            return new Snapshot(Map.copyOf(copy), current.version() + 1);
+        });
+    }
+
+    public void invalidateAll() {
+        snapshot.updateAndGet(current -> new Snapshot(Map.of(), current.version() + 1));
+    }
+
+    // ============================================================================================
+    // INTERNOS
+    // ============================================================================================
+    private Optional<Bom> load(final Long typeId) {
+        final long version = snapshot.get().version();
+        final var bom = Optional.ofNullable(toBoms(typeRepo.findBomRows(typeId), version).get(typeId));
+
+        // Solo se publica si nadie invalidó mientras se consultaba
+        bom.ifPresent(b -> snapshot.updateAndGet(current -> current.version() == version ? current.with(b) : current));
+        return bom;
+    }
+
+    private static Map<Long, Bom> toBoms(final List<BomRowView> rows, final long version) {
+        return rows.stream()
+                .collect(Collectors.groupingBy(BomRowView::getTypeId))
+                .values()
+                .stream()
+                .map(typeRows -> toBom(typeRows, version))
+                .collect(Collectors.toMap(Bom::typeId, b -> b));
+    }
+
+    private static Bom toBom(final List<BomRowView> typeRows, final long version) {
+        final var first = typeRows.get(0);
+        final var materials = typeRows.stream()
+                .filter(r -> Objects.nonNull(r.getMaterialTypeId()))
+                .toList();
+
+        return new Bom(
+                first.getTypeId(),
+                first.getTypeName(),
+                first.getDurationDays(),
+                materials.stream().mapToLong(BomRowView::getMaterialTypeId).toArray(),
+                materials.stream().mapToDouble(r -> Optional.ofNullable(r.getQuantityRequired()).orElse(0d)).toArray(),
+                version);
+    }
+}
@@ -0,0 +1,25 @@
+package com.builderssas.api.services.export;
+
+import com.builderssas.api.core.export.ExportFormat;
+
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.io.OutputStream;
+
+/**
+ * Exportación masiva (BI) de órdenes y solicitudes, escrita en streaming.
+ */
+public interface ExportService {
+
+    /** Escribe todas las órdenes en el formato indicado. Devuelve las filas escritas. */
+    long exportOrders(ExportFormat format, OutputStream out);
+
+    /** Escribe todas las solicitudes en el formato indicado. Devuelve las filas escritas. */
+    long exportRequests(ExportFormat format, OutputStream out);
+
+    /**
+     * Escribe el resultado de una consulta arbitraria (parámetros con nombre) con el
+     * mismo cursor de solo avance. Las columnas salen de los alias del SELECT.
+     */
+    long export(String label, String sql, SqlParameterSource params, ExportFormat format, OutputStream out);
+}
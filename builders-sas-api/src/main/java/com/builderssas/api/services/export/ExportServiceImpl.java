@@ -0,0 +1,129 @@
+package com.builderssas.api.services.export;
+
+import com.builderssas.api.config.ExportConfig;
+import com.builderssas.api.core.export.ExportFormat;
+import com.builderssas.api.core.export.ResultSetStreamWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.EmptySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/**
+ * Exportación en streaming con cursor JDBC de solo avance.
+ *
+ *  - JdbcTemplate propio con fetchSize: el driver trae export.fetch-size filas por viaje.
+ *  - Transacción de solo lectura: en PostgreSQL el cursor del servidor solo se usa
+ *    con autocommit desactivado.
+ *  - Sin entidades gestionadas ni listas: cada fila se serializa directamente en la
+ *    respuesta (ver {@link ResultSetStreamWriter}).
+ */
+@Slf4j
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final String ORDERS_SQL = """
+            SELECT o.id,
+                   o.construction_request_id,
+                   o.project_id,
+                   p.name  AS project_name,
+                   o.construction_type_id,
+                   ct.name AS construction_type_name,
+                   o.requested_by_user_id,
+                   u.firstname AS requested_by_firstname,
+                   u.lastname  AS requested_by_lastname,
+                   o.latitude,
+                   o.longitude,
+                   o.requested_date,
+                   o.scheduled_start_date,
+                   o.scheduled_end_date,
+                   o.order_status,
+                   o.created_at,
+                   o.updated_at,
+                   o.observations
+              FROM construction_orders o
+              JOIN projects p            ON p.id = o.project_id
+              JOIN construction_types ct ON ct.id = o.construction_type_id
+              JOIN users u               ON u.id = o.requested_by_user_id
+             ORDER BY o.id
+            """;
+
+    private static final String REQUESTS_SQL = """
+            SELECT r.id,
+                   r.project_id,
+                   p.name  AS project_name,
+                   r.construction_type_id,
+                   ct.name AS construction_type_name,
+                   r.requested_by_user_id,
+                   u.firstname AS requested_by_firstname,
+                   u.lastname  AS requested_by_lastname,
+                   r.latitude,
+                   r.longitude,
+                   r.request_date,
+                   r.request_status,
+                   r.observations
+              FROM construction_requests r
+              JOIN projects p            ON p.id = r.project_id
+              JOIN construction_types ct ON ct.id = r.construction_type_id
+              JOIN users u               ON u.id = r.requested_by_user_id
+             ORDER BY r.id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper mapper;
+
+    public ExportServiceImpl(
+            final DataSource dataSource,
+            final PlatformTransactionManager txManager,
+            final ObjectMapper mapper,
+            final ExportConfig config
+    ) {
+        final var streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(config.getFetchSize());
+        streaming.setQueryTimeout(config.getQueryTimeoutSeconds());
+        this.jdbc = new NamedParameterJdbcTemplate(streaming);
+
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+
+        this.mapper = mapper;
+    }
+
+    @Override
+    public long exportOrders(final ExportFormat format, final OutputStream out) {
+        return export("órdenes", ORDERS_SQL, EmptySqlParameterSource.INSTANCE, format, out);
+    }
+
+    @Override
+    public long exportRequests(final ExportFormat format, final OutputStream out) {
+        return export("solicitudes", REQUESTS_SQL, EmptySqlParameterSource.INSTANCE, format, out);
+    }
+
+    @Override
+    public long export(
+            final String label,
+            final String sql,
+            final SqlParameterSource params,
+            final ExportFormat format,
+            final OutputStream out
+    ) {
+        final long start = System.currentTimeMillis();
+
+        final long rows = Optional.ofNullable(readOnlyTx.execute(status ->
+                        jdbc.query(sql, params, new ResultSetStreamWriter(format, out, mapper.getFactory()))))
+                .orElse(0L);
+
+        log.info("📤 Exportación de {} ({}): {} filas en {} ms",
+                label, format, rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+}
@@ -1,26 +1,79 @@
 package com.builderssas.api.services.impl;
 
+import com.builderssas.api.core.async.ExecutorRegistry;
+import com.builderssas.api.core.async.ExecutorWorkload;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 /**
- * Centralized async executor for all services.
+ * Centralized async entry point for all services.
+ *
+ * Delegates to the named pools of {@link ExecutorRegistry}; calls without an
+ * explicit workload run on the crud-read pool.
+ *
+ * In DIRECT mode (executors.mode=DIRECT) the supplier runs on the calling
+ * thread behind the registry's semaphore and an already completed future is
+ * returned, so thenCompose chains no longer hop between threads.
+ *
+ * Fused pipelines: {@link #inTransaction} and {@link #readOnly} run a whole
+ * logical CRUD operation (lookups + save + DTO mapping) as ONE task inside ONE
+ * transaction, sharing a single persistence context, and return one future.
  */
 @Service
 public class AsyncService {
 
-    private final ExecutorService executor = Executors.newFixedThreadPool(
-            Runtime.getRuntime().availableProcessors()
-    );
+    private final ExecutorRegistry executors;
+    private final TransactionTemplate writeTx;
+    private final TransactionTemplate readTx;
 
-    public <T> CompletableFuture<T> supplyAsync(java.util.function.Supplier<T> supplier) {
-        return CompletableFuture.supplyAsync(supplier, executor);
+    public AsyncService(ExecutorRegistry executors, PlatformTransactionManager txManager) {
+        this.executors = executors;
+        this.writeTx = new TransactionTemplate(txManager);
+        this.readTx = new TransactionTemplate(txManager);
+        this.readTx.setReadOnly(true);
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        return supplyAsync(ExecutorWorkload.CRUD_READ, supplier);
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(ExecutorWorkload workload, Supplier<T> supplier) {
+        return executors.direct()
+                .map(gate -> gate.supply(supplier))
+                .orElseGet(() -> CompletableFuture.supplyAsync(supplier, executors.get(workload)));
     }
 
     public CompletableFuture<Void> runAsync(Runnable runnable) {
-        return CompletableFuture.runAsync(runnable, executor);
+        return runAsync(ExecutorWorkload.CRUD_READ, runnable);
+    }
+
+    public CompletableFuture<Void> runAsync(ExecutorWorkload workload, Runnable runnable) {
+        return executors.direct()
+                .map(gate -> gate.supply(() -> {
+                    runnable.run();
+                    return (Void) null;
+                }))
+                .orElseGet(() -> CompletableFuture.runAsync(runnable, executors.get(workload)));
+    }
+
+    /**
+     * Runs the whole operation as a single crud-write task inside one
+     * read-write transaction; any exception rolls it back.
+     */
+    public <T> CompletableFuture<T> inTransaction(Supplier<T> operation) {
+        return supplyAsync(ExecutorWorkload.CRUD_WRITE, () -> writeTx.execute(status -> operation.get()));
+    }
+
+    /**
+     * Runs the whole read (query + DTO mapping) as a single crud-read task
+     * inside one read-only transaction, so lazy associations resolve in the
+     * same persistence context.
+     */
+    public <T> CompletableFuture<T> readOnly(Supplier<T> operation) {
+        return supplyAsync(ExecutorWorkload.CRUD_READ, () -> readTx.execute(status -> operation.get()));
     }
 }
@@ -7,6 +7,7 @@ import com.builderssas.api.domain.model.construction.dto.CreateConstructionTypeD
 import com.builderssas.api.domain.model.construction.dto.UpdateConstructionTypeDto;
 import com.builderssas.api.mapper.ctype.ConstructionTypeMapper;
 import com.builderssas.api.repository.ConstructionTypeRepository;
+import com.builderssas.api.services.constructiontype.ConstructionTypeBomCache;
 import com.builderssas.api.services.ConstructionTypeService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -27,22 +28,22 @@ public class ConstructionTypeAsyncService
     private final ConstructionTypeRepository repository;
     private final ConstructionTypeMapper mapper;
     private final AsyncService asyncService;
+    private final ConstructionTypeBomCache bomCache;
 
     public ConstructionTypeAsyncService(ConstructionTypeRepository repository,
                                         ConstructionTypeMapper mapper,
-                                        AsyncService asyncService) {
+                                        AsyncService asyncService,
+                                        ConstructionTypeBomCache bomCache) {
         super(repository, mapper, asyncService);
         this.repository = repository;
         this.mapper = mapper;
         this.asyncService = asyncService;
+        this.bomCache = bomCache;
     }
 
     @Override
     public CompletableFuture<ConstructionTypeDto> create(CreateConstructionTypeDto dto) {
-        return asyncService
-                .supplyAsync(() -> mapper.toEntity(dto))
-                .thenCompose(entity -> asyncService.supplyAsync(() -> repository.save(entity)))
-                .thenApply(mapper::toDto);
+        return createAsync(dto);
     }
 
     @Override
@@ -57,11 +58,16 @@ public class ConstructionTypeAsyncService
 
     @Override
     public CompletableFuture<ConstructionTypeDto> update(Long id, UpdateConstructionTypeDto dto) {
-        return updateAsync(id, dto);
+        return updateAsync(id, dto)
+                .thenApply(type -> {
+                    bomCache.invalidate(id);
+                    return type;
+                });
     }
 
     @Override
     public CompletableFuture<Void> delete(Long id) {
-        return deleteAsync(id);
+        return deleteAsync(id)
+                .thenRun(() -> bomCache.invalidate(id));
     }
 }
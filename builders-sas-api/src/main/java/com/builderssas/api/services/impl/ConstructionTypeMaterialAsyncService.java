@@ -7,6 +7,7 @@ import com.builderssas.api.domain.model.construction.dto.CreateConstructionTypeM
 import com.builderssas.api.domain.model.construction.dto.UpdateConstructionTypeMaterialDto;
 import com.builderssas.api.mapper.construction.ConstructionTypeMaterialMapper;
 import com.builderssas.api.repository.ConstructionTypeMaterialRepository;
+import com.builderssas.api.services.constructiontype.ConstructionTypeBomCache;
 import com.builderssas.api.services.ConstructionTypeMaterialService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,16 +27,19 @@ public class ConstructionTypeMaterialAsyncService extends AbstractAsyncService<
     private final ConstructionTypeMaterialRepository repository;
     private final ConstructionTypeMaterialMapper mapper;
     private final AsyncService asyncService;
+    private final ConstructionTypeBomCache bomCache;
 
     public ConstructionTypeMaterialAsyncService(
             ConstructionTypeMaterialRepository repository,
             ConstructionTypeMaterialMapper mapper,
-            AsyncService asyncService
+            AsyncService asyncService,
+            ConstructionTypeBomCache bomCache
     ) {
         super(repository, mapper, asyncService);
         this.repository = repository;
         this.mapper = mapper;
         this.asyncService = asyncService;
+        this.bomCache = bomCache;
     }
 
     // =========================================
@@ -43,9 +47,7 @@ public class ConstructionTypeMaterialAsyncService extends AbstractAsyncService<
     // =========================================
     @Override
     public CompletableFuture<List<ConstructionTypeMaterialDto>> getAll() {
-        return asyncService
-                .supplyAsync(repository::findAllWithRelations)
-                .thenApply(mapper::toDtoList);
+        return asyncService.readOnly(() -> mapper.toDtoList(repository.findAllWithRelations()));
     }
 
     // =========================================
@@ -53,10 +55,9 @@ public class ConstructionTypeMaterialAsyncService extends AbstractAsyncService<
     // =========================================
     @Override
     public CompletableFuture<ConstructionTypeMaterialDto> getById(Long id) {
-        return asyncService
-                .supplyAsync(() -> repository.findByIdWithRelations(id)
-                        .orElseThrow(() -> new RuntimeException("Registro no encontrado: " + id)))
-                .thenApply(mapper::toDto);
+        return asyncService.readOnly(() -> repository.findByIdWithRelations(id)
+                .map(mapper::toDto)
+                .orElseThrow(() -> new RuntimeException("Registro no encontrado: " + id)));
     }
 
     // =========================================
@@ -64,10 +65,8 @@ public class ConstructionTypeMaterialAsyncService extends AbstractAsyncService<
     // =========================================
     @Override
     public CompletableFuture<ConstructionTypeMaterialDto> create(CreateConstructionTypeMaterialDto dto) {
-        return asyncService
-                .supplyAsync(() -> mapper.toEntity(dto))
-                .thenCompose(entity -> asyncService.supplyAsync(() -> repository.save(entity)))
-                .thenApply(mapper::toDto);
+        return createAsync(dto)
+                .thenApply(this::invalidateBoms);
     }
 
     // =========================================
@@ -75,7 +74,8 @@ public class ConstructionTypeMaterialAsyncService extends AbstractAsyncService<
     // =========================================
     @Override
     public CompletableFuture<ConstructionTypeMaterialDto> update(Long id, UpdateConstructionTypeMaterialDto dto) {
-        return updateAsync(id, dto);
+        return updateAsync(id, dto)
+                .thenApply(this::invalidateBoms);
     }
 
     // =========================================
@@ -83,6 +83,16 @@ public class ConstructionTypeMaterialAsyncService extends AbstractAsyncService<
     // =========================================
     @Override
     public CompletableFuture<Void> delete(Long id) {
-        return deleteAsync(id);
+        return deleteAsync(id)
+                .thenRun(bomCache::invalidateAll);
+    }
+
+    /**
+     * Una relación puede cambiar de tipo de construcción: se invalida la BOM
+     * cache completa (son pocos tipos y se recargan bajo demanda).
+     */
+    private ConstructionTypeMaterialDto invalidateBoms(ConstructionTypeMaterialDto dto) {
+        bomCache.invalidateAll();
+        return dto;
     }
 }
@@ -8,6 +8,7 @@ import com.builderssas.api.domain.model.material.dto.UpdateMaterialTypeDto;
 import com.builderssas.api.mapper.material.MaterialTypeMapper;
 import com.builderssas.api.repository.MaterialTypeRepository;
 import com.builderssas.api.services.MaterialTypeService;
+import com.builderssas.api.services.stock.CapacityEngine;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -27,22 +28,22 @@ public class MaterialTypeAsyncService
     private final MaterialTypeRepository repository;
     private final MaterialTypeMapper mapper;
     private final AsyncService asyncService;
+    private final CapacityEngine capacity;
 
     public MaterialTypeAsyncService(MaterialTypeRepository repository,
                                     MaterialTypeMapper mapper,
-                                    AsyncService asyncService) {
+                                    AsyncService asyncService,
+                                    CapacityEngine capacity) {
         super(repository, mapper, asyncService);
         this.repository = repository;
         this.mapper = mapper;
         this.asyncService = asyncService;
+        this.capacity = capacity;
     }
 
     @Override
     public CompletableFuture<MaterialTypeDto> create(CreateMaterialTypeDto dto) {
-        return asyncService
-                .supplyAsync(() -> mapper.toEntity(dto))
-                .thenCompose(entity -> asyncService.supplyAsync(() -> repository.save(entity)))
-                .thenApply(mapper::toDto);
+        return createAsync(dto);
     }
 
     @Override
@@ -57,7 +58,11 @@ public class MaterialTypeAsyncService
 
     @Override
     public CompletableFuture<MaterialTypeDto> update(Long id, UpdateMaterialTypeDto dto) {
-        return updateAsync(id, dto);
+        return updateAsync(id, dto)
+                .thenApply(material -> {
+                    capacity.setStock(material.getId(), material.getStock(), material.getName());
+                    return material;
+                });
     }
 
     @Override
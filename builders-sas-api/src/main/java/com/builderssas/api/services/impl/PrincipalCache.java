@@ -0,0 +1,176 @@
+package com.builderssas.api.services.impl;
+
+import com.builderssas.api.config.PrincipalCacheConfig;
+import com.builderssas.api.domain.model.user.User;
+import com.builderssas.api.repository.UserRepository;
+import com.builderssas.api.repository.views.PrincipalRowView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché de principales por userId para las validaciones de autorización.
+ *
+ * Cada entrada guarda los campos mínimos del usuario y una máscara de bits con
+ * sus roles (nombre normalizado con trim + upper-case una sola vez, al cargar):
+ * "¿tiene ROLE_ARCHITECT?" pasa a ser un get en un mapa y un AND de bits.
+ *
+ *  - Carga: una proyección escalar (usuario LEFT JOIN roles), sin entidades.
+ *  - TTL: auth.principal-cache.ttl-ms.
+ *  - Invalidación explícita desde las escrituras de UserRole / Role / User,
+ *    inmediata y de nuevo tras el commit; un contador de invalidaciones evita
+ *    cachear una carga que quedó vieja en vuelo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache {
+
+    private final UserRepository userRepo;
+    private final PrincipalCacheConfig config;
+
+    /** Usuario autenticable con sus roles como máscara de bits. */
+    public record Principal(Long id, String username, String firstname, String lastname, long roleMask) {
+
+        public boolean has(final long roleBit) {
+            return (roleMask & roleBit) != 0;
+        }
+
+        /** Referencia desacoplada para asociaciones (@ManyToOne) sin volver a cargar el usuario. */
+        public User toUserRef() {
+            return User.builder()
+                    .id(id)
+                    .username(username)
+                    .firstname(firstname)
+                    .lastname(lastname)
+                    .build();
+        }
+    }
+
+    private record Entry(Principal principal, long loadedAt) {
+    }
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /** Nombre de rol normalizado → bit asignado (máximo 64 roles distintos). */
+    private final Map<String, Long> roleBits = new ConcurrentHashMap<>();
+    private final AtomicInteger nextBit = new AtomicInteger();
+
+    /** Se incrementa en cada invalidación; evita cachear una carga que quedó vieja en vuelo. */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // ============================================================================================
+    // ✅ CONSULTA
+    // ============================================================================================
+    public Optional<Principal> get(final Long userId) {
+        final long now = System.currentTimeMillis();
+
+        return Optional.ofNullable(userId)
+                .map(entries::get)
+                .filter(e -> now - e.loadedAt() < config.getTtlMs())
+                .map(Entry::principal)
+                .or(() -> Optional.ofNullable(userId).flatMap(this::load));
+    }
+
+    /** Bit del rol (normalizado); se asigna la primera vez que se ve. */
+    public long roleBit(final String roleName) {
+        return roleBits.computeIfAbsent(normalize(roleName), name -> {
+            final int bit = nextBit.getAndIncrement();
+            if (bit >= Long.SIZE) {
+                throw new IllegalStateException("PrincipalCache admite hasta 64 roles distintos");
+            }
+            return 1L << bit;
+        });
+    }
+
+    /** Nombres de los roles presentes en la máscara (diagnóstico). */
+    public List<String> roleNames(final Principal principal) {
+        return roleBits.entrySet().stream()
+                .filter(e -> principal.has(e.getValue()))
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+    }
+
+    // ============================================================================================
+    // ✅ INVALIDACIÓN — inmediata y otra vez tras el commit
+    // ============================================================================================
+    public void invalidate(final Long userId) {
+        afterCommitToo(() -> {
+            invalidations.incrementAndGet();
+            entries.remove(userId);
+        });
+    }
+
+    public void invalidateAll() {
+        afterCommitToo(() -> {
+            invalidations.incrementAndGet();
+            entries.clear();
+        });
+    }
+
+    // ============================================================================================
+    // INTERNOS
+    // ============================================================================================
+    private Optional<Principal> load(final Long userId) {
+        final long generation = invalidations.get();
+        final var rows = userRepo.findPrincipalRows(userId);
+
+        final var principal = rows.stream()
+                .findFirst()
+                .map(first -> new Principal(
+                        first.getId(),
+                        first.getUsername(),
+                        first.getFirstname(),
+                        first.getLastname(),
+                        rows.stream()
+                                .map(PrincipalRowView::getRoleName)
+                                .filter(Objects::nonNull)
+                                .mapToLong(this::roleBit)
+                                .reduce(0L, (a, b) -> a | b)));
+
+        principal.filter(p -> generation == invalidations.get())
+                .ifPresent(p -> {
+                    evictIfFull();
+                    entries.put(userId, new Entry(p, System.currentTimeMillis()));
+                });
+
+        return principal;
+    }
+
+    private void evictIfFull() {
+        Optional.of(entries.size())
+                .filter(size -> size >= config.getMaxEntries())
+                .flatMap(size -> entries.entrySet().stream()
+                        .min(Comparator.comparingLong(e -> e.getValue().loadedAt())))
+                .ifPresent(oldest -> entries.remove(oldest.getKey()));
+    }
+
+    private static String normalize(final String roleName) {
+        return roleName.trim().toUpperCase();
+    }
+
+    private static void afterCommitToo(final Runnable task) {
+        task.run();
+
+        Optional.of(TransactionSynchronizationManager.isSynchronizationActive())
+                .filter(Boolean::booleanValue)
+                .ifPresent(active -> TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        task.run();
+                    }
+                }));
+    }
+}
@@ -39,10 +39,7 @@ public class ProjectAsyncService
 
     @Override
     public CompletableFuture<ProjectDto> create(CreateProjectDto dto) {
-        return asyncService
-                .supplyAsync(() -> mapper.toEntity(dto))
-                .thenCompose(entity -> asyncService.supplyAsync(() -> repository.save(entity)))
-                .thenApply(mapper::toDto);
+        return createAsync(dto);
     }
 
     @Override
@@ -23,22 +23,22 @@ public class RoleAsyncService
     private final RoleRepository repository;
     private final RoleMapper mapper;
     private final AsyncService asyncService;
+    private final PrincipalCache principals;
 
     public RoleAsyncService(RoleRepository repository,
                             RoleMapper mapper,
-                            AsyncService asyncService) {
+                            AsyncService asyncService,
+                            PrincipalCache principals) {
         super(repository, mapper, asyncService);
         this.repository = repository;
         this.mapper = mapper;
         this.asyncService = asyncService;
+        this.principals = principals;
     }
 
     @Override
     public CompletableFuture<RoleDto> create(CreateRoleDto dto) {
-        return asyncService
-                .supplyAsync(() -> mapper.toEntity(dto))
-                .thenCompose(entity -> asyncService.supplyAsync(() -> repository.save(entity)))
-                .thenApply(mapper::toDto);
+        return createAsync(dto);
     }
 
     @Override
@@ -53,11 +53,17 @@ public class RoleAsyncService
 
     @Override
     public CompletableFuture<RoleDto> update(Long id, UpdateRoleDto dto) {
-        return updateAsync(id, dto);
+        // Un rol renombrado cambia la máscara de todos sus usuarios
+        return updateAsync(id, dto)
+                .thenApply(role -> {
+                    principals.invalidateAll();
+                    return role;
+                });
     }
 
     @Override
     public CompletableFuture<Void> delete(Long id) {
-        return deleteAsync(id);
+        return deleteAsync(id)
+                .thenRun(principals::invalidateAll);
     }
 }
@@ -21,16 +21,19 @@ public class UserAsyncService
     private final UserRepository repository;
     private final UserMapper mapper;
     private final AsyncService asyncService;
+    private final PrincipalCache principals;
 
     public UserAsyncService(
             UserRepository repository,
             UserMapper mapper,
-            AsyncService asyncService
+            AsyncService asyncService,
+            PrincipalCache principals
     ) {
         super(repository, mapper, asyncService);
         this.repository = repository;
         this.mapper = mapper;
         this.asyncService = asyncService;
+        this.principals = principals;
     }
 
     // ───────────────────────────────────────────────
@@ -38,9 +41,7 @@ public class UserAsyncService
     // ───────────────────────────────────────────────
     @Override
     public CompletableFuture<UserDto> create(CreateUserDto dto) {
-        return asyncService.supplyAsync(() -> mapper.toEntity(dto))
-                .thenCompose(entity -> asyncService.supplyAsync(() -> repository.save(entity)))
-                .thenApply(mapper::toDto);
+        return createAsync(dto);
     }
 
     // ───────────────────────────────────────────────
@@ -64,7 +65,11 @@ public class UserAsyncService
     // ───────────────────────────────────────────────
     @Override
     public CompletableFuture<UserDto> update(Long id, UpdateUserDto dto) {
-        return updateAsync(id, dto);
+        return updateAsync(id, dto)
+                .thenApply(user -> {
+                    principals.invalidate(id);
+                    return user;
+                });
     }
 
     // ───────────────────────────────────────────────
@@ -72,7 +77,8 @@ public class UserAsyncService
     // ───────────────────────────────────────────────
     @Override
     public CompletableFuture<Void> delete(Long id) {
-        return deleteAsync(id);
+        return deleteAsync(id)
+                .thenRun(() -> principals.invalidate(id));
     }
 
     // ───────────────────────────────────────────────
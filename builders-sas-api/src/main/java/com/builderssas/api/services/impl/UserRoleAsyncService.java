@@ -1,6 +1,8 @@
 package com.builderssas.api.services.impl;
 
 import com.builderssas.api.core.async.AbstractAsyncService;
+import com.builderssas.api.domain.model.user.Role;
+import com.builderssas.api.domain.model.user.User;
 import com.builderssas.api.domain.model.user.UserRole;
 import com.builderssas.api.domain.model.user.dto.CreateUserRoleDto;
 import com.builderssas.api.domain.model.user.dto.UpdateUserRoleDto;
@@ -14,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 @Slf4j
@@ -27,18 +30,24 @@ public class UserRoleAsyncService extends AbstractAsyncService<
     private final RoleRepository roleRepository;
     private final UserRoleMapper mapper;
     private final AsyncService asyncService;
+    private final UserRoleMembershipIndex membership;
+    private final PrincipalCache principals;
 
     public UserRoleAsyncService(UserRoleRepository repository,
                                 UserRepository userRepository,
                                 RoleRepository roleRepository,
                                 UserRoleMapper mapper,
-                                AsyncService asyncService) {
+                                AsyncService asyncService,
+                                UserRoleMembershipIndex membership,
+                                PrincipalCache principals) {
         super(repository, mapper, asyncService);
         this.repository = repository;
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.mapper = mapper;
         this.asyncService = asyncService;
+        this.membership = membership;
+        this.principals = principals;
     }
 
     // =========================================================================
@@ -46,12 +55,11 @@ public class UserRoleAsyncService extends AbstractAsyncService<
     // =========================================================================
     @Override
     public CompletableFuture<UserRoleDto> getById(Long id) {
-        return asyncService
-                .supplyAsync(() ->
-                        repository.findById(id)
-                                .orElseThrow(() -> new IllegalArgumentException("No existe UserRole con ID: " + id))
-                )
-                .thenApply(mapper::toDto);
+        return asyncService.readOnly(() ->
+                repository.findById(id)
+                        .map(mapper::toDto)
+                        .orElseThrow(() -> new IllegalArgumentException("No existe UserRole con ID: " + id))
+        );
     }
 
     // =========================================================================
@@ -59,76 +67,57 @@ public class UserRoleAsyncService extends AbstractAsyncService<
     // =========================================================================
     @Override
     public CompletableFuture<List<UserRoleDto>> getAll() {
-        return asyncService
-                .supplyAsync(repository::findAll)
-                .thenApply(mapper::toDtoList);
+        return asyncService.readOnly(() -> mapper.toDtoList(repository.findAll()));
     }
 
     // =========================================================================
-    // ✅ GET BY USER ID
+    // ✅ GET BY USER ID — índice de membresía + idx_user_roles_user
     // =========================================================================
     @Override
     public CompletableFuture<List<UserRoleDto>> getByUserId(Long userId) {
-        return asyncService
-                .supplyAsync(() -> repository.findAll().stream()
-                        .filter(ur -> ur.getUser().getId().equals(userId))
-                        .toList()
-                )
-                .thenApply(mapper::toDtoList);
+        return Optional.of(userId)
+                .filter(membership::hasAnyRole)
+                .map(id -> asyncService.readOnly(() -> mapper.toRowDtoList(repository.findRowsByUserId(id))))
+                .orElseGet(() -> CompletableFuture.completedFuture(List.of()));
     }
 
     // =========================================================================
-    // ✅ GET BY ROLE ID
+    // ✅ GET BY ROLE ID — índice de membresía + idx_user_roles_role
     // =========================================================================
     @Override
     public CompletableFuture<List<UserRoleDto>> getByRoleId(Long roleId) {
-        return asyncService
-                .supplyAsync(() -> repository.findAll().stream()
-                        .filter(ur -> ur.getRole().getId().equals(roleId))
-                        .toList()
-                )
-                .thenApply(mapper::toDtoList);
+        return Optional.of(roleId)
+                .filter(membership::hasAnyUser)
+                .map(id -> asyncService.readOnly(() -> mapper.toRowDtoList(repository.findRowsByRoleId(id))))
+                .orElseGet(() -> CompletableFuture.completedFuture(List.of()));
     }
 
     // =========================================================================
     // ✅ CREATE (100% Funcional – sin IF)
+    // Validación + carga de usuario y rol + guardado: una tarea, una transacción.
     // =========================================================================
     @Override
     public CompletableFuture<UserRoleDto> create(CreateUserRoleDto dto) {
 
-        return asyncService
-                // Validar duplicado sin IF
-                .supplyAsync(() -> repository.existsByUserIdAndRoleId(dto.getUserId(), dto.getRoleId()))
-                .thenApply(exists ->
-                        java.util.Optional.of(exists)
-                                .filter(v -> !v)
-                                .orElseThrow(() ->
-                                        new IllegalArgumentException("El usuario ya tiene asignado ese rol.")
-                                )
-                )
-                // Cargar usuario
-                .thenCompose(v ->
-                        asyncService.supplyAsync(() ->
-                                userRepository.findById(dto.getUserId())
-                                        .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado: " + dto.getUserId()))
+        return asyncService.inTransaction(() ->
+                // Validar duplicado sin IF (O(1) en memoria; uq_user_roles_user_role respalda)
+                Optional.of(membership.hasRole(dto.getUserId(), dto.getRoleId()))
+                        .filter(exists -> !exists)
+                        .map(v -> mapper.toEntity(dto)
+                                .withUser(loadUser(dto.getUserId()))
+                                .withRole(loadRole(dto.getRoleId())))
+                        // Guardar
+                        .map(repository::save)
+                        .map(saved -> {
+                            membership.added(saved.getUser().getId(), saved.getRole().getId());
+                            principals.invalidate(saved.getUser().getId());
+                            return saved;
+                        })
+                        .map(mapper::toDto)
+                        .orElseThrow(() ->
+                                new IllegalArgumentException("El usuario ya tiene asignado ese rol.")
                         )
-                )
-                // Combinar con rol
-                .thenCombine(
-                        asyncService.supplyAsync(() ->
-                                roleRepository.findById(dto.getRoleId())
-                                        .orElseThrow(() -> new IllegalArgumentException("Rol no encontrado: " + dto.getRoleId()))
-                        ),
-                        (user, role) ->
-                                mapper.toEntity(dto)
-                                        .withUser(user)
-                                        .withRole(role)
-                )
-                // Guardar
-                .thenCompose(entity ->
-                        asyncService.supplyAsync(() -> repository.save(entity))
-                )
-                .thenApply(mapper::toDto);
+        );
     }
 
     // =========================================================================
@@ -137,40 +126,36 @@ public class UserRoleAsyncService extends AbstractAsyncService<
     @Override
     public CompletableFuture<UserRoleDto> update(Long id, UpdateUserRoleDto dto) {
 
-        return asyncService
+        return asyncService.inTransaction(() ->
                 // Cargar existente
-                .supplyAsync(() ->
-                        repository.findById(id)
-                                .orElseThrow(() -> new IllegalArgumentException("No existe UserRole con ID: " + id))
-                )
-                // Mezclar campos escalares
-                .thenApply(existing -> {
-                    mapper.updateEntityFromDto(dto, existing);
-                    return existing;
-                })
-                // Resolver nuevo User
-                .thenCompose(existing ->
-                        java.util.Optional.ofNullable(dto.getUserId())
-                                .map(uid -> asyncService.supplyAsync(() ->
-                                        userRepository.findById(uid)
-                                                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado: " + uid))
-                                ).thenApply(user -> existing.withUser(user)))
-                                .orElse(CompletableFuture.completedFuture(existing))
-                )
-                // Resolver nuevo Role
-                .thenCompose(existing ->
-                        java.util.Optional.ofNullable(dto.getRoleId())
-                                .map(rid -> asyncService.supplyAsync(() ->
-                                        roleRepository.findById(rid)
-                                                .orElseThrow(() -> new IllegalArgumentException("Rol no encontrado: " + rid))
-                                ).thenApply(role -> existing.withRole(role)))
-                                .orElse(CompletableFuture.completedFuture(existing))
-                )
-                // Guardar final
-                .thenCompose(entity ->
-                        asyncService.supplyAsync(() -> repository.save(entity))
-                )
-                .thenApply(mapper::toDto);
+                repository.findById(id)
+                        .map(existing -> {
+                            final Long fromUserId = existing.getUser().getId();
+                            final Long fromRoleId = existing.getRole().getId();
+
+                            // Mezclar campos escalares
+                            mapper.updateEntityFromDto(dto, existing);
+
+                            // Resolver nuevo User / Role
+                            final UserRole merged = Optional.of(existing)
+                                    .map(e -> Optional.ofNullable(dto.getUserId())
+                                            .map(uid -> e.withUser(loadUser(uid)))
+                                            .orElse(e))
+                                    .map(e -> Optional.ofNullable(dto.getRoleId())
+                                            .map(rid -> e.withRole(loadRole(rid)))
+                                            .orElse(e))
+                                    // Guardar final
+                                    .map(repository::save)
+                                    .orElseThrow();
+
+                            membership.moved(fromUserId, fromRoleId, merged.getUser().getId(), merged.getRole().getId());
+                            principals.invalidate(fromUserId);
+                            principals.invalidate(merged.getUser().getId());
+                            return merged;
+                        })
+                        .map(mapper::toDto)
+                        .orElseThrow(() -> new IllegalArgumentException("No existe UserRole con ID: " + id))
+        );
     }
 
     // =========================================================================
@@ -179,20 +164,27 @@ public class UserRoleAsyncService extends AbstractAsyncService<
     @Override
     public CompletableFuture<Boolean> delete(Long id) {
 
-        return asyncService
-                .supplyAsync(() ->
-                        repository.existsById(id)
-                )
-                .thenApply(exists ->
-                        java.util.Optional.of(exists)
-                                .filter(v -> v)
-                                .orElseThrow(() ->
-                                        new IllegalArgumentException("No existe UserRole con ID: " + id)
-                                )
-                )
-                .thenCompose(v ->
-                        asyncService.runAsync(() -> repository.deleteById(id))
-                )
-                .thenApply(v -> true);
+        return asyncService.inTransaction(() ->
+                repository.findById(id)
+                        .map(existing -> {
+                            repository.delete(existing);
+                            membership.removed(existing.getUser().getId(), existing.getRole().getId());
+                            principals.invalidate(existing.getUser().getId());
+                            return true;
+                        })
+                        .orElseThrow(() ->
+                                new IllegalArgumentException("No existe UserRole con ID: " + id)
+                        )
+        );
+    }
+
+    private User loadUser(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado: " + userId));
+    }
+
+    private Role loadRole(Long roleId) {
+        return roleRepository.findById(roleId)
+                .orElseThrow(() -> new IllegalArgumentException("Rol no encontrado: " + roleId));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,163 @@
+package com.builderssas.api.services.impl;
+
+import com.builderssas.api.core.collections.LongHashSet;
+import com.builderssas.api.repository.UserRoleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Índice bidireccional en memoria de la membresía usuario–rol:
+ *
+ *      userId → {roleId}      roleId → {userId}
+ *
+ * Conjuntos de long primitivos ({@link LongHashSet}): "¿tiene el usuario este
+ * rol?", "roles del usuario" y "usuarios del rol" se responden en O(1) sin
+ * tocar user_roles.
+ *
+ * Se carga completo al arrancar (una consulta de proyección) y se mantiene
+ * desde UserRoleAsyncService. Los cambios se aplican tras el commit de la
+ * transacción que los produjo, así un rollback nunca deja el índice adelantado.
+ * Como OrderCoordinateIndex, supone una única instancia escribiendo en user_roles.
+ */
+@Slf4j
+@Component
+public class UserRoleMembershipIndex {
+
+    private static final long[] NONE = new long[0];
+
+    private final UserRoleRepository repository;
+
+    private final Map<Long, LongHashSet> rolesByUser = new HashMap<>();
+    private final Map<Long, LongHashSet> usersByRole = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public UserRoleMembershipIndex(final UserRoleRepository repository) {
+        this.repository = repository;
+    }
+
+    // ============================================================================================
+    // ✅ ARRANQUE — carga completa desde la BD
+    // ============================================================================================
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        final var memberships = repository.findAllMemberships();
+
+        write(() -> {
+            rolesByUser.clear();
+            usersByRole.clear();
+            memberships.forEach(m -> link(m.getUserId(), m.getRoleId()));
+            return null;
+        });
+
+        log.info("👥 Índice de membresía cargado: {} asignaciones, {} usuarios, {} roles",
+                memberships.size(), rolesByUser.size(), usersByRole.size());
+    }
+
+    // ============================================================================================
+    // ✅ MANTENIMIENTO — aplicado tras el commit
+    // ============================================================================================
+    public void added(final Long userId, final Long roleId) {
+        afterCommit(() -> write(() -> link(userId, roleId)));
+    }
+
+    public void removed(final Long userId, final Long roleId) {
+        afterCommit(() -> write(() -> unlink(userId, roleId)));
+    }
+
+    public void moved(final Long fromUserId, final Long fromRoleId, final Long toUserId, final Long toRoleId) {
+        afterCommit(() -> write(() -> {
+            unlink(fromUserId, fromRoleId);
+            return link(toUserId, toRoleId);
+        }));
+    }
+
+    // ============================================================================================
+    // ✅ CONSULTAS — O(1)
+    // ============================================================================================
+    public boolean hasRole(final Long userId, final Long roleId) {
+        return read(() -> Optional.ofNullable(rolesByUser.get(userId))
+                .map(roles -> roles.contains(roleId))
+                .orElse(false));
+    }
+
+    public boolean hasAnyRole(final Long userId) {
+        return read(() -> rolesByUser.containsKey(userId));
+    }
+
+    public boolean hasAnyUser(final Long roleId) {
+        return read(() -> usersByRole.containsKey(roleId));
+    }
+
+    public long[] roleIdsOf(final Long userId) {
+        return read(() -> Optional.ofNullable(rolesByUser.get(userId)).map(LongHashSet::toArray).orElse(NONE));
+    }
+
+    public long[] userIdsOf(final Long roleId) {
+        return read(() -> Optional.ofNullable(usersByRole.get(roleId)).map(LongHashSet::toArray).orElse(NONE));
+    }
+
+    // ============================================================================================
+    // ✅ INTERNOS
+    // ============================================================================================
+    private Boolean link(final Long userId, final Long roleId) {
+        rolesByUser.computeIfAbsent(userId, k -> new LongHashSet()).add(roleId);
+        return usersByRole.computeIfAbsent(roleId, k -> new LongHashSet()).add(userId);
+    }
+
+    private Boolean unlink(final Long userId, final Long roleId) {
+        detach(rolesByUser, userId, roleId);
+        return detach(usersByRole, roleId, userId);
+    }
+
+    private static Boolean detach(final Map<Long, LongHashSet> map, final Long key, final Long value) {
+        final var set = map.get(key);
+        final boolean removed = set != null && set.remove(value);
+        if (set != null && set.isEmpty()) {
+            map.remove(key);
+        }
+        return removed;
+    }
+
+    private <T> T read(final Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T write(final Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(final Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+}
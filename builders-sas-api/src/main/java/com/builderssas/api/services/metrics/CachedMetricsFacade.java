@@ -0,0 +1,122 @@
+package com.builderssas.api.services.metrics;
+
+import com.builderssas.api.config.OrderMetricsConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Fachada de métricas cacheadas.
+ *
+ *  - Respuestas ya serializadas a JSON (bytes) por clave: una respuesta vigente
+ *    no vuelve a consultar ni a serializar.
+ *  - Vigencia: TTL (orders.metrics.cache-ttl-ms) + invalidación por escritura:
+ *    cada entrada recuerda {@link OrderMetricsStore#version()} al calcularse y deja
+ *    de ser válida en cuanto se crea una orden o cambia un estado.
+ *  - Single-flight: si llegan N peticiones de la misma clave con la entrada vencida,
+ *    solo una ejecuta el cálculo; las demás esperan ese mismo resultado.
+ *  - ETag: CRC32 del cuerpo; permite responder 304 sin serializar nada.
+ *  - Tamaño acotado (orders.metrics.cache-max-entries): las claves llevan ids de
+ *    proyecto tomados de la URL, así que al llenarse se descartan primero las
+ *    entradas vencidas y luego la más antigua.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CachedMetricsFacade {
+
+    private final OrderMetricsStore store;
+    private final OrderMetricsConfig config;
+    private final ObjectMapper mapper;
+
+    private final Map<String, CachedJson> cache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CachedJson>> inFlight = new ConcurrentHashMap<>();
+
+    /** Respuesta cacheada: cuerpo JSON listo para escribir y su ETag. */
+    public record CachedJson(byte[] body, String etag, long version, long computedAt) {
+    }
+
+    // ============================================================================================
+    // ✅ LECTURA — cache → single-flight → cálculo
+    // ============================================================================================
+    public CachedJson get(final String key, final Supplier<?> loader) {
+        return Optional.ofNullable(cache.get(key))
+                .filter(this::isFresh)
+                .orElseGet(() -> load(key, loader));
+    }
+
+    private boolean isFresh(final CachedJson entry) {
+        return entry.version() == store.version()
+                && System.currentTimeMillis() - entry.computedAt() < config.getCacheTtlMs();
+    }
+
+    private CachedJson load(final String key, final Supplier<?> loader) {
+        final var mine = new CompletableFuture<CachedJson>();
+        final var running = inFlight.putIfAbsent(key, mine);
+
+        if (running != null) {
+            return join(running);
+        }
+
+        try {
+            final long version = store.version();
+            final var entry = serialize(loader.get(), version);
+            evictIfFull();
+            cache.put(key, entry);
+            mine.complete(entry);
+            return entry;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private void evictIfFull() {
+        Optional.of(cache.size())
+                .filter(size -> size >= config.getCacheMaxEntries())
+                .ifPresent(size -> cache.values().removeIf(entry -> !isFresh(entry)));
+
+        Optional.of(cache.size())
+                .filter(size -> size >= config.getCacheMaxEntries())
+                .flatMap(size -> cache.entrySet().stream()
+                        .min(Comparator.comparingLong(e -> e.getValue().computedAt())))
+                .ifPresent(oldest -> cache.remove(oldest.getKey()));
+    }
+
+    private static CachedJson join(final CompletableFuture<CachedJson> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            throw Optional.ofNullable(ex.getCause())
+                    .filter(RuntimeException.class::isInstance)
+                    .map(RuntimeException.class::cast)
+                    .orElse(ex);
+        }
+    }
+
+    private CachedJson serialize(final Object value, final long version) {
+        try {
+            final byte[] body = mapper.writeValueAsBytes(value);
+            final var crc = new CRC32();
+            crc.update(body);
+            final String etag = "\"" + HexFormat.of().toHexDigits((int) crc.getValue()) + "-" + body.length + "\"";
+            return new CachedJson(body, etag, version, System.currentTimeMillis());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la métrica", e);
+        }
+    }
+}
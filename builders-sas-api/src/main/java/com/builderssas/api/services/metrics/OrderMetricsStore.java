@@ -0,0 +1,307 @@
+package com.builderssas.api.services.metrics;
+
+import com.builderssas.api.domain.model.constructionorder.event.OrderCreatedEvent;
+import com.builderssas.api.domain.model.constructionorder.event.OrderStatusChangedEvent;
+import com.builderssas.api.domain.model.enums.OrderStatus;
+import com.builderssas.api.repository.views.ProjectStatusCountView;
+import com.builderssas.api.repository.views.StatusCountView;
+import com.builderssas.api.repository.views.TypeCountView;
+import com.builderssas.api.repository.views.TypeStatusCountView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Métricas de órdenes materializadas en memoria.
+ *
+ * Contadores LongAdder (escrituras concurrentes sin contención) organizados en
+ * dos ámbitos con la misma forma:
+ *
+ *      global                → estado, tipo × estado
+ *      proyecto (uno por id) → estado, tipo × estado
+ *
+ * El total por tipo se deriva sumando los (pocos) estados de ese tipo.
+ *
+ *  - Delta: creación de órdenes y transiciones del cron (eventos de dominio,
+ *    tras el commit) suman/restan en los contadores afectados.
+ *  - Reconciliación: al arrancar y cada orders.metrics.reconcile-interval-ms se
+ *    reconstruye todo con un único GROUP BY y se reemplaza atómicamente. Los
+ *    deltas que llegan mientras tanto se registran y se reaplican sobre los
+ *    contadores nuevos antes del reemplazo (si no, se perderían con los viejos).
+ *    Un delta confirmado justo antes de la lectura puede contarse dos veces; la
+ *    siguiente reconciliación lo corrige.
+ *  - Lecturas: nunca consultan la BD; su costo depende del tamaño de la respuesta.
+ *
+ * version() cambia con cada modificación; sirve para validar cachés derivadas.
+ */
+@Slf4j
+@Component
+public class OrderMetricsStore {
+
+    private static final String RECONCILE_SQL = """
+            SELECT o.project_id, o.construction_type_id, ct.name AS construction_type_name,
+                   o.order_status, COUNT(*) AS total
+              FROM construction_orders o
+              JOIN construction_types ct ON ct.id = o.construction_type_id
+             GROUP BY o.project_id, o.construction_type_id, ct.name, o.order_status
+            """;
+
+    private static final String TYPE_NAME_SQL = "SELECT name FROM construction_types WHERE id = ?";
+
+    private final JdbcTemplate jdbc;
+
+    private final AtomicReference<Counters> counters = new AtomicReference<>(new Counters());
+    private final Map<Long, String> typeNames = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Los deltas comparten el lock de lectura (sin contención entre sí); la
+     * reconciliación toma el de escritura solo para reaplicar y reemplazar.
+     */
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    /** Deltas recibidos durante una reconciliación en curso (null si no hay). */
+    private volatile Queue<Delta> deltasDuringReconcile;
+
+    public OrderMetricsStore(final JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // ============================================================================================
+    // ESTRUCTURAS
+    // ============================================================================================
+
+    /** Un LongAdder por estado (EnumMap poblado al construir: lecturas sin bloqueo). */
+    private static final class StatusCounters {
+        private final EnumMap<OrderStatus, LongAdder> byStatus = new EnumMap<>(OrderStatus.class);
+
+        private StatusCounters() {
+            Arrays.stream(OrderStatus.values()).forEach(s -> byStatus.put(s, new LongAdder()));
+        }
+
+        private void add(final OrderStatus status, final long delta) {
+            byStatus.get(status).add(delta);
+        }
+
+        private long get(final OrderStatus status) {
+            return byStatus.get(status).sum();
+        }
+
+        private long total() {
+            return byStatus.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+
+    /** Un ámbito (global o de un proyecto): por estado y por tipo × estado. */
+    private static final class Scope {
+        private final StatusCounters byStatus = new StatusCounters();
+        private final Map<Long, StatusCounters> byType = new ConcurrentHashMap<>();
+
+        private void add(final Long typeId, final OrderStatus status, final long delta) {
+            byStatus.add(status, delta);
+            byType.computeIfAbsent(typeId, k -> new StatusCounters()).add(status, delta);
+        }
+    }
+
+    /** Conjunto completo de contadores; se reemplaza entero al reconciliar. */
+    private static final class Counters {
+        private final Scope global = new Scope();
+        private final Map<Long, Scope> byProject = new ConcurrentHashMap<>();
+
+        private void add(final Long projectId, final Long typeId, final OrderStatus status, final long delta) {
+            global.add(typeId, status, delta);
+            byProject.computeIfAbsent(projectId, k -> new Scope()).add(typeId, status, delta);
+        }
+    }
+
+    private record Delta(Long projectId, Long typeId, OrderStatus status, long delta) {
+    }
+
+    private record StatusCount(OrderStatus status, Long count) implements StatusCountView, ProjectStatusCountView {
+        @Override public OrderStatus getStatus() { return status; }
+        @Override public Long getCount() { return count; }
+    }
+
+    private record TypeCount(Long constructionTypeId, String constructionTypeName, Long total) implements TypeCountView {
+        @Override public Long getConstructionTypeId() { return constructionTypeId; }
+        @Override public String getConstructionTypeName() { return constructionTypeName; }
+        @Override public Long getTotal() { return total; }
+    }
+
+    private record TypeStatusCount(Long constructionTypeId, String constructionTypeName, OrderStatus status, Long count)
+            implements TypeStatusCountView {
+        @Override public Long getConstructionTypeId() { return constructionTypeId; }
+        @Override public String getConstructionTypeName() { return constructionTypeName; }
+        @Override public OrderStatus getStatus() { return status; }
+        @Override public Long getCount() { return count; }
+    }
+
+    // ============================================================================================
+    // ✅ DELTAS — eventos de dominio tras el commit
+    // ============================================================================================
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(final OrderCreatedEvent event) {
+        rememberTypeName(event.constructionTypeId());
+        apply(new Delta(event.projectId(), event.constructionTypeId(),
+                Optional.ofNullable(event.status()).orElse(OrderStatus.PENDING), 1));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(final OrderStatusChangedEvent event) {
+        apply(new Delta(event.projectId(), event.constructionTypeId(), event.from(), -event.count()),
+                new Delta(event.projectId(), event.constructionTypeId(), event.to(), event.count()));
+    }
+
+    private void apply(final Delta... deltas) {
+        swapLock.readLock().lock();
+        try {
+            final var current = counters.get();
+            final var pending = deltasDuringReconcile;
+            Arrays.stream(deltas).forEach(d -> {
+                current.add(d.projectId(), d.typeId(), d.status(), d.delta());
+                Optional.ofNullable(pending).ifPresent(q -> q.add(d));
+            });
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        version.incrementAndGet();
+    }
+
+    // ============================================================================================
+    // ✅ RECONCILIACIÓN — un GROUP BY, deltas concurrentes reaplicados y reemplazo atómico
+    // ============================================================================================
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+    }
+
+    @Scheduled(
+            initialDelayString = "#{@orderMetricsConfig.reconcileIntervalMs}",
+            fixedDelayString = "#{@orderMetricsConfig.reconcileIntervalMs}")
+    public synchronized void reconcile() {
+        final long start = System.currentTimeMillis();
+        final var fresh = new Counters();
+        deltasDuringReconcile = new ConcurrentLinkedQueue<>();
+
+        final Counters previous;
+        try {
+            jdbc.query(RECONCILE_SQL, rs -> {
+                final long typeId = rs.getLong("construction_type_id");
+                typeNames.put(typeId, rs.getString("construction_type_name"));
+                fresh.add(rs.getLong("project_id"), typeId,
+                        OrderStatus.valueOf(rs.getString("order_status")), rs.getLong("total"));
+            });
+        } catch (RuntimeException ex) {
+            deltasDuringReconcile = null;
+            throw ex;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            // Confirmados tras la lectura: el GROUP BY no los vio y los contadores viejos se descartan
+            deltasDuringReconcile.forEach(d -> fresh.add(d.projectId(), d.typeId(), d.status(), d.delta()));
+            deltasDuringReconcile = null;
+            previous = counters.getAndSet(fresh);
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        version.incrementAndGet();
+
+        final long drift = Arrays.stream(OrderStatus.values())
+                .mapToLong(s -> Math.abs(previous.global.byStatus.get(s) - fresh.global.byStatus.get(s)))
+                .sum();
+
+        Optional.of(drift)
+                .filter(d -> d > 0)
+                .ifPresentOrElse(
+                        d -> log.warn("📈 Métricas reconciliadas con diferencia de {} órdenes ({} ms)", d, System.currentTimeMillis() - start),
+                        () -> log.debug("📈 Métricas reconciliadas sin diferencias ({} ms)", System.currentTimeMillis() - start));
+    }
+
+    private void rememberTypeName(final Long typeId) {
+        // Solo la primera orden de un tipo nuevo consulta su nombre (fuera del camino de lectura)
+        typeNames.computeIfAbsent(typeId, id ->
+                jdbc.queryForList(TYPE_NAME_SQL, String.class, id).stream().findFirst().orElse(null));
+    }
+
+    // ============================================================================================
+    // ✅ LECTURAS — sin BD
+    // ============================================================================================
+    public long version() {
+        return version.get();
+    }
+
+    public List<StatusCountView> countByStatus() {
+        return statusCounts(counters.get().global).<StatusCountView>map(c -> c).toList();
+    }
+
+    public List<TypeCountView> countByType() {
+        return typeCounts(counters.get().global);
+    }
+
+    public List<TypeStatusCountView> countByTypeAndStatus() {
+        return typeStatusCounts(counters.get().global);
+    }
+
+    public List<ProjectStatusCountView> countByStatus(final Long projectId) {
+        return projectScope(projectId)
+                .map(scope -> statusCounts(scope).<ProjectStatusCountView>map(c -> c).toList())
+                .orElse(List.of());
+    }
+
+    public List<TypeCountView> countByType(final Long projectId) {
+        return projectScope(projectId).map(this::typeCounts).orElse(List.of());
+    }
+
+    public List<TypeStatusCountView> countByTypeAndStatus(final Long projectId) {
+        return projectScope(projectId).map(this::typeStatusCounts).orElse(List.of());
+    }
+
+    private Optional<Scope> projectScope(final Long projectId) {
+        return Optional.ofNullable(projectId).map(counters.get().byProject::get);
+    }
+
+    /** Solo estados con órdenes, igual que el GROUP BY original. */
+    private static Stream<StatusCount> statusCounts(final Scope scope) {
+        return Arrays.stream(OrderStatus.values())
+                .filter(s -> scope.byStatus.get(s) > 0)
+                .map(s -> new StatusCount(s, scope.byStatus.get(s)));
+    }
+
+    private List<TypeCountView> typeCounts(final Scope scope) {
+        return scope.byType.entrySet().stream()
+                .filter(e -> e.getValue().total() > 0)
+                .sorted(Map.Entry.comparingByKey())
+                .<TypeCountView>map(e -> new TypeCount(e.getKey(), typeNames.get(e.getKey()), e.getValue().total()))
+                .toList();
+    }
+
+    private List<TypeStatusCountView> typeStatusCounts(final Scope scope) {
+        return scope.byType.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .flatMap(e -> Arrays.stream(OrderStatus.values())
+                        .filter(s -> e.getValue().get(s) > 0)
+                        .<TypeStatusCountView>map(s -> new TypeStatusCount(
+                                e.getKey(), typeNames.get(e.getKey()), s, e.getValue().get(s))))
+                .toList();
+    }
+}
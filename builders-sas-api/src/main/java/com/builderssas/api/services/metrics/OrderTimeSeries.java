@@ -0,0 +1,171 @@
+package com.builderssas.api.services.metrics;
+
+import com.builderssas.api.config.OrderTimeSeriesConfig;
+import com.builderssas.api.core.metrics.LogLinearHistogram;
+import com.builderssas.api.core.metrics.MinuteRing;
+import com.builderssas.api.domain.model.construction.dto.stats.LatencySummaryDto;
+import com.builderssas.api.domain.model.construction.dto.stats.OrderTimeSeriesDto;
+import com.builderssas.api.domain.model.constructionorder.event.OrderCreatedEvent;
+import com.builderssas.api.domain.model.constructionorder.event.OrderStatusChangedEvent;
+import com.builderssas.api.domain.model.enums.OrderStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Series temporales de throughput de órdenes, en proceso y con memoria acotada.
+ *
+ *  - Contadores: un anillo de cubetas por minuto (LongAdder) por serie.
+ *  - Latencias: un anillo de histogramas log-lineales por minuto.
+ *
+ * El tamaño de cada anillo lo fija orders.metrics.timeseries.*; el uptime no
+ * influye en la memoria usada. Las consultas agregan los minutos de la ventana
+ * pedida en cubetas de bucketMinutes.
+ */
+@Component
+public class OrderTimeSeries {
+
+    /** Series de conteo. */
+    public enum Counter {
+        ORDERS_CREATED,
+        ORDERS_STARTED,
+        ORDERS_FINISHED,
+        REQUESTS_APPROVED,
+        REQUESTS_REJECTED,
+        REQUESTS_FAILED
+    }
+
+    /** Series de latencia. */
+    public enum Latency {
+        /** Duración de la reserva de stock (batch condicional). */
+        STOCK_RESERVATION,
+        /** Desde que la solicitud queda PENDING hasta que su orden se guarda. */
+        REQUEST_TO_ORDER
+    }
+
+    private final Map<Counter, MinuteRing<LongAdder>> counters = new EnumMap<>(Counter.class);
+    private final Map<Latency, MinuteRing<LogLinearHistogram>> latencies = new EnumMap<>(Latency.class);
+
+    public OrderTimeSeries(final OrderTimeSeriesConfig config) {
+        Arrays.stream(Counter.values()).forEach(c ->
+                counters.put(c, new MinuteRing<>(config.getRetentionMinutes(), LongAdder::new, LongAdder::reset)));
+        Arrays.stream(Latency.values()).forEach(l ->
+                latencies.put(l, new MinuteRing<>(config.getHistogramRetentionMinutes(), LogLinearHistogram::new, LogLinearHistogram::clear)));
+    }
+
+    // ============================================================================================
+    // ✅ REGISTRO — O(1)
+    // ============================================================================================
+    public void increment(final Counter counter, final long delta) {
+        counters.get(counter).record(currentMinute(), adder -> adder.add(delta));
+    }
+
+    public void recordLatency(final Latency latency, final long nanos) {
+        final long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        latencies.get(latency).record(currentMinute(), histogram -> histogram.record(micros));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(final OrderCreatedEvent event) {
+        increment(Counter.ORDERS_CREATED, 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(final OrderStatusChangedEvent event) {
+        Optional.ofNullable(event.to())
+                .map(to -> to == OrderStatus.IN_PROGRESS ? Counter.ORDERS_STARTED
+                        : to == OrderStatus.FINISHED ? Counter.ORDERS_FINISHED
+                        : null)
+                .ifPresent(counter -> increment(counter, event.count()));
+    }
+
+    // ============================================================================================
+    // ✅ CONSULTA — ventana móvil agregada en cubetas
+    // ============================================================================================
+    public OrderTimeSeriesDto snapshot(final int minutes, final int bucketMinutes) {
+        final int window = Math.max(1, Math.min(minutes, counters.get(Counter.ORDERS_CREATED).capacity()));
+        final int step = Math.max(1, Math.min(bucketMinutes, window));
+        final int buckets = (window + step - 1) / step;
+
+        final long now = currentMinute();
+        final long first = now - (long) buckets * step + 1;
+
+        final Map<String, List<Long>> series = Arrays.stream(Counter.values())
+                .collect(Collectors.toMap(Enum::name,
+                        c -> LongStream.range(0, buckets)
+                                .mapToObj(b -> sum(counters.get(c), first + b * step, step))
+                                .toList(),
+                        (a, b) -> a, LinkedHashMap::new));
+
+        final Map<String, Long> totals = series.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        e -> e.getValue().stream().mapToLong(Long::longValue).sum(),
+                        (a, b) -> a, LinkedHashMap::new));
+
+        final Map<String, LatencySummaryDto> latencySummaries = Arrays.stream(Latency.values())
+                .collect(Collectors.toMap(Enum::name,
+                        l -> summarize(merge(latencies.get(l), first, now)),
+                        (a, b) -> a, LinkedHashMap::new));
+
+        return OrderTimeSeriesDto.builder()
+                .from(toDateTime(first))
+                .to(toDateTime(now + 1))
+                .bucketMinutes(step)
+                .bucketStarts(LongStream.range(0, buckets).mapToObj(b -> toDateTime(first + b * step)).toList())
+                .counters(series)
+                .totals(totals)
+                .latencies(latencySummaries)
+                .build();
+    }
+
+    private static long sum(final MinuteRing<LongAdder> ring, final long from, final int minutes) {
+        return LongStream.range(from, from + minutes)
+                .mapToObj(ring::get)
+                .flatMap(Optional::stream)
+                .mapToLong(LongAdder::sum)
+                .sum();
+    }
+
+    private static LogLinearHistogram merge(final MinuteRing<LogLinearHistogram> ring, final long from, final long to) {
+        final var merged = new LogLinearHistogram();
+        LongStream.rangeClosed(Math.max(from, to - ring.capacity() + 1), to)
+                .mapToObj(ring::get)
+                .flatMap(Optional::stream)
+                .forEach(h -> h.addTo(merged));
+        return merged;
+    }
+
+    private static LatencySummaryDto summarize(final LogLinearHistogram h) {
+        final Function<Double, Double> ms = micros -> Math.round(micros / 10.0) / 100.0;
+        return LatencySummaryDto.builder()
+                .count(h.count())
+                .meanMs(ms.apply(h.mean()))
+                .p50Ms(ms.apply((double) h.percentile(0.50)))
+                .p90Ms(ms.apply((double) h.percentile(0.90)))
+                .p99Ms(ms.apply((double) h.percentile(0.99)))
+                .maxMs(ms.apply((double) h.max()))
+                .build();
+    }
+
+    private static long currentMinute() {
+        return TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+    }
+
+    private static LocalDateTime toDateTime(final long minute) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(TimeUnit.MINUTES.toSeconds(minute)), ZoneId.systemDefault());
+    }
+}
@@ -1,16 +1,19 @@
 package com.builderssas.api.services.notification;
 
 import com.builderssas.api.config.NotificationConfig;
+import com.builderssas.api.core.async.ExecutorRegistry;
+import com.builderssas.api.core.async.ExecutorWorkload;
 import com.builderssas.api.domain.model.notification.NotificationDto;
 import com.builderssas.api.notifications.NotificationStorage;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
 
 /**
@@ -19,6 +22,9 @@ import java.util.function.Function;
  *  enrich → send → persist
  expone sendForUser() para agregar un userId a la notificación
  * sin alterar el flujo original.
+ *
+ * El envío externo solo encola en WebhookDispatcher (lotes, HTTP asíncrono,
+ * reintentos con backoff y deduplicación de la copia global / por usuario).
  */
 
 @Slf4j
@@ -27,8 +33,13 @@ public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationConfig config;
     private final NotificationStorage storage;
-    private final RestTemplate rest;
-    private final RetryTemplate retryTemplate;
+    private final WebhookDispatcher dispatcher;
+
+    /**
+     * Pool "notification" del registro. Si está saturado, la notificación se
+     * procesa en el hilo llamador: el trabajo es corto y no debe perderse.
+     */
+    private final Executor executor;
 
     private final Function<NotificationDto, NotificationDto> enrich;
     private final Function<NotificationDto, NotificationDto> send;
@@ -39,17 +50,27 @@ public class NotificationServiceImpl implements NotificationService {
      *
      * @param config configuración del webhook
      * @param storage almacenamiento de notificaciones
-     * @param retryTemplate plantilla de reintentos (inyectada desde RetryConfig)
+     * @param dispatcher despachador agrupado hacia el webhook
+     * @param executors registro de pools por carga de trabajo
      */
     public NotificationServiceImpl(
             NotificationConfig config,
             NotificationStorage storage,
-            RetryTemplate retryTemplate
+            WebhookDispatcher dispatcher,
+            ExecutorRegistry executors
     ) {
         this.config = config;
         this.storage = storage;
-        this.rest = new RestTemplate();
-        this.retryTemplate = retryTemplate;
+        this.dispatcher = dispatcher;
+
+        final Executor pool = executors.get(ExecutorWorkload.NOTIFICATION);
+        this.executor = task -> {
+            try {
+                pool.execute(task);
+            } catch (RejectedExecutionException ex) {
+                task.run();
+            }
+        };
 
         log.info("Webhook URL cargada: {}", config.getWebhookUrl());
 
@@ -63,16 +84,17 @@ public class NotificationServiceImpl implements NotificationService {
                                 .timestamp(LocalDateTime.now())
                                 .payload(d.getPayload())
                                 .userId(d.getUserId())
+                                .eventId(d.getEventId())
                                 .build()
                         )
                         .orElseThrow(() -> new IllegalArgumentException("Notificación inválida"));
 
         // ===========================================
-        // SEND — Envío externo funcional original
+        // SEND — Encolado en el despachador del webhook
         // ===========================================
         this.send = enriched ->
                 Optional.of(enriched)
-                        .map(d -> postSafely(d, config.getWebhookUrl()))
+                        .map(this::dispatch)
                         .orElse(enriched);
 
         // ===========================================
@@ -92,8 +114,9 @@ public class NotificationServiceImpl implements NotificationService {
      */
     @Override
     public CompletableFuture<Void> send(NotificationDto dto) {
+        identify(dto);
         return CompletableFuture
-                .supplyAsync(() -> enrich.apply(dto))
+                .supplyAsync(() -> enrich.apply(dto), executor)
                 .thenApply(send)
                 .thenApply(persist)
                 .thenAccept(n -> log.debug("Flujo completado [{}]", n.getEventType()))
@@ -104,49 +127,36 @@ public class NotificationServiceImpl implements NotificationService {
     }
 
     // ============================================================
-    //     🔥🔥🔥  postSafely — Envío con RetryTemplate (FUNCIONAL)
+    //     identify — identidad del evento
     // ============================================================
 
     /**
-     * Envía una notificación al webhook externo con reintentos automáticos.
-     * No introduce imperativo, no usa try/catch y no modifica el pipeline.
+     * Asigna el eventId en el hilo llamador, antes de saltar al pool: los
+     * llamadores envían el mismo DTO a send() y a sendForUser(), de modo que
+     * ambas copias comparten identidad y el webhook recibe el evento una sola vez.
      *
      * @param dto notificación original
-     * @param url URL del webhook
-     * @return DTO resultante después de aplicar el retry
      */
-    private NotificationDto postSafely(NotificationDto dto, String url) {
-
-        return Optional.of(dto)
-                .map(original ->
-                        retryTemplate.execute(
-                                // Acción con reintento automático
-                                context -> {
-                                    String response = rest.postForObject(url, original, String.class);
-                                    log.info("Webhook OK (intento {}): {}", context.getRetryCount() + 1, response);
-
-                                    return NotificationDto.builder()
-                                            .eventType(original.getEventType())
-                                            .timestamp(original.getTimestamp())
-                                            .payload(original.getPayload())
-                                            .userId(original.getUserId())
-                                            .build();
-                                },
-                                // Recuperación final sin excepciones
-                                context -> {
-                                    log.warn("Webhook FAILED después de {} intentos",
-                                            context.getRetryCount() + 1);
-
-                                    return NotificationDto.builder()
-                                            .eventType(original.getEventType())
-                                            .timestamp(original.getTimestamp())
-                                            .payload("Error al enviar notificación")
-                                            .userId(original.getUserId())
-                                            .build();
-                                }
-                        )
-                )
-                .orElseThrow(() -> new IllegalArgumentException("Notificación inválida"));
+    private void identify(NotificationDto dto) {
+        Optional.ofNullable(dto)
+                .filter(d -> d.getEventId() == null)
+                .ifPresent(d -> d.setEventId(UUID.randomUUID().toString()));
+    }
+
+    // ============================================================
+    //     dispatch — Envío externo no bloqueante
+    // ============================================================
+
+    /**
+     * Entrega la notificación al despachador del webhook. No hace I/O: el POST,
+     * los reintentos y la deduplicación ocurren en WebhookDispatcher.
+     *
+     * @param dto notificación enriquecida
+     * @return la misma notificación
+     */
+    private NotificationDto dispatch(NotificationDto dto) {
+        dispatcher.enqueue(dto);
+        return dto;
     }
 
     /**
@@ -168,8 +178,9 @@ public class NotificationServiceImpl implements NotificationService {
      * @return CompletableFuture del proceso
      */
     public CompletableFuture<Void> sendForUser(NotificationDto dto, Long userId) {
+        identify(dto);
         return CompletableFuture
-                .supplyAsync(() -> enrich.apply(dto))
+                .supplyAsync(() -> enrich.apply(dto), executor)
                 .thenApply(send)
                 .thenApply(n -> {
                     NotificationDto enrichedWithUser =
@@ -178,6 +189,7 @@ public class NotificationServiceImpl implements NotificationService {
                                     .timestamp(n.getTimestamp())
                                     .payload(n.getPayload())
                                     .userId(userId)
+                                    .eventId(n.getEventId())
                                     .build();
 
                     return persistForUser(enrichedWithUser, userId);
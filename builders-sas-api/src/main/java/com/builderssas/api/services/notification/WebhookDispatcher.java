@@ -0,0 +1,221 @@
+package com.builderssas.api.services.notification;
+
+import com.builderssas.api.config.NotificationConfig;
+import com.builderssas.api.domain.model.notification.NotificationDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Despachador no bloqueante de notificaciones hacia el webhook externo.
+ *
+ *  - enqueue() solo encola (O(1)); nunca hace I/O en el hilo del llamador.
+ *  - Un hilo programado drena la cola cada notification.flush-interval-ms y envía
+ *    lotes de hasta notification.batch-size notificaciones en un único POST
+ *    (cuerpo JSON = arreglo de NotificationDto).
+ *  - java.net.http.HttpClient con sendAsync: conexiones reutilizadas (keep-alive)
+ *    y ningún hilo bloqueado esperando la respuesta.
+ *  - Reintentos con backoff exponencial + jitter, programados en el scheduler
+ *    (sin Thread.sleep); al agotar notification.max-attempts el lote se descarta.
+ *  - Deduplicación: la copia global y la copia por usuario de un mismo evento
+ *    (mismo eventId dentro de notification.dedup-window-ms) se envían una sola vez.
+ *    El evento se marca como visto solo cuando entra en la cola: si se descarta
+ *    por cola llena, la otra copia aún puede entrar.
+ *  - A lo sumo notification.max-in-flight lotes en vuelo y notification.max-queue-size
+ *    notificaciones en cola: si el webhook cae, la memoria no crece sin límite.
+ */
+@Slf4j
+@Component
+public class WebhookDispatcher implements DisposableBean {
+
+    private final NotificationConfig config;
+    private final ObjectMapper mapper;
+    private final HttpClient http;
+    private final ScheduledExecutorService scheduler;
+
+    private final Queue<NotificationDto> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** Claves de eventos recientes → instante (ms) en que expira la deduplicación. */
+    private final Map<String, Long> recent = new ConcurrentHashMap<>();
+
+    public WebhookDispatcher(final NotificationConfig config, final ObjectMapper mapper) {
+        this.config = config;
+        this.mapper = mapper;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(config.getConnectTimeoutMs()))
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final var t = new Thread(r, "webhook-dispatcher");
+            t.setDaemon(true);
+            return t;
+        });
+
+        scheduler.scheduleWithFixedDelay(this::flush,
+                config.getFlushIntervalMs(), config.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    // ============================================================================================
+    // ✅ ENCOLAR — O(1), con deduplicación y límite de cola
+    // ============================================================================================
+    public void enqueue(final NotificationDto dto) {
+        Optional.ofNullable(dto)
+                .filter(d -> isEnabled())
+                .ifPresent(d -> Optional.ofNullable(d.getEventId())
+                        .ifPresentOrElse(id -> enqueueFirstCopy(id, d), () -> offer(d)));
+    }
+
+    private boolean isEnabled() {
+        return config.isExternalEnabled()
+                && Optional.ofNullable(config.getWebhookUrl()).filter(u -> !u.isBlank()).isPresent();
+    }
+
+    /**
+     * Atómico por eventId: la copia se encola y se marca dentro del mismo compute,
+     * y solo se marca si realmente entró en la cola.
+     */
+    private void enqueueFirstCopy(final String eventId, final NotificationDto dto) {
+        final long now = System.currentTimeMillis();
+
+        recent.compute(eventId, (k, expiresAt) -> {
+            final boolean seen = expiresAt != null && expiresAt > now;
+            return seen ? expiresAt
+                    : offer(dto) ? Long.valueOf(now + config.getDedupWindowMs())
+                    : null;
+        });
+    }
+
+    private boolean offer(final NotificationDto dto) {
+        if (queued.incrementAndGet() > config.getMaxQueueSize()) {
+            queued.decrementAndGet();
+            log.warn("⚠️ Cola de webhook llena ({}), se descarta [{}]", config.getMaxQueueSize(), dto.getEventType());
+            return false;
+        }
+        queue.add(dto);
+        return true;
+    }
+
+    // ============================================================================================
+    // ✅ DRENAR — lotes hasta completar los envíos en vuelo permitidos
+    // ============================================================================================
+    private void flush() {
+        try {
+            final long now = System.currentTimeMillis();
+            recent.values().removeIf(expiresAt -> expiresAt <= now);
+
+            Stream.generate(() -> inFlight.get() < config.getMaxInFlight() ? drainBatch() : List.<NotificationDto>of())
+                    .takeWhile(batch -> !batch.isEmpty())
+                    .forEach(batch -> {
+                        inFlight.incrementAndGet();
+                        post(batch, 1);
+                    });
+        } catch (RuntimeException ex) {
+            // Nunca dejar morir el hilo programado
+            log.error("❌ Error drenando la cola de webhook: {}", ex.getMessage());
+        }
+    }
+
+    private List<NotificationDto> drainBatch() {
+        final List<NotificationDto> batch = new ArrayList<>(config.getBatchSize());
+        Stream.generate(queue::poll)
+                .limit(config.getBatchSize())
+                .takeWhile(Objects::nonNull)
+                .forEach(batch::add);
+        queued.addAndGet(-batch.size());
+        return batch;
+    }
+
+    // ============================================================================================
+    // ✅ ENVIAR — asíncrono, con reintentos programados
+    // ============================================================================================
+    private void post(final List<NotificationDto> batch, final int attempt) {
+        final HttpRequest request;
+        try {
+            request = buildRequest(batch);
+        } catch (RuntimeException ex) {
+            inFlight.decrementAndGet();
+            log.error("❌ Lote de webhook descartado: {}", ex.getMessage());
+            return;
+        }
+
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, ex) -> {
+                    final var ok = ex == null && response.statusCode() / 100 == 2;
+
+                    if (ok) {
+                        inFlight.decrementAndGet();
+                        log.info("Webhook OK (intento {}): {} notificaciones", attempt, batch.size());
+                    } else if (attempt < config.getMaxAttempts()) {
+                        final long delay = backoffMs(attempt);
+                        log.warn("Webhook falló (intento {}): {} → reintento en {} ms",
+                                attempt, describe(response, ex), delay);
+                        scheduler.schedule(() -> post(batch, attempt + 1), delay, TimeUnit.MILLISECONDS);
+                    } else {
+                        inFlight.decrementAndGet();
+                        log.warn("Webhook FAILED después de {} intentos, se descartan {} notificaciones: {}",
+                                attempt, batch.size(), describe(response, ex));
+                    }
+                });
+    }
+
+    private HttpRequest buildRequest(final List<NotificationDto> batch) {
+        try {
+            return HttpRequest.newBuilder(URI.create(config.getWebhookUrl()))
+                    .timeout(Duration.ofMillis(config.getRequestTimeoutMs()))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(batch)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el lote de notificaciones", e);
+        }
+    }
+
+    /**
+     * Backoff exponencial con "equal jitter": la mitad fija y la otra mitad aleatoria,
+     * para que los reintentos de varios lotes no lleguen sincronizados.
+     */
+    private long backoffMs(final int attempt) {
+        final long exp = Math.min(config.getMaxBackoffMs(),
+                config.getInitialBackoffMs() << Math.min(attempt - 1, 20));
+        return exp / 2 + ThreadLocalRandom.current().nextLong(exp / 2 + 1);
+    }
+
+    private static String describe(final HttpResponse<?> response, final Throwable ex) {
+        return Optional.ofNullable(ex)
+                .map(e -> Optional.ofNullable(e.getCause()).orElse(e).toString())
+                .orElseGet(() -> "HTTP " + response.statusCode());
+    }
+
+    // ============================================================================================
+    // ✅ APAGADO — último drenaje; los reintentos pendientes se pierden
+    // ============================================================================================
+    @Override
+    public void destroy() {
+        flush();
+        scheduler.shutdown();
+        log.info("Webhook dispatcher detenido ({} notificaciones en cola, {} lotes en vuelo)", queued.get(), inFlight.get());
+    }
+}
@@ -0,0 +1,178 @@
+package com.builderssas.api.services.project;
+
+import com.builderssas.api.domain.model.constructionorder.event.OrderCreatedEvent;
+import com.builderssas.api.domain.model.constructionorder.event.OrderStatusChangedEvent;
+import com.builderssas.api.domain.model.enums.OrderStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mantenimiento incremental de progressPercentage y projectEndDate.
+ *
+ * Por cada proyecto se mantienen en memoria los contadores total / finished y la
+ * última fecha final programada. Los eventos de dominio de órdenes (creación y
+ * transiciones del cron) actualizan esos contadores y marcan el proyecto como
+ * "sucio"; un volcado periódico escribe todos los proyectos sucios en un único
+ * batch JDBC, de modo que N eventos de un mismo proyecto se coalescen en un UPDATE.
+ *
+ * Reglas (las mismas de los cron nocturnos):
+ *  - progressPercentage = finished * 100 / total
+ *  - projectEndDate     = MAX(scheduledEndDate) + 1
+ *
+ * Los cron nocturnos quedan como verificación de consistencia y resincronizan
+ * los contadores con {@link #resync(Long, long, long)} cuando detectan diferencias.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectProgressTracker {
+
+    private static final String LOAD_COUNTERS_SQL = """
+            SELECT project_id,
+                   COUNT(*) AS total,
+                   COUNT(*) FILTER (WHERE order_status = 'FINISHED') AS finished,
+                   MAX(scheduled_end_date) AS last_end
+              FROM construction_orders
+             GROUP BY project_id
+            """;
+
+    private static final String FLUSH_SQL = """
+            UPDATE projects
+               SET progress_percentage = ?,
+                   project_end_date = ?
+             WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    private final Map<Long, ProjectCounters> counters = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    /** Contadores vivos de un proyecto. */
+    private static final class ProjectCounters {
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong finished = new AtomicLong();
+        private final AtomicReference<LocalDate> lastEnd = new AtomicReference<>();
+
+        private void extendEnd(final LocalDate end) {
+            Optional.ofNullable(end)
+                    .ifPresent(e -> lastEnd.accumulateAndGet(e, (cur, nxt) -> cur == null || nxt.isAfter(cur) ? nxt : cur));
+        }
+    }
+
+    /** Fila a volcar: valores calculados en el momento del drenaje. */
+    private record FlushRow(Long projectId, double progress, LocalDate endDate) {
+    }
+
+    // ============================================================================================
+    // ✅ ARRANQUE — contadores iniciales con una sola consulta agrupada
+    // ============================================================================================
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        jdbc.query(LOAD_COUNTERS_SQL, rs -> {
+            final var c = countersOf(rs.getLong("project_id"));
+            c.total.set(rs.getLong("total"));
+            c.finished.set(rs.getLong("finished"));
+            c.extendEnd(Optional.ofNullable(rs.getDate("last_end")).map(Date::toLocalDate).orElse(null));
+        });
+
+        log.info("📊 Contadores de progreso cargados para {} proyectos", counters.size());
+    }
+
+    // ============================================================================================
+    // ✅ EVENTOS — tras el commit (o de inmediato si no hay transacción activa)
+    // ============================================================================================
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(final OrderCreatedEvent event) {
+        final var c = countersOf(event.projectId());
+        c.total.incrementAndGet();
+        c.extendEnd(event.scheduledEndDate());
+        dirty.add(event.projectId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(final OrderStatusChangedEvent event) {
+        final var c = countersOf(event.projectId());
+        final int delta = (event.to() == OrderStatus.FINISHED ? event.count() : 0)
+                - (event.from() == OrderStatus.FINISHED ? event.count() : 0);
+
+        Optional.of(delta)
+                .filter(d -> d != 0)
+                .ifPresent(d -> {
+                    c.finished.addAndGet(d);
+                    dirty.add(event.projectId());
+                });
+    }
+
+    // ============================================================================================
+    // ✅ RECONCILIACIÓN — corrige contadores a partir de la verdad de la BD
+    // ============================================================================================
+    public void resync(final Long projectId, final long total, final long finished) {
+        final var c = countersOf(projectId);
+        final long previousTotal = c.total.getAndSet(total);
+        final long previousFinished = c.finished.getAndSet(finished);
+
+        log.warn("📊 Drift en proyecto {}: contadores {}/{} → BD {}/{}",
+                projectId, previousFinished, previousTotal, finished, total);
+    }
+
+    // ============================================================================================
+    // ✅ VOLCADO COALESCIDO — un batch JDBC con todos los proyectos sucios
+    // ============================================================================================
+    @Scheduled(fixedDelayString = "#{@projectProgressConfig.flushIntervalMs}")
+    public void flush() {
+        final List<FlushRow> rows = List.copyOf(dirty).stream()
+                .filter(dirty::remove)
+                .map(id -> Map.entry(id, countersOf(id)))
+                .filter(e -> e.getValue().total.get() > 0)
+                .map(e -> new FlushRow(
+                        e.getKey(),
+                        e.getValue().finished.get() * 100.0 / e.getValue().total.get(),
+                        Optional.ofNullable(e.getValue().lastEnd.get()).map(d -> d.plusDays(1)).orElse(null)))
+                .toList();
+
+        Optional.of(rows)
+                .filter(r -> !r.isEmpty())
+                .ifPresent(r -> {
+                    try {
+                        jdbc.batchUpdate(FLUSH_SQL, r.stream()
+                                .map(row -> new Object[]{
+                                        row.progress(),
+                                        Optional.ofNullable(row.endDate()).map(Date::valueOf).orElse(null),
+                                        row.projectId()})
+                                .toList());
+                        log.debug("📊 Progreso volcado para {} proyectos", r.size());
+                    } catch (RuntimeException ex) {
+                        // Se reintenta en el siguiente ciclo
+                        r.forEach(row -> dirty.add(row.projectId()));
+                        log.error("❌ Error volcando progreso de proyectos: {}", ex.getMessage());
+                    }
+                });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private ProjectCounters countersOf(final Long projectId) {
+        return counters.computeIfAbsent(projectId, id -> new ProjectCounters());
+    }
+}
@@ -0,0 +1,28 @@
+package com.builderssas.api.services.report;
+
+import com.builderssas.api.core.export.ExportFormat;
+import com.builderssas.api.domain.model.construction.dto.report.ConstructionSummaryReportDto;
+import com.builderssas.api.domain.model.enums.OrderStatus;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Reportes de órdenes de construcción.
+ *
+ * Todos los filtros son opcionales: projectId null = todos los proyectos;
+ * from / to acotan scheduledStartDate (inclusive).
+ */
+public interface ReportService {
+
+    /** Finalizadas / en progreso / pendientes por tipo de construcción (cacheado). */
+    List<ConstructionSummaryReportDto> summary(Long projectId, LocalDate from, LocalDate to);
+
+    /**
+     * Órdenes (OrdersByStatusReportDto) escritas en streaming sobre out.
+     * Devuelve la cantidad de filas escritas.
+     */
+    long streamOrdersByStatus(OrderStatus status, Long projectId, LocalDate from, LocalDate to,
+                              ExportFormat format, OutputStream out);
+}
@@ -0,0 +1,199 @@
+package com.builderssas.api.services.report;
+
+import com.builderssas.api.config.ReportConfig;
+import com.builderssas.api.core.export.ExportFormat;
+import com.builderssas.api.domain.model.construction.dto.report.ConstructionSummaryReportDto;
+import com.builderssas.api.domain.model.constructionorder.event.OrderCreatedEvent;
+import com.builderssas.api.domain.model.constructionorder.event.OrderStatusChangedEvent;
+import com.builderssas.api.domain.model.enums.OrderStatus;
+import com.builderssas.api.services.export.ExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Motor de reportes.
+ *
+ *  - Resumen por tipo: una sola consulta agrupada (COUNT ... FILTER por estado)
+ *    por combinación (proyecto, rango); el resultado queda cacheado y las
+ *    siguientes lecturas no tocan la BD.
+ *  - Refresco incremental: cuando cambian órdenes de un proyecto (creación o
+ *    transición del cron), solo se invalidan las entradas de ese proyecto y las
+ *    globales; el resto de la caché sigue vigente.
+ *  - Órdenes por estado: se escriben en streaming con el cursor de
+ *    ExportService, sin construir listas.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportServiceImpl implements ReportService {
+
+    private static final String SUMMARY_SQL = """
+            SELECT ct.name AS construction_type_name,
+                   COUNT(*) FILTER (WHERE o.order_status = 'FINISHED')    AS total_finished,
+                   COUNT(*) FILTER (WHERE o.order_status = 'IN_PROGRESS') AS total_in_progress,
+                   COUNT(*) FILTER (WHERE o.order_status = 'PENDING')     AS total_pending
+              FROM construction_orders o
+              JOIN construction_types ct ON ct.id = o.construction_type_id
+            """;
+
+    /** Alias = propiedades de OrdersByStatusReportDto (comillas para conservar mayúsculas). */
+    private static final String ORDERS_BY_STATUS_SQL = """
+            SELECT o.id                   AS "orderId",
+                   p.name                 AS "projectName",
+                   ct.name                AS "constructionTypeName",
+                   o.latitude             AS "latitude",
+                   o.longitude            AS "longitude",
+                   o.scheduled_start_date AS "scheduledStartDate",
+                   o.scheduled_end_date   AS "scheduledEndDate",
+                   o.order_status         AS "orderStatus"
+              FROM construction_orders o
+              JOIN projects p            ON p.id = o.project_id
+              JOIN construction_types ct ON ct.id = o.construction_type_id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ExportService exportService;
+    private final ReportConfig config;
+
+    /** Clave de caché; projectId null = todos los proyectos. */
+    private record ReportKey(Long projectId, LocalDate from, LocalDate to) {
+    }
+
+    private record CachedSummary(List<ConstructionSummaryReportDto> rows, long computedAt) {
+    }
+
+    private final Map<ReportKey, CachedSummary> summaries = new ConcurrentHashMap<>();
+
+    /** Se incrementa en cada invalidación; evita cachear un cálculo que quedó viejo en vuelo. */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Hace atómicos "comprobar generación + insertar" e "incrementar + invalidar":
+     * sin él, una invalidación entre la comprobación y el put deja un resumen viejo
+     * en caché hasta el siguiente evento del proyecto. Las lecturas no lo toman.
+     */
+    private final Object cacheLock = new Object();
+
+    // ============================================================================================
+    // ✅ RESUMEN POR TIPO — cacheado por (proyecto, rango)
+    // ============================================================================================
+    @Override
+    public List<ConstructionSummaryReportDto> summary(final Long projectId, final LocalDate from, final LocalDate to) {
+        final var key = new ReportKey(projectId, from, to);
+
+        return Optional.ofNullable(summaries.get(key))
+                .map(CachedSummary::rows)
+                .orElseGet(() -> computeSummary(key));
+    }
+
+    private List<ConstructionSummaryReportDto> computeSummary(final ReportKey key) {
+        final long generation = invalidations.get();
+        final long start = System.currentTimeMillis();
+        final var params = new MapSqlParameterSource();
+
+        final var rows = List.copyOf(jdbc.query(
+                SUMMARY_SQL + where(params, null, key) + " GROUP BY ct.id, ct.name ORDER BY ct.name",
+                params,
+                (rs, n) -> ConstructionSummaryReportDto.builder()
+                        .constructionTypeName(rs.getString("construction_type_name"))
+                        .totalFinished(rs.getLong("total_finished"))
+                        .totalInProgress(rs.getLong("total_in_progress"))
+                        .totalPending(rs.getLong("total_pending"))
+                        .build()));
+
+        synchronized (cacheLock) {
+            Optional.of(generation)
+                    .filter(g -> g == invalidations.get())
+                    .ifPresent(g -> {
+                        evictIfFull();
+                        summaries.put(key, new CachedSummary(rows, System.currentTimeMillis()));
+                    });
+        }
+
+        log.debug("📑 Resumen {} calculado en {} ms", key, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    private void evictIfFull() {
+        Optional.of(summaries.size())
+                .filter(size -> size >= config.getCacheMaxEntries())
+                .flatMap(size -> summaries.entrySet().stream()
+                        .min(Comparator.comparingLong(e -> e.getValue().computedAt())))
+                .ifPresent(oldest -> summaries.remove(oldest.getKey()));
+    }
+
+    // ============================================================================================
+    // ✅ REFRESCO INCREMENTAL — solo se invalidan las entradas afectadas
+    // ============================================================================================
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(final OrderCreatedEvent event) {
+        invalidate(event.projectId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(final OrderStatusChangedEvent event) {
+        invalidate(event.projectId());
+    }
+
+    private void invalidate(final Long projectId) {
+        synchronized (cacheLock) {
+            invalidations.incrementAndGet();
+            summaries.keySet().removeIf(k -> k.projectId() == null || Objects.equals(k.projectId(), projectId));
+        }
+    }
+
+    // ============================================================================================
+    // ✅ ÓRDENES POR ESTADO — streaming
+    // ============================================================================================
+    @Override
+    public long streamOrdersByStatus(
+            final OrderStatus status,
+            final Long projectId,
+            final LocalDate from,
+            final LocalDate to,
+            final ExportFormat format,
+            final OutputStream out
+    ) {
+        final var params = new MapSqlParameterSource();
+        final var sql = ORDERS_BY_STATUS_SQL + where(params, status, new ReportKey(projectId, from, to)) + " ORDER BY o.id";
+
+        return exportService.export("reporte de órdenes por estado", sql, params, format, out);
+    }
+
+    // ============================================================================================
+    // AUXILIARES
+    // ============================================================================================
+    private static String where(final MapSqlParameterSource params, final OrderStatus status, final ReportKey key) {
+        final var conditions = Stream.of(
+                        Optional.ofNullable(status).map(s -> bind(params, "status", s.name(), "o.order_status = :status")),
+                        Optional.ofNullable(key.projectId()).map(id -> bind(params, "projectId", id, "o.project_id = :projectId")),
+                        Optional.ofNullable(key.from()).map(d -> bind(params, "from", d, "o.scheduled_start_date >= :from")),
+                        Optional.ofNullable(key.to()).map(d -> bind(params, "to", d, "o.scheduled_start_date <= :to"))
+                )
+                .flatMap(Optional::stream)
+                .collect(Collectors.joining(" AND "));
+
+        return conditions.isEmpty() ? "" : " WHERE " + conditions;
+    }
+
+    private static String bind(final MapSqlParameterSource params, final String name, final Object value, final String condition) {
+        params.addValue(name, value);
+        return condition;
+    }
+}
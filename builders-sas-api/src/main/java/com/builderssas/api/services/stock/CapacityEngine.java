@@ -0,0 +1,273 @@
+package com.builderssas.api.services.stock;
+
+import com.builderssas.api.domain.model.construction.dto.stats.ConstructionCapacityDto;
+import com.builderssas.api.repository.ConstructionTypeRepository;
+import com.builderssas.api.repository.views.BomRowView;
+import com.builderssas.api.services.constructiontype.ConstructionTypeBomCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Motor de capacidad: para cada tipo de construcción, cuántas órdenes más
+ * puede cubrir el stock actual y qué material es el cuello de botella.
+ *
+ *      capacidad(t) = min over m con req[t][m] > 0 de floor(stock[m] / req[t][m])
+ *
+ *  - Matriz densa tipo × material (double[] fila-mayor) construida desde
+ *    ConstructionTypeMaterial; stock, capacidad y cuello de botella en
+ *    arreglos primitivos paralelos.
+ *  - Incremental: reservas y liberaciones de stock (StockReservationService)
+ *    y ediciones de MaterialType publican el stock absoluto tras el commit;
+ *    solo se tocan esas columnas y se recalculan los tipos que las usan.
+ *    Al ser valores absolutos, aplicar uno que la reconstrucción ya leyó de la
+ *    BD no altera nada (no hay deltas que puedan contarse dos veces).
+ *  - Leer la capacidad de todos los tipos es copiar dos arreglos: sin BD.
+ *  - La estructura se reconstruye cuando cambia la versión de la BOM cache
+ *    (escrituras de tipos / relaciones) y periódicamente (capacity.reconcile-interval-ms),
+ *    lo que corrige cualquier deriva entre la memoria y material_types.
+ *  - La reconstrucción consulta la BD sin tomar el monitor de la instancia (las
+ *    publicaciones de stock no esperan por ella); los valores publicados mientras
+ *    tanto se reaplican sobre la matriz nueva antes de publicarla.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CapacityEngine {
+
+    private static final String MATERIALS_SQL = "SELECT id, name, stock FROM material_types";
+
+    private final ConstructionTypeRepository typeRepo;
+    private final ConstructionTypeBomCache bomCache;
+    private final JdbcTemplate jdbc;
+
+    /** Estructura + estado; todo acceso pasa por el monitor de esta instancia. */
+    private static final class Matrix {
+        final long bomVersion;
+        final long[] typeIds;
+        final String[] typeNames;
+        final long[] materialIds;
+        final String[] materialNames;
+        final Map<Long, Integer> materialIndex;
+        /** required[t * materials + m] — cantidad por orden (0 = no se usa). */
+        final double[] required;
+        final int[][] materialsByType;
+        final int[][] typesByMaterial;
+        final double[] stock;
+        /** -1 = sin límite (el tipo no requiere materiales). */
+        final long[] capacity;
+        /** Índice del material limitante, -1 si no hay. */
+        final int[] bottleneck;
+
+        Matrix(long bomVersion, long[] typeIds, String[] typeNames, long[] materialIds, String[] materialNames,
+               double[] required, double[] stock) {
+            this.bomVersion = bomVersion;
+            this.typeIds = typeIds;
+            this.typeNames = typeNames;
+            this.materialIds = materialIds;
+            this.materialNames = materialNames;
+            this.required = required;
+            this.stock = stock;
+            this.materialIndex = IntStream.range(0, materialIds.length).boxed()
+                    .collect(Collectors.toMap(m -> materialIds[m], m -> m));
+
+            final int materials = materialIds.length;
+            this.materialsByType = IntStream.range(0, typeIds.length)
+                    .mapToObj(t -> IntStream.range(0, materials).filter(m -> required[t * materials + m] > 0).toArray())
+                    .toArray(int[][]::new);
+            this.typesByMaterial = IntStream.range(0, materials)
+                    .mapToObj(m -> IntStream.range(0, typeIds.length).filter(t -> required[t * materials + m] > 0).toArray())
+                    .toArray(int[][]::new);
+
+            this.capacity = new long[typeIds.length];
+            this.bottleneck = new int[typeIds.length];
+            IntStream.range(0, typeIds.length).forEach(this::recompute);
+        }
+
+        void recompute(final int t) {
+            final int materials = materialIds.length;
+            long best = -1;
+            int limiting = -1;
+            for (final int m : materialsByType[t]) {
+                final long fits = (long) Math.floor(Math.max(0d, stock[m]) / required[t * materials + m]);
+                if (best < 0 || fits < best) {
+                    best = fits;
+                    limiting = m;
+                }
+            }
+            capacity[t] = best;
+            bottleneck[t] = limiting;
+        }
+    }
+
+    /** Serializa las reconstrucciones entre sí, sin bloquear publicaciones ni lecturas. */
+    private final Object rebuildLock = new Object();
+
+    /** Stock publicado durante una reconstrucción en curso (null si no hay); protegido por this. */
+    private Map<Long, Double> publishedDuringRebuild;
+
+    private volatile Matrix matrix = new Matrix(-1, new long[0], new String[0], new long[0], new String[0], new double[0], new double[0]);
+
+    // ============================================================================================
+    // ✅ CONSTRUCCIÓN — arranque, cambio de BOM y reconciliación periódica
+    // ============================================================================================
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(
+            initialDelayString = "#{@capacityConfig.reconcileIntervalMs}",
+            fixedDelayString = "#{@capacityConfig.reconcileIntervalMs}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                publishedDuringRebuild = new HashMap<>();
+            }
+            try {
+                loadMatrix(bomCache.stats().version());
+            } finally {
+                synchronized (this) {
+                    publishedDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    /** Reconstruye solo si la BOM cambió desde la última vez (la comprobación se repite bajo el lock). */
+    private void rebuildIfStale() {
+        if (bomCache.stats().version() == matrix.bomVersion) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            if (bomCache.stats().version() != matrix.bomVersion) {
+                rebuild();
+            }
+        }
+    }
+
+    private void loadMatrix(final long bomVersion) {
+        final long start = System.currentTimeMillis();
+
+        final Map<Long, List<BomRowView>> byType = typeRepo.findAllBomRows().stream()
+                .collect(Collectors.groupingBy(BomRowView::getTypeId, LinkedHashMap::new, Collectors.toList()));
+
+        final long[] typeIds = byType.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        final long[] materialIds = byType.values().stream()
+                .flatMap(List::stream)
+                .map(BomRowView::getMaterialTypeId)
+                .filter(id -> id != null)
+                .mapToLong(Long::longValue)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        final Map<Long, Integer> materialIndex = IntStream.range(0, materialIds.length).boxed()
+                .collect(Collectors.toMap(m -> materialIds[m], m -> m));
+
+        final String[] typeNames = new String[typeIds.length];
+        final double[] required = new double[typeIds.length * materialIds.length];
+        IntStream.range(0, typeIds.length).forEach(t -> byType.get(typeIds[t]).forEach(row -> {
+            typeNames[t] = row.getTypeName();
+            Optional.ofNullable(row.getMaterialTypeId())
+                    .map(materialIndex::get)
+                    .ifPresent(m -> required[t * materialIds.length + m] +=
+                            Optional.ofNullable(row.getQuantityRequired()).orElse(0d));
+        }));
+
+        final String[] materialNames = new String[materialIds.length];
+        final double[] stock = new double[materialIds.length];
+        jdbc.query(MATERIALS_SQL, rs -> {
+            final Integer m = materialIndex.get(rs.getLong("id"));
+            if (m != null) {
+                materialNames[m] = rs.getString("name");
+                stock[m] = rs.getDouble("stock");
+            }
+        });
+
+        synchronized (this) {
+            // Lo publicado tras el commit mientras se leía la BD es al menos tan reciente como la lectura
+            publishedDuringRebuild.forEach((id, value) ->
+                    Optional.ofNullable(materialIndex.get(id)).ifPresent(m -> stock[m] = value));
+            matrix = new Matrix(bomVersion, typeIds, typeNames, materialIds, materialNames, required, stock);
+        }
+
+        log.debug("🏗️ Matriz de capacidad reconstruida: {} tipos × {} materiales en {} ms",
+                typeIds.length, materialIds.length, System.currentTimeMillis() - start);
+    }
+
+    // ============================================================================================
+    // ✅ ACTUALIZACIÓN INCREMENTAL — stock absoluto, solo columnas y tipos afectados
+    // ============================================================================================
+    /** Stock absoluto de cada material tras el commit de una reserva o liberación. */
+    public synchronized void setStocks(final Map<Long, Double> stocks) {
+        Optional.ofNullable(publishedDuringRebuild).ifPresent(pending -> pending.putAll(stocks));
+
+        final var current = matrix;
+        recomputeAffected(current, stocks.entrySet().stream()
+                .map(e -> Optional.ofNullable(current.materialIndex.get(e.getKey()))
+                        .map(m -> {
+                            current.stock[m] = e.getValue();
+                            return m;
+                        }))
+                .flatMap(Optional::stream)
+                .mapToInt(Integer::intValue)
+                .toArray());
+    }
+
+    /** Fija el stock (y el nombre) de un material tras editarlo por CRUD. */
+    public synchronized void setStock(final Long materialId, final double stock, final String name) {
+        setStocks(Map.of(materialId, stock));
+        Optional.ofNullable(matrix.materialIndex.get(materialId)).ifPresent(m -> matrix.materialNames[m] = name);
+    }
+
+    private static void recomputeAffected(final Matrix current, final int[] materials) {
+        Arrays.stream(materials)
+                .flatMap(m -> Arrays.stream(current.typesByMaterial[m]))
+                .distinct()
+                .forEach(current::recompute);
+    }
+
+    // ============================================================================================
+    // ✅ CONSULTA — todos los tipos, sin BD
+    // ============================================================================================
+    public List<ConstructionCapacityDto> capacities() {
+        // Fuera del monitor: una BOM nueva no bloquea las publicaciones de stock mientras se consulta la BD
+        rebuildIfStale();
+
+        synchronized (this) {
+            final var current = matrix;
+            return IntStream.range(0, current.typeIds.length)
+                    .mapToObj(t -> toDto(current, t))
+                    .toList();
+        }
+    }
+
+    private static ConstructionCapacityDto toDto(final Matrix current, final int t) {
+        final int m = current.bottleneck[t];
+        final var builder = ConstructionCapacityDto.builder()
+                .constructionTypeId(current.typeIds[t])
+                .constructionTypeName(current.typeNames[t])
+                .maxAdditionalOrders(current.capacity[t] < 0 ? null : current.capacity[t]);
+
+        return (m < 0 ? builder : builder
+                .bottleneckMaterialId(current.materialIds[m])
+                .bottleneckMaterialName(current.materialNames[m])
+                .bottleneckStock(current.stock[m])
+                .bottleneckRequiredPerOrder(current.required[t * current.materialIds.length + m]))
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.builderssas.api.services.stock;
+
+import com.builderssas.api.domain.model.constructionorder.dto.MaterialConsumptionDto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Motor de reserva de stock de materiales.
+ *
+ * Todas las operaciones son atómicas sobre el conjunto completo de materiales:
+ * o se descuenta el stock de todos, o no se descuenta ninguno.
+ */
+public interface StockReservationService {
+
+    /**
+     * Descuenta {@code cantidad} de cada material ({@code materialId → cantidad})
+     * solo si el stock actual alcanza. Si algún material no alcanza, no se
+     * modifica ninguno y se lanza IllegalStateException.
+     *
+     * @return consumo real aplicado por material (stock antes / después)
+     */
+    List<MaterialConsumptionDto> reserve(Map<Long, Double> requirements);
+
+    /**
+     * Indica si el stock actual alcanza para todos los materiales, sin
+     * reservar nada (una consulta por PK sobre material_types).
+     */
+    boolean covers(Map<Long, Double> requirements);
+
+    /**
+     * Devuelve al stock una reserva previa (compensación cuando la orden
+     * no pudo guardarse).
+     */
+    void release(Map<Long, Double> requirements);
+}
@@ -0,0 +1,189 @@
+package com.builderssas.api.services.stock;
+
+import com.builderssas.api.core.concurrent.StripedLocks;
+import com.builderssas.api.domain.model.constructionorder.dto.MaterialConsumptionDto;
+import com.builderssas.api.services.metrics.OrderTimeSeries;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reserva de stock con decremento condicional:
+ *
+ *      UPDATE material_types SET stock = stock - qty WHERE id = ? AND stock >= qty RETURNING id, name, stock
+ *
+ * - Todos los materiales de una reserva viajan en una única sentencia (arreglos
+ *   id/cantidad desanidados con unnest): un round trip que además devuelve el stock final.
+ * - Si alguna fila no se actualiza (stock insuficiente) se hace rollback de todo.
+ * - Un lock por franja de material serializa en la JVM las reservas que compiten
+ *   por el mismo material, evitando que cientos de hilos esperen locks de fila en
+ *   PostgreSQL ocupando conexiones del pool; materiales distintos avanzan en paralelo.
+ * - Las filas se bloquean en orden de id (FOR UPDATE ordenado) para que dos reservas
+ *   concurrentes las tomen siempre en el mismo orden (sin deadlocks en la BD).
+ * - Tras el commit, y aún bajo el lock de franja, el stock absoluto devuelto por
+ *   RETURNING se publica en CapacityEngine: aplicar dos veces el mismo valor no
+ *   altera nada, y las reservas de un mismo material llegan en orden.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReservationServiceImpl implements StockReservationService {
+
+    /** Materiales de la operación, bloqueados en orden de id antes de modificarlos. */
+    private static final String LOCKED_REQUIREMENTS_CTE = """
+            WITH req AS (
+                SELECT * FROM unnest(?::bigint[], ?::float8[]) AS r(id, qty)
+            ),
+            locked AS (
+                SELECT m.id
+                  FROM material_types m
+                  JOIN req ON req.id = m.id
+                 ORDER BY m.id
+                   FOR UPDATE OF m
+            )
+            """;
+
+    private static final String RESERVE_SQL = LOCKED_REQUIREMENTS_CTE + """
+            UPDATE material_types m
+               SET stock = m.stock - req.qty
+              FROM req
+              JOIN locked ON locked.id = req.id
+             WHERE m.id = req.id
+               AND m.stock >= req.qty
+            RETURNING m.id, m.name, m.stock
+            """;
+
+    private static final String RELEASE_SQL = LOCKED_REQUIREMENTS_CTE + """
+            UPDATE material_types m
+               SET stock = m.stock + req.qty
+              FROM req
+              JOIN locked ON locked.id = req.id
+             WHERE m.id = req.id
+            RETURNING m.id, m.name, m.stock
+            """;
+
+    private static final String SELECT_STOCK_SQL = """
+            SELECT id, name, stock
+              FROM material_types
+             WHERE id IN (:ids)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final OrderTimeSeries timeSeries;
+    private final CapacityEngine capacity;
+    private final StripedLocks locks = new StripedLocks(64);
+
+    /** Fila devuelta por RETURNING: stock ya modificado. */
+    private record StockRow(Long id, String name, double stock) {
+    }
+
+    // ============================================================================================
+    // ✅ RESERVAR — todo o nada
+    // ============================================================================================
+    @Override
+    public List<MaterialConsumptionDto> reserve(final Map<Long, Double> requirements) {
+        final var ordered = new TreeMap<>(requirements);
+        final long start = System.nanoTime();
+
+        try {
+            return ordered.isEmpty()
+                    ? List.of()
+                    : locks.withLocks(ordered.keySet(), () -> {
+                        final var rows = tx.execute(status -> reserveInTransaction(ordered));
+                        publish(rows);
+                        return rows.stream()
+                                .map(row -> MaterialConsumptionDto.builder()
+                                        .materialName(row.name())
+                                        .stockBefore(row.stock() + ordered.get(row.id()))
+                                        .required(ordered.get(row.id()))
+                                        .stockAfter(row.stock())
+                                        .build())
+                                .toList();
+                    });
+        } finally {
+            // Incluye la espera por el lock de franja: es la latencia que ve la orden
+            timeSeries.recordLatency(OrderTimeSeries.Latency.STOCK_RESERVATION, System.nanoTime() - start);
+        }
+    }
+
+    private List<StockRow> reserveInTransaction(final TreeMap<Long, Double> ordered) {
+        final var rows = update(RESERVE_SQL, ordered);
+        final var updated = rows.stream().map(StockRow::id).collect(Collectors.toSet());
+
+        ordered.keySet().stream()
+                .filter(id -> !updated.contains(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new IllegalStateException("Stock insuficiente para el material id=" + id);
+                });
+
+        log.debug("📦 Stock reservado para materiales {}", ordered.keySet());
+        return rows;
+    }
+
+    // ============================================================================================
+    // ✅ CONSULTAR — ¿alcanza el stock? (sin reservar)
+    // ============================================================================================
+    @Override
+    public boolean covers(final Map<Long, Double> requirements) {
+        if (requirements.isEmpty()) {
+            return true;
+        }
+
+        final Map<Long, Double> stock = new HashMap<>();
+        jdbc.query(SELECT_STOCK_SQL, Map.of("ids", List.copyOf(requirements.keySet())),
+                rs -> {
+                    stock.put(rs.getLong("id"), rs.getDouble("stock"));
+                });
+
+        return requirements.entrySet().stream()
+                .allMatch(e -> stock.getOrDefault(e.getKey(), 0d) >= e.getValue());
+    }
+
+    // ============================================================================================
+    // ✅ LIBERAR — compensación
+    // ============================================================================================
+    @Override
+    public void release(final Map<Long, Double> requirements) {
+        final var ordered = new TreeMap<>(requirements);
+
+        Optional.of(ordered)
+                .filter(m -> !m.isEmpty())
+                .ifPresent(m -> {
+                    locks.withLocks(m.keySet(), () -> {
+                        publish(tx.execute(status -> update(RELEASE_SQL, m)));
+                        return null;
+                    });
+                    log.warn("↩️ Stock liberado para materiales {}", m.keySet());
+                });
+    }
+
+    // ============================================================================================
+    // AUXILIARES
+    // ============================================================================================
+    private List<StockRow> update(final String sql, final TreeMap<Long, Double> ordered) {
+        return jdbc.getJdbcOperations().query(con -> {
+                    final PreparedStatement ps = con.prepareStatement(sql);
+                    ps.setArray(1, con.createArrayOf("bigint", ordered.keySet().toArray()));
+                    ps.setArray(2, con.createArrayOf("float8", ordered.values().toArray()));
+                    return ps;
+                },
+                (rs, n) -> new StockRow(rs.getLong("id"), rs.getString("name"), rs.getDouble("stock")));
+    }
+
+    /** Stock absoluto tras el commit → CapacityEngine (idempotente). */
+    private void publish(final List<StockRow> rows) {
+        capacity.setStocks(rows.stream().collect(Collectors.toMap(StockRow::id, StockRow::stock)));
+    }
+}
@@ -0,0 +1,81 @@
+package com.builderssas.api.core.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongHashSetTest {
+
+    @Test
+    void addContainsRemove() {
+        final var set = new LongHashSet();
+
+        assertThat(set.add(42)).isTrue();
+        assertThat(set.add(42)).isFalse();
+        assertThat(set.contains(42)).isTrue();
+        assertThat(set.size()).isEqualTo(1);
+
+        assertThat(set.remove(42)).isTrue();
+        assertThat(set.remove(42)).isFalse();
+        assertThat(set.contains(42)).isFalse();
+        assertThat(set.isEmpty()).isTrue();
+    }
+
+    @Test
+    void onlyPositiveValuesAreAccepted() {
+        final var set = new LongHashSet();
+
+        assertThatThrownBy(() -> set.add(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> set.add(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(set.contains(0)).isFalse();
+        assertThat(set.remove(-1)).isFalse();
+    }
+
+    @Test
+    void growsAndKeepsEveryValue() {
+        final var set = new LongHashSet();
+        LongStream.rangeClosed(1, 10_000).forEach(set::add);
+
+        assertThat(set.size()).isEqualTo(10_000);
+        assertThat(LongStream.rangeClosed(1, 10_000).allMatch(set::contains)).isTrue();
+        assertThat(set.toArray()).containsExactly(LongStream.rangeClosed(1, 10_000).toArray());
+    }
+
+    @Test
+    void backwardShiftDeleteKeepsProbeChainsReachable() {
+        // Muchos borrados intercalados sobre una tabla densa: si el desplazamiento
+        // hacia atrás rompiera una cadena de sondeo, algún contains fallaría.
+        final var random = new Random(7);
+        final var set = new LongHashSet();
+        final Set<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            final long value = 1 + random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                assertThat(set.add(value)).isEqualTo(expected.add(value));
+            } else {
+                assertThat(set.remove(value)).isEqualTo(expected.remove(value));
+            }
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+        assertThat(LongStream.rangeClosed(1, 2_000)
+                .allMatch(v -> set.contains(v) == expected.contains(v))).isTrue();
+    }
+
+    @Test
+    void removingHalfOfADenseTableKeepsTheRest() {
+        final var set = new LongHashSet();
+        LongStream.rangeClosed(1, 1_000).forEach(set::add);
+        LongStream.rangeClosed(1, 1_000).filter(v -> v % 2 == 0).forEach(set::remove);
+
+        assertThat(set.size()).isEqualTo(500);
+        assertThat(set.toArray()).containsExactly(LongStream.rangeClosed(1, 1_000).filter(v -> v % 2 != 0).toArray());
+    }
+}
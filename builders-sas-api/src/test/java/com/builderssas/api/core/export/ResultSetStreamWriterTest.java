@@ -0,0 +1,110 @@
+package com.builderssas.api.core.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.OngoingStubbing;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResultSetStreamWriterTest {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Test
+    void ndjsonWritesOneObjectPerLineWithoutLeadingSpaces() throws SQLException {
+        final var rs = resultSet(List.of("id", "name"),
+                new Object[]{0L, "a"},
+                new Object[]{1L, "b"},
+                new Object[]{2L, null});
+
+        final var out = new ByteArrayOutputStream();
+        final long rows = new ResultSetStreamWriter(ExportFormat.NDJSON, out, jsonFactory).extractData(rs);
+
+        assertThat(rows).isEqualTo(3);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                {"id":0,"name":"a"}
+                {"id":1,"name":"b"}
+                {"id":2,"name":null}
+                """);
+    }
+
+    @Test
+    void ndjsonWithoutRowsIsEmpty() throws SQLException {
+        final var out = new ByteArrayOutputStream();
+        final long rows = new ResultSetStreamWriter(ExportFormat.NDJSON, out, jsonFactory)
+                .extractData(resultSet(List.of("id")));
+
+        assertThat(rows).isZero();
+        assertThat(out.size()).isZero();
+    }
+
+    @Test
+    void csvWritesHeaderAndEscapesPerRfc4180() throws SQLException {
+        final var rs = resultSet(List.of("id", "observations", "start"),
+                new Object[]{1L, "plain", Date.valueOf("2024-03-01")},
+                new Object[]{2L, "a,b", null},
+                new Object[]{3L, "say \"hi\"", null},
+                new Object[]{4L, "line\nbreak", null});
+
+        final var out = new ByteArrayOutputStream();
+        final long rows = new ResultSetStreamWriter(ExportFormat.CSV, out, jsonFactory).extractData(rs);
+
+        assertThat(rows).isEqualTo(4);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,observations,start\r\n"
+                        + "1,plain,2024-03-01\r\n"
+                        + "2,\"a,b\",\r\n"
+                        + "3,\"say \"\"hi\"\"\",\r\n"
+                        + "4,\"line\nbreak\",\r\n");
+    }
+
+    @Test
+    void timestampsAreWrittenAsIsoLocalDateTime() throws SQLException {
+        final var rs = resultSet(List.of("created_at"),
+                new Object[]{Timestamp.valueOf("2024-03-01 10:15:30")});
+
+        final var out = new ByteArrayOutputStream();
+        new ResultSetStreamWriter(ExportFormat.NDJSON, out, jsonFactory).extractData(rs);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"created_at\":\"2024-03-01T10:15:30\"}\n");
+    }
+
+    /** ResultSet en memoria: columnas por etiqueta y filas en orden. */
+    static ResultSet resultSet(final List<String> columns, final Object[]... rows) throws SQLException {
+        final var meta = mock(ResultSetMetaData.class);
+        when(meta.getColumnCount()).thenReturn(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            when(meta.getColumnLabel(i + 1)).thenReturn(columns.get(i));
+        }
+
+        final var rs = mock(ResultSet.class);
+        when(rs.getMetaData()).thenReturn(meta);
+
+        OngoingStubbing<Boolean> next = when(rs.next());
+        for (int r = 0; r < rows.length; r++) {
+            next = next.thenReturn(true);
+        }
+        next.thenReturn(false);
+
+        for (int c = 0; c < columns.size(); c++) {
+            final int column = c;
+            final Object[] values = Arrays.stream(rows).map(row -> row[column]).toArray();
+            if (values.length > 0) {
+                when(rs.getObject(c + 1)).thenReturn(values[0], Arrays.copyOfRange(values, 1, values.length));
+            }
+        }
+        return rs;
+    }
+}
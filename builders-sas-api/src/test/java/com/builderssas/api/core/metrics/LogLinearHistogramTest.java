@@ -0,0 +1,103 @@
+package com.builderssas.api.core.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogLinearHistogramTest {
+
+    @Test
+    void smallValuesHaveExactBuckets() {
+        LongStream.range(0, 8).forEach(v -> {
+            final int i = LogLinearHistogram.index(v);
+            assertThat(i).isEqualTo((int) v);
+            assertThat(LogLinearHistogram.lowerBound(i)).isEqualTo(v);
+            assertThat(LogLinearHistogram.upperBound(i)).isEqualTo(v);
+        });
+    }
+
+    @Test
+    void everyValueFallsWithinItsBucketBounds() {
+        LongStream.concat(LongStream.range(0, 5_000), LongStream.of(
+                        1L << 20, (1L << 20) - 1, 123_456_789L, (1L << 40) - 1, 1L << 40))
+                .forEach(v -> {
+                    final int i = LogLinearHistogram.index(v);
+                    assertThat(LogLinearHistogram.lowerBound(i)).isLessThanOrEqualTo(v);
+                    assertThat(LogLinearHistogram.upperBound(i)).isGreaterThanOrEqualTo(v);
+                });
+    }
+
+    @Test
+    void bucketsAreContiguousAndWithinRelativeError() {
+        IntStream.range(1, LogLinearHistogram.BUCKETS - 1).forEach(i -> {
+            assertThat(LogLinearHistogram.lowerBound(i)).isEqualTo(LogLinearHistogram.upperBound(i - 1) + 1);
+
+            final long lower = LogLinearHistogram.lowerBound(i);
+            final long upper = LogLinearHistogram.upperBound(i);
+            // 8 sub-cubetas por potencia de 2: ancho ≤ 1/8 del límite inferior
+            assertThat((double) (upper - lower + 1)).isLessThanOrEqualTo(Math.max(1d, lower / 8d));
+        });
+    }
+
+    @Test
+    void hugeValuesGoToTheLastBucket() {
+        assertThat(LogLinearHistogram.index(Long.MAX_VALUE)).isEqualTo(LogLinearHistogram.BUCKETS - 1);
+        assertThat(LogLinearHistogram.index(1L << 50)).isEqualTo(LogLinearHistogram.BUCKETS - 1);
+        assertThat(LogLinearHistogram.upperBound(LogLinearHistogram.BUCKETS - 1)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void percentilesReportTheUpperBoundOfTheRankBucket() {
+        final var histogram = new LogLinearHistogram();
+        LongStream.rangeClosed(1, 100).forEach(histogram::record);
+
+        assertThat(histogram.count()).isEqualTo(100);
+        assertThat(histogram.mean()).isEqualTo(50.5);
+        assertThat(histogram.percentile(0)).isEqualTo(1);
+        assertThat(histogram.percentile(0.5)).isBetween(50L, 50L + 50 / 8);
+        assertThat(histogram.percentile(0.99)).isBetween(99L, 99L + 99 / 8);
+        assertThat(histogram.percentile(1)).isEqualTo(histogram.max());
+        assertThat(histogram.max()).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void negativeValuesAreRecordedAsZero() {
+        final var histogram = new LogLinearHistogram();
+        histogram.record(-5);
+
+        assertThat(histogram.count()).isEqualTo(1);
+        assertThat(histogram.percentile(1)).isZero();
+    }
+
+    @Test
+    void emptyHistogramReportsZeros() {
+        final var histogram = new LogLinearHistogram();
+
+        assertThat(histogram.percentile(0.99)).isZero();
+        assertThat(histogram.mean()).isZero();
+        assertThat(histogram.max()).isZero();
+    }
+
+    @Test
+    void addToMergesAndClearResets() {
+        final var a = new LogLinearHistogram();
+        final var b = new LogLinearHistogram();
+        a.record(10);
+        b.record(1_000);
+
+        final var merged = new LogLinearHistogram();
+        a.addTo(merged);
+        b.addTo(merged);
+
+        assertThat(merged.count()).isEqualTo(2);
+        assertThat(merged.mean()).isEqualTo(505);
+        assertThat(merged.percentile(0.5)).isEqualTo(LogLinearHistogram.upperBound(LogLinearHistogram.index(10)));
+
+        merged.clear();
+        assertThat(merged.count()).isZero();
+        assertThat(merged.max()).isZero();
+    }
+}
@@ -0,0 +1,55 @@
+package com.builderssas.api.core.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MinuteRingTest {
+
+    private static MinuteRing<AtomicLong> ring(final int minutes) {
+        return new MinuteRing<>(minutes, AtomicLong::new, c -> c.set(0));
+    }
+
+    @Test
+    void recordsAccumulatePerMinute() {
+        final var ring = ring(3);
+        ring.record(100, AtomicLong::incrementAndGet);
+        ring.record(100, AtomicLong::incrementAndGet);
+        ring.record(101, AtomicLong::incrementAndGet);
+
+        assertThat(ring.get(100)).hasValueSatisfying(c -> assertThat(c.get()).isEqualTo(2));
+        assertThat(ring.get(101)).hasValueSatisfying(c -> assertThat(c.get()).isEqualTo(1));
+        assertThat(ring.get(102)).isEmpty();
+    }
+
+    @Test
+    void rolloverRecyclesTheSlotOfTheOldMinute() {
+        final var ring = ring(3);
+        ring.record(100, c -> c.addAndGet(5));
+
+        // 103 % 3 == 100 % 3: mismo slot, la cubeta se reinicia
+        ring.record(103, AtomicLong::incrementAndGet);
+
+        assertThat(ring.get(100)).isEmpty();
+        assertThat(ring.get(103)).hasValueSatisfying(c -> assertThat(c.get()).isEqualTo(1));
+    }
+
+    @Test
+    void lateWritesToARecycledMinuteAreDropped() {
+        final var ring = ring(3);
+        ring.record(103, AtomicLong::incrementAndGet);
+        ring.record(100, c -> c.addAndGet(5));
+
+        assertThat(ring.get(100)).isEmpty();
+        assertThat(ring.get(103)).hasValueSatisfying(c -> assertThat(c.get()).isEqualTo(1));
+    }
+
+    @Test
+    void capacityIsFixedAndMustBePositive() {
+        assertThat(ring(60).capacity()).isEqualTo(60);
+        assertThatThrownBy(() -> ring(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
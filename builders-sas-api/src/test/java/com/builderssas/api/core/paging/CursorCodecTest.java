@@ -0,0 +1,61 @@
+package com.builderssas.api.core.paging;
+
+import com.builderssas.api.core.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+    @Test
+    void roundTripsValues() {
+        final var cursor = CursorCodec.encode("START_DATE", List.of("2024-03-01", "42"));
+
+        assertThat(CursorCodec.decode(cursor, "START_DATE", 2)).contains(List.of("2024-03-01", "42"));
+    }
+
+    @Test
+    void roundTripsEmptyValuesAndIsUrlSafe() {
+        final var cursor = CursorCodec.encode("START_DATE", List.of("", "7"));
+
+        assertThat(cursor).doesNotContain("+", "/", "=");
+        assertThat(CursorCodec.decode(cursor, "START_DATE", 2)).contains(List.of("", "7"));
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertThat(CursorCodec.decode(null, "ID", 1)).isEmpty();
+        assertThat(CursorCodec.decode("  ", "ID", 1)).isEmpty();
+    }
+
+    @Test
+    void cursorFromAnotherSortIsRejected() {
+        final var cursor = CursorCodec.encode("ID", List.of("42"));
+
+        assertThatThrownBy(() -> CursorCodec.decode(cursor, "START_DATE", 1))
+                .isInstanceOf(GlobalExceptionHandler.BadRequestException.class);
+    }
+
+    @Test
+    void wrongNumberOfValuesIsRejected() {
+        final var cursor = CursorCodec.encode("ID", List.of("1", "2"));
+
+        assertThatThrownBy(() -> CursorCodec.decode(cursor, "ID", 1))
+                .isInstanceOf(GlobalExceptionHandler.BadRequestException.class);
+    }
+
+    @Test
+    void corruptOrForeignCursorsAreRejected() {
+        final var otherVersion = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("v0|ID|42".getBytes(StandardCharsets.UTF_8));
+
+        List.of("not base64 !!", "%%%", otherVersion).forEach(cursor ->
+                assertThatThrownBy(() -> CursorCodec.decode(cursor, "ID", 1))
+                        .isInstanceOf(GlobalExceptionHandler.BadRequestException.class));
+    }
+}
@@ -0,0 +1,69 @@
+package com.builderssas.api.core.spatial;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoordinateGridTest {
+
+    /** ~1 m de latitud en grados. */
+    private static final double ONE_METER = 1 / 111_195d;
+
+    @Test
+    void exactModeMatchesOnlyIdenticalCoordinates() {
+        final var grid = new CoordinateGrid(0);
+        grid.add(1L, 4.6097, -74.0817);
+
+        assertThat(grid.isOccupied(4.6097, -74.0817)).isTrue();
+        assertThat(grid.isOccupied(4.6097 + 1e-9, -74.0817)).isFalse();
+        assertThat(grid.isOccupied(4.6098, -74.0817)).isFalse();
+    }
+
+    @Test
+    void toleranceModeUsesHaversineDistance() {
+        final var grid = new CoordinateGrid(10);
+        grid.add(1L, 4.6097, -74.0817);
+
+        assertThat(grid.isOccupied(4.6097 + 9 * ONE_METER, -74.0817)).isTrue();
+        assertThat(grid.isOccupied(4.6097 + 11 * ONE_METER, -74.0817)).isFalse();
+    }
+
+    @Test
+    void neighboursAcrossACellBoundaryAreFound() {
+        // Celdas de 0,001°: 0,0009999 y 0,0010001 caen en celdas distintas a ~2 cm
+        final var grid = new CoordinateGrid(1);
+        grid.add(1L, 0.0009999, 10.0);
+
+        assertThat(grid.isOccupied(0.0010001, 10.0)).isTrue();
+        assertThat(grid.cellCount()).isEqualTo(1);
+    }
+
+    @Test
+    void longitudeToleranceWidensAwayFromTheEquator() {
+        // A 60° de latitud un grado de longitud mide la mitad: 8 m ≈ 16 "metros ecuatoriales"
+        final var grid = new CoordinateGrid(10);
+        grid.add(1L, 60.0, 10.0);
+
+        assertThat(grid.isOccupied(60.0, 10.0 + 16 * ONE_METER)).isTrue();
+        assertThat(grid.isOccupied(60.0, 10.0 + 24 * ONE_METER)).isFalse();
+    }
+
+    @Test
+    void negativeCoordinatesAndNullsAreHandled() {
+        final var grid = new CoordinateGrid(0);
+        grid.add(1L, -33.4489, -70.6693);
+        grid.add(2L, null, -70.0);
+
+        assertThat(grid.isOccupied(-33.4489, -70.6693)).isTrue();
+        assertThat(grid.isOccupied(33.4489, 70.6693)).isFalse();
+        assertThat(grid.isOccupied(null, -70.6693)).isFalse();
+        assertThat(grid.size()).isEqualTo(1);
+    }
+
+    @Test
+    void negativeToleranceFallsBackToExactMatch() {
+        final var grid = new CoordinateGrid(-5);
+
+        assertThat(grid.getToleranceMeters()).isZero();
+    }
+}
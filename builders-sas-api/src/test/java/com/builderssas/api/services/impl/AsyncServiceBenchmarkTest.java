@@ -0,0 +1,257 @@
+package com.builderssas.api.services.impl;
+
+import com.builderssas.api.config.ExecutorRegistryConfig;
+import com.builderssas.api.core.async.DbConnectionBudget;
+import com.builderssas.api.core.async.ExecutorRegistry;
+import com.builderssas.api.core.async.ExecutorWorkload;
+import com.builderssas.api.core.metrics.LogLinearHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de AsyncService: modos ASYNC (pools) y DIRECT (hilo llamador + semáforo),
+ * cada uno con la operación encadenada (antes) y fusionada en una transacción (después).
+ *
+ * No usa BD real: cada "consulta" toma una conexión de un pool simulado del
+ * tamaño de Hikari y bloquea DB_CALL_MICROS, de modo que el resultado refleja
+ * saltos entre hilos, colas y esperas por conexión, no el motor SQL.
+ *
+ * Carga en lazo cerrado: CLIENTS hilos (como los de Tomcat) lanzan peticiones
+ * una tras otra y esperan la respuesta; se mide la latencia extremo a extremo.
+ *
+ * Excluido de mvn test. Se ejecuta con:
+ *
+ *      mvn -Pbenchmark test
+ */
+@Slf4j
+@Tag("benchmark")
+class AsyncServiceBenchmarkTest {
+
+    private static final int HIKARI_POOL_SIZE = 20;
+    private static final int CLIENTS = 64;
+    private static final int WARMUP_REQUESTS_PER_CLIENT = 50;
+    private static final int REQUESTS_PER_CLIENT = 300;
+    private static final long DB_CALL_MICROS = 1_000;
+
+    /** Forma de la operación medida. */
+    enum Pipeline {
+        /** Un salto de pool por consulta (exists, user, role, save), como UserRoleAsyncService.create. */
+        CHAINED,
+
+        /** Una sola tarea en una transacción (AsyncService.inTransaction): una conexión, cuatro consultas. */
+        FUSED
+    }
+
+    private record Result(ExecutorRegistryConfig.Mode mode, Pipeline pipeline, long requests,
+                          double throughput, double p50Ms, double p99Ms, double maxMs) {
+    }
+
+    @Test
+    void compareModes() throws Exception {
+        final List<Result> results = new ArrayList<>();
+        for (final var pipeline : Pipeline.values()) {
+            for (final var mode : ExecutorRegistryConfig.Mode.values()) {
+                results.add(run(mode, pipeline));
+            }
+        }
+
+        log.info("\n{}", table(results));
+        results.forEach(r -> assertThat(r.requests()).isEqualTo((long) CLIENTS * REQUESTS_PER_CLIENT));
+    }
+
+    // ============================================================================================
+    // ✅ ESCENARIO — registry + AsyncService reales sobre una BD simulada
+    // ============================================================================================
+    private Result run(final ExecutorRegistryConfig.Mode mode, final Pipeline pipeline) throws Exception {
+        final var db = new SimulatedDatabase(HIKARI_POOL_SIZE, DB_CALL_MICROS);
+        final var registry = new ExecutorRegistry(config(mode), budget());
+        try {
+            final var async = new AsyncService(registry, new SimulatedTransactionManager(db));
+
+            load(async, db, pipeline, WARMUP_REQUESTS_PER_CLIENT, new LogLinearHistogram());
+
+            final var latency = new LogLinearHistogram();
+            final long start = System.nanoTime();
+            load(async, db, pipeline, REQUESTS_PER_CLIENT, latency);
+            final double seconds = (System.nanoTime() - start) / 1e9;
+
+            return new Result(mode, pipeline, latency.count(), latency.count() / seconds,
+                    latency.percentile(0.50) / 1000d, latency.percentile(0.99) / 1000d, latency.max() / 1000d);
+        } finally {
+            registry.destroy();
+        }
+    }
+
+    private static void load(final AsyncService async, final SimulatedDatabase db, final Pipeline pipeline,
+                             final int requestsPerClient, final LogLinearHistogram latency) throws Exception {
+        final var clients = IntStream.range(0, CLIENTS)
+                .mapToObj(c -> new Thread(() -> IntStream.range(0, requestsPerClient).forEach(i -> {
+                    final long startedAt = System.nanoTime();
+                    operation(async, db, pipeline).join();
+                    latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt));
+                }), "bench-client-" + c))
+                .toList();
+
+        clients.forEach(Thread::start);
+        for (final var client : clients) {
+            client.join();
+        }
+    }
+
+    /** Alta de una relación usuario-rol: tres lecturas y una escritura. */
+    private static CompletableFuture<Long> operation(final AsyncService async, final SimulatedDatabase db,
+                                                     final Pipeline pipeline) {
+        return switch (pipeline) {
+            case CHAINED -> async.supplyAsync(db::query)
+                    .thenCompose(exists -> async.supplyAsync(db::query))
+                    .thenCompose(user -> async.supplyAsync(db::query))
+                    .thenCompose(role -> async.supplyAsync(ExecutorWorkload.CRUD_WRITE, db::query));
+            case FUSED -> async.inTransaction(() -> {
+                db.query();
+                db.query();
+                db.query();
+                return db.query();
+            });
+        };
+    }
+
+    // ============================================================================================
+    // CONFIGURACIÓN — mismos valores que application.properties
+    // ============================================================================================
+    private static ExecutorRegistryConfig config(final ExecutorRegistryConfig.Mode mode) {
+        final var config = new ExecutorRegistryConfig();
+        config.setMode(mode);
+        config.setShutdownTimeoutSeconds(5);
+
+        final var notification = new ExecutorRegistryConfig.Pool();
+        notification.setMaxSize(4);
+        config.getPools().put(ExecutorWorkload.NOTIFICATION.poolName(), notification);
+        return config;
+    }
+
+    private static DbConnectionBudget budget() {
+        return new DbConnectionBudget(HIKARI_POOL_SIZE, Map.of(
+                ExecutorWorkload.CRUD_READ.poolName(), 0.25,
+                ExecutorWorkload.CRUD_WRITE.poolName(), 0.2,
+                ExecutorWorkload.CRON.poolName(), 0.1), 0.15);
+    }
+
+    private static String table(final List<Result> results) {
+        final var out = new StringBuilder(String.format("%-7s %-8s %9s %11s %9s %9s %9s%n",
+                "mode", "pipeline", "requests", "req/s", "p50 ms", "p99 ms", "max ms"));
+        results.forEach(r -> out.append(String.format("%-7s %-8s %9d %11.0f %9.2f %9.2f %9.2f%n",
+                r.mode(), r.pipeline(), r.requests(), r.throughput(), r.p50Ms(), r.p99Ms(), r.maxMs())));
+        return out.toString();
+    }
+
+    // ============================================================================================
+    // BD SIMULADA — pool de conexiones acotado + latencia fija por consulta
+    // ============================================================================================
+    static final class SimulatedDatabase {
+
+        private final Semaphore connections;
+        private final long callNanos;
+        private final ThreadLocal<Boolean> inTransaction = ThreadLocal.withInitial(() -> Boolean.FALSE);
+        private final LongAdder queries = new LongAdder();
+
+        SimulatedDatabase(final int poolSize, final long callMicros) {
+            this.connections = new Semaphore(poolSize, true);
+            this.callNanos = TimeUnit.MICROSECONDS.toNanos(callMicros);
+        }
+
+        /** Fuera de una transacción, cada consulta toma y devuelve su propia conexión (autocommit). */
+        long query() {
+            if (inTransaction.get()) {
+                block();
+            } else {
+                acquire();
+                try {
+                    block();
+                } finally {
+                    connections.release();
+                }
+            }
+            queries.increment();
+            return queries.sum();
+        }
+
+        void begin() {
+            acquire();
+            inTransaction.set(Boolean.TRUE);
+        }
+
+        void end() {
+            inTransaction.remove();
+            connections.release();
+        }
+
+        boolean inTransaction() {
+            return inTransaction.get();
+        }
+
+        private void acquire() {
+            connections.acquireUninterruptibly();
+        }
+
+        private void block() {
+            final long until = System.nanoTime() + callNanos;
+            for (long left = callNanos; left > 0; left = until - System.nanoTime()) {
+                LockSupport.parkNanos(left);
+            }
+        }
+    }
+
+    /** Transacción = una conexión retenida desde begin hasta commit/rollback. */
+    static final class SimulatedTransactionManager extends AbstractPlatformTransactionManager {
+
+        private final transient SimulatedDatabase db;
+
+        SimulatedTransactionManager(final SimulatedDatabase db) {
+            this.db = db;
+        }
+
+        @Override
+        protected Object doGetTransaction() {
+            return db;
+        }
+
+        @Override
+        protected boolean isExistingTransaction(final Object transaction) {
+            return db.inTransaction();
+        }
+
+        @Override
+        protected void doBegin(final Object transaction, final TransactionDefinition definition) {
+            db.begin();
+        }
+
+        @Override
+        protected void doCommit(final DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(final DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(final Object transaction) {
+            db.end();
+        }
+    }
+}